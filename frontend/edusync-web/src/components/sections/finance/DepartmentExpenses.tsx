@@ -128,9 +128,8 @@ const DepartmentExpenses: React.FC = () => {
 
   const fetchReimbursements = async () => {
     try {
-      const txs = await financeService.getAllTransactions();
+      const txs = await financeService.getTransactionsByCategory('Reimbursements');
       const reimbData = txs
-        .filter(t => t.category === 'Reimbursements')
         .map((tx) => ({
           id: tx.id?.toString() || tx.transactionId,
           employeeName: tx.description.split(' - ')[0] || 'Unknown',
@@ -1,12 +1,21 @@
 import React, { useState, useEffect } from 'react';
-import { FiDollarSign, FiTrendingUp, FiTrendingDown, FiActivity, FiPlus } from 'react-icons/fi';
+import { FiDollarSign, FiTrendingUp, FiTrendingDown, FiActivity, FiPlus, FiSearch, FiX } from 'react-icons/fi';
 import { FaSpinner } from 'react-icons/fa';
-import financeService, { type Transaction, type FinanceStats } from '../../../services/financeService';
+import financeService, { type Transaction, type FinanceStats, type TransactionSearchResult } from '../../../services/financeService';
 import studentService, { type Student as StudentAPI } from '../../../services/studentService';
 
 const FinanceOverview: React.FC = () => {
     const [stats, setStats] = useState<FinanceStats | null>(null);
     const [transactions, setTransactions] = useState<Transaction[]>([]);
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
+    const [isLoadingMore, setIsLoadingMore] = useState(false);
+    const [loadMoreError, setLoadMoreError] = useState<string | null>(null);
+
+    // Server-side search; while a result is shown it replaces the paged listing
+    const [searchQuery, setSearchQuery] = useState('');
+    const [searchResult, setSearchResult] = useState<TransactionSearchResult | null>(null);
+    const [isSearching, setIsSearching] = useState(false);
+    const [searchError, setSearchError] = useState<string | null>(null);
     const [isLoading, setIsLoading] = useState(true);
     const [error, setError] = useState<string | null>(null);
     const [isSubmitting, setIsSubmitting] = useState(false);
@@ -37,20 +46,17 @@ const FinanceOverview: React.FC = () => {
         fetchStudents();
     }, []);
 
+    // Sole source of the stat cards: a snapshot on connect, then deltas as transactions change
+    useEffect(() => financeService.subscribeStats(setStats), []);
+
     const fetchData = async () => {
         setIsLoading(true);
         setError(null);
         try {
-            const [statsData, transactionsData] = await Promise.all([
-                financeService.getStats(),
-                financeService.getAllTransactions(), // Changed to get ALL transactions
-            ]);
-            setStats(statsData);
-            // Sort transactions by date (newest first)
-            const sortedTransactions = transactionsData.sort((a, b) => {
-                return new Date(b.date).getTime() - new Date(a.date).getTime();
-            });
-            setTransactions(sortedTransactions);
+            // Stats come only from the stream above: a separate fetch could land after a newer snapshot and overwrite it
+            const firstPage = await financeService.getTransactionPage(); // Already newest first; later pages load on demand
+            setTransactions(firstPage.items);
+            setNextCursor(firstPage.nextCursor);
         } catch (err: any) {
             console.error('Failed to fetch finance data:', err);
             setError(err.message || 'Failed to load finance data');
@@ -59,6 +65,51 @@ const FinanceOverview: React.FC = () => {
         }
     };
     
+    const loadMore = async () => {
+        if (!nextCursor) return;
+        setIsLoadingMore(true);
+        setLoadMoreError(null);
+        try {
+            const page = await financeService.getTransactionPage(nextCursor);
+            setTransactions(prev => [...prev, ...page.items]);
+            setNextCursor(page.nextCursor);
+        } catch (err: any) {
+            console.error('Failed to load more transactions:', err);
+            setLoadMoreError(err.message || 'Failed to load more transactions');
+        } finally {
+            setIsLoadingMore(false);
+        }
+    };
+
+    const runSearch = async (query: string, page: number) => {
+        setIsSearching(true);
+        setSearchError(null);
+        try {
+            setSearchResult(await financeService.searchTransactions(query, page));
+        } catch (err: any) {
+            console.error('Failed to search transactions:', err);
+            setSearchError(err.message || 'Failed to search transactions');
+        } finally {
+            setIsSearching(false);
+        }
+    };
+
+    const handleSearch = (e: React.FormEvent) => {
+        e.preventDefault();
+        const query = searchQuery.trim();
+        if (query.length < 3) {
+            setSearchError('Enter at least 3 characters to search');
+            return;
+        }
+        runSearch(query, 0);
+    };
+
+    const clearSearch = () => {
+        setSearchQuery('');
+        setSearchResult(null);
+        setSearchError(null);
+    };
+
     const fetchStudents = async () => {
         try {
             const studentsData = await studentService.getAllStudents();
@@ -153,6 +204,8 @@ const FinanceOverview: React.FC = () => {
         }
     };
 
+    const shownTransactions = searchResult ? searchResult.hits.map(hit => hit.transaction) : transactions;
+
     if (isLoading) {
         return (
             <div className="flex items-center justify-center h-64">
@@ -264,11 +317,55 @@ const FinanceOverview: React.FC = () => {
 
             {/* Recent Transactions */}
             <div className="bg-white rounded-lg border border-gray-200">
-                <div className="px-6 py-4 border-b border-gray-200">
-                    <h3 className="text-lg font-semibold text-gray-900">Recent Transactions</h3>
+                <div className="px-6 py-4 border-b border-gray-200 flex items-center justify-between gap-4">
+                    <div>
+                        <h3 className="text-lg font-semibold text-gray-900">
+                            {searchResult ? `Results for "${searchResult.query}"` : 'Recent Transactions'}
+                        </h3>
+                        {searchResult && (
+                            <p className="text-xs text-gray-500">
+                                {searchResult.fuzzy && 'No exact matches, showing similar ones. '}
+                                {searchResult.timedOut && 'Search timed out, results may be incomplete. '}
+                                {searchResult.elapsedMillis} ms
+                            </p>
+                        )}
+                    </div>
+                    <form onSubmit={handleSearch} className="flex items-center gap-2">
+                        <div className="relative">
+                            <FiSearch className="absolute left-3 top-1/2 -translate-y-1/2 w-4 h-4 text-gray-400" />
+                            <input
+                                type="text"
+                                value={searchQuery}
+                                onChange={(e) => setSearchQuery(e.target.value)}
+                                maxLength={200}
+                                className="pl-9 pr-3 py-2 text-sm border border-gray-300 rounded-lg focus:ring-2 focus:ring-primary-500"
+                                placeholder="Search description, reference, notes"
+                            />
+                        </div>
+                        <button
+                            type="submit"
+                            disabled={isSearching}
+                            className="inline-flex items-center px-3 py-2 text-sm font-medium text-white bg-primary-600 rounded-lg hover:bg-primary-700 disabled:opacity-50"
+                        >
+                            {isSearching ? <FaSpinner className="animate-spin w-4 h-4" /> : 'Search'}
+                        </button>
+                        {searchResult && (
+                            <button
+                                type="button"
+                                onClick={clearSearch}
+                                className="p-2 text-gray-500 hover:text-gray-700"
+                                title="Clear search"
+                            >
+                                <FiX className="w-4 h-4" />
+                            </button>
+                        )}
+                    </form>
                 </div>
+                {searchError && (
+                    <div className="px-6 py-2 text-sm text-red-600 border-b border-gray-200">{searchError}</div>
+                )}
                 <div className="overflow-x-auto">
-                    {transactions.length === 0 ? (
+                    {shownTransactions.length === 0 ? (
                         <div className="px-6 py-12 text-center text-gray-500">
                             <p>No transactions found</p>
                         </div>
@@ -303,7 +400,7 @@ const FinanceOverview: React.FC = () => {
                                 </tr>
                             </thead>
                             <tbody className="bg-white divide-y divide-gray-200">
-                                {transactions.map((transaction) => {
+                                {shownTransactions.map((transaction) => {
                                     const student = students.find(s => s.id === transaction.studentId);
                                     return (
                                         <tr key={transaction.id} className="hover:bg-gray-50">
@@ -350,6 +447,38 @@ const FinanceOverview: React.FC = () => {
                         </table>
                     )}
                 </div>
+                {searchResult && (searchResult.page > 0 || searchResult.hasMore) && (
+                    <div className="px-6 py-4 border-t border-gray-200 flex items-center justify-between text-sm">
+                        <button
+                            onClick={() => runSearch(searchResult.query, searchResult.page - 1)}
+                            disabled={isSearching || searchResult.page === 0}
+                            className="px-4 py-2 font-medium text-gray-700 bg-white border border-gray-300 rounded-lg hover:bg-gray-50 disabled:opacity-50"
+                        >
+                            Previous
+                        </button>
+                        <span className="text-gray-600">Page {searchResult.page + 1}</span>
+                        <button
+                            onClick={() => runSearch(searchResult.query, searchResult.page + 1)}
+                            disabled={isSearching || !searchResult.hasMore}
+                            className="px-4 py-2 font-medium text-gray-700 bg-white border border-gray-300 rounded-lg hover:bg-gray-50 disabled:opacity-50"
+                        >
+                            Next
+                        </button>
+                    </div>
+                )}
+                {!searchResult && nextCursor && (
+                    <div className="px-6 py-4 border-t border-gray-200 text-center">
+                        {loadMoreError && <p className="mb-2 text-sm text-red-600">{loadMoreError}</p>}
+                        <button
+                            onClick={loadMore}
+                            disabled={isLoadingMore}
+                            className="inline-flex items-center px-4 py-2 text-sm font-medium text-gray-700 bg-white border border-gray-300 rounded-lg hover:bg-gray-50 disabled:opacity-50"
+                        >
+                            {isLoadingMore && <FaSpinner className="animate-spin w-4 h-4 mr-2" />}
+                            Load more
+                        </button>
+                    </div>
+                )}
             </div>
 
             {/* Add Transaction Modal */}
@@ -68,6 +68,52 @@ export interface FinanceStats {
     activeBudgets: number;
 }
 
+export interface TransactionSearchHit {
+    transaction: Transaction;
+    score: number;
+}
+
+export interface TransactionSearchResult {
+    query: string;
+    page: number;
+    size: number;
+    hits: TransactionSearchHit[];
+    hasMore: boolean;
+    fuzzy: boolean;
+    timedOut: boolean;
+    elapsedMillis: number;
+}
+
+export interface TransactionPage {
+    items: Transaction[];
+    nextCursor: string | null; // pass back to fetch the following page; null on the last one
+}
+
+// Listing endpoints return one page at a time, newest first, with X-Next-Cursor pointing at the next
+const fetchPage = async (url: string, what: string, cursor?: string | null, limit = 50): Promise<TransactionPage> => {
+    const params = new URLSearchParams({ limit: String(limit) });
+    if (cursor) {
+        params.set('cursor', cursor);
+    }
+    const response = await fetch(`${url}?${params}`);
+    if (!response.ok) {
+        throw new Error(`Failed to fetch ${what}: ${response.statusText}`);
+    }
+    return { items: await response.json(), nextCursor: response.headers.get('X-Next-Cursor') };
+};
+
+// Follows X-Next-Cursor to the last page; only for small, bounded lists such as a single category
+const fetchAllPages = async (url: string, what: string): Promise<Transaction[]> => {
+    const rows: Transaction[] = [];
+    let cursor: string | null = null;
+    do {
+        const page: TransactionPage = await fetchPage(url, what, cursor, 1000);
+        rows.push(...page.items);
+        cursor = page.nextCursor;
+    } while (cursor);
+    return rows;
+};
+
 const financeService = {
     // Stats
     getStats: async (): Promise<FinanceStats> => {
@@ -78,11 +124,35 @@ const financeService = {
         return response.json();
     },
 
+    // Live stats over server-sent events: a full snapshot, then only the figures that changed.
+    // EventSource reconnects on its own and the server answers with a new snapshot. Returns an unsubscribe function.
+    subscribeStats: (onStats: (stats: FinanceStats) => void): (() => void) => {
+        const source = new EventSource(`${FINANCE_SERVICE_URL}/stats/stream`);
+        let current: FinanceStats | null = null;
+        source.addEventListener('snapshot', (event) => {
+            current = JSON.parse((event as MessageEvent).data);
+            onStats(current!);
+        });
+        source.addEventListener('delta', (event) => {
+            if (current) {
+                current = { ...current, ...JSON.parse((event as MessageEvent).data) };
+                onStats(current!);
+            }
+        });
+        return () => source.close();
+    },
+
     // Transactions
-    getAllTransactions: async (): Promise<Transaction[]> => {
-        const response = await fetch(`${FINANCE_SERVICE_URL}/transactions`);
+    getTransactionPage: async (cursor?: string | null, limit?: number): Promise<TransactionPage> => {
+        return fetchPage(`${FINANCE_SERVICE_URL}/transactions`, 'transactions', cursor, limit);
+    },
+
+    // Server-side ranked search over description, reference and notes (at least 3 characters)
+    searchTransactions: async (query: string, page = 0, size = 20): Promise<TransactionSearchResult> => {
+        const params = new URLSearchParams({ q: query, page: String(page), size: String(size) });
+        const response = await fetch(`${FINANCE_SERVICE_URL}/transactions/search?${params}`);
         if (!response.ok) {
-            throw new Error(`Failed to fetch transactions: ${response.statusText}`);
+            throw new Error(`Failed to search transactions: ${response.statusText}`);
         }
         return response.json();
     },
@@ -95,28 +165,17 @@ const financeService = {
         return response.json();
     },
 
-    getTransactionsByType: async (type: 'INCOME' | 'EXPENSE'): Promise<Transaction[]> => {
-        const response = await fetch(`${FINANCE_SERVICE_URL}/transactions/type/${type}`);
-        if (!response.ok) {
-            throw new Error(`Failed to fetch transactions by type: ${response.statusText}`);
-        }
-        return response.json();
+    getTransactionsByType: async (type: 'INCOME' | 'EXPENSE', cursor?: string | null, limit?: number): Promise<TransactionPage> => {
+        return fetchPage(`${FINANCE_SERVICE_URL}/transactions/type/${type}`, 'transactions by type', cursor, limit);
     },
 
-    getTransactionsByStatus: async (status: string): Promise<Transaction[]> => {
-        const response = await fetch(`${FINANCE_SERVICE_URL}/transactions/status/${status}`);
-        if (!response.ok) {
-            throw new Error(`Failed to fetch transactions by status: ${response.statusText}`);
-        }
-        return response.json();
+    getTransactionsByStatus: async (status: string, cursor?: string | null, limit?: number): Promise<TransactionPage> => {
+        return fetchPage(`${FINANCE_SERVICE_URL}/transactions/status/${status}`, 'transactions by status', cursor, limit);
     },
 
     getTransactionsByCategory: async (category: string): Promise<Transaction[]> => {
-        const response = await fetch(`${FINANCE_SERVICE_URL}/transactions/category/${category}`);
-        if (!response.ok) {
-            throw new Error(`Failed to fetch transactions by category: ${response.statusText}`);
-        }
-        return response.json();
+        return fetchAllPages(`${FINANCE_SERVICE_URL}/transactions/category/${encodeURIComponent(category)}`,
+            'transactions by category');
     },
 
     getRecentTransactions: async (): Promise<Transaction[]> => {
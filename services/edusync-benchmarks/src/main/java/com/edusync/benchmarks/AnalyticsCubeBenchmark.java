@@ -0,0 +1,104 @@
+package com.edusync.benchmarks;
+
+import com.edusync.benchmarks.data.TransactionGenerator;
+import com.edusync.finance.cache.AnalyticsCube;
+import com.edusync.finance.cache.AnalyticsCube.Dimension;
+import com.edusync.finance.entity.Transaction;
+import com.edusync.finance.entity.Transaction.TransactionStatus;
+import com.edusync.finance.entity.Transaction.TransactionType;
+import com.edusync.finance.util.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * AnalyticsCube queries against grouping the same completed transactions with streams, the
+ * way an in-memory report would be written without the cube. Also measures building a cube.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class AnalyticsCubeBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    private List<Transaction> completed;
+    private AnalyticsCube cube;
+    private AnalyticsCube.Filter yearFilter;
+    private LocalDate yearStart;
+    private LocalDate yearEnd;
+
+    @Setup
+    public void setUp() {
+        completed = TransactionGenerator.standard().generate(size).stream()
+            .filter(transaction -> transaction.getStatus() == TransactionStatus.COMPLETED)
+            .toList();
+        cube = build(completed);
+        yearStart = LocalDate.of(2024, 1, 1);
+        yearEnd = LocalDate.of(2024, 12, 31);
+        yearFilter = new AnalyticsCube.Filter().setFrom(yearStart).setTo(yearEnd).setType(TransactionType.EXPENSE);
+    }
+
+    @Benchmark
+    public List<AnalyticsCube.Row> cubeByMonthAndType() {
+        return cube.query(new AnalyticsCube.Filter(), List.of(Dimension.MONTH, Dimension.TYPE));
+    }
+
+    @Benchmark
+    public Map<YearMonth, Map<TransactionType, BigDecimal>> streamByMonthAndType() {
+        return completed.stream().collect(Collectors.groupingBy(
+            transaction -> YearMonth.from(transaction.getDate()),
+            Collectors.groupingBy(Transaction::getType,
+                Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add))));
+    }
+
+    @Benchmark
+    public List<AnalyticsCube.Row> cubeExpensesByCategoryForYear() {
+        return cube.query(yearFilter, List.of(Dimension.CATEGORY));
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> streamExpensesByCategoryForYear() {
+        return completed.stream()
+            .filter(transaction -> transaction.getType() == TransactionType.EXPENSE
+                && !transaction.getDate().isBefore(yearStart) && !transaction.getDate().isAfter(yearEnd))
+            .collect(Collectors.groupingBy(Transaction::getCategory,
+                Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)));
+    }
+
+    // What FinanceAnalyticsService.rebuild does per row, minus the table scan
+    @Benchmark
+    public AnalyticsCube buildCube() {
+        return build(completed);
+    }
+
+    private static AnalyticsCube build(List<Transaction> transactions) {
+        AnalyticsCube cube = new AnalyticsCube();
+        for (Transaction transaction : transactions) {
+            cube.add(transaction.getDate(), transaction.getType(), transaction.getCategory(),
+                transaction.getSubCategory(), transaction.getPaymentMethod(),
+                Money.toMinor(transaction.getAmount(), Money.DEFAULT_CURRENCY), 1);
+        }
+        return cube;
+    }
+}
@@ -0,0 +1,107 @@
+package com.edusync.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files (-rf json) benchmark by benchmark and exits with status 1
+ * when any benchmark got slower than the threshold allows. A change only counts as a regression
+ * when it is also larger than the two runs' combined error, so noisy benchmarks do not fail.
+ *
+ *   java -cp target/benchmarks.jar com.edusync.benchmarks.CompareResults baseline/results.json results.json [thresholdPercent]
+ */
+public final class CompareResults {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private CompareResults() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s %12s%n", "Benchmark", "Baseline", "Current", "Change", "Alloc B/op");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            JsonNode metric = after.path("primaryMetric");
+            String unit = metric.path("scoreUnit").asText();
+            String allocation = allocation(before) + " -> " + allocation(after);
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s %12s  new (%s)%n", entry.getKey(), "-", metric.path("score").asDouble(),
+                    "-", allocation(after), unit);
+                continue;
+            }
+            double old = before.path("primaryMetric").path("score").asDouble();
+            double now = metric.path("score").asDouble();
+            double error = finite(before.path("primaryMetric").path("scoreError").asDouble())
+                + finite(metric.path("scoreError").asDouble());
+            // Throughput modes report operations per time unit, so lower is worse; the time modes are the reverse
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            double change = (now - old) / old * 100;
+            double worsening = higherIsBetter ? -change : change;
+            boolean regressed = worsening > threshold && Math.abs(now - old) > error;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%% %12s  %s%s%n", entry.getKey(), old, now, change, allocation, unit,
+                regressed ? "  REGRESSION" : "");
+        }
+        for (String name : baseline.keySet()) {
+            if (!current.containsKey(name)) {
+                System.out.printf("%-70s missing from the current run%n", name);
+            }
+        }
+
+        System.out.printf("%d regression(s) beyond %.1f%%%n", regressions, threshold);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    // Keyed by benchmark name plus its @Param values
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText().replace("com.edusync.benchmarks.", ""));
+            Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(':').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static String allocation(JsonNode result) {
+        if (result == null) {
+            return "-";
+        }
+        Iterator<Map.Entry<String, JsonNode>> metrics = result.path("secondaryMetrics").fields();
+        while (metrics.hasNext()) {
+            Map.Entry<String, JsonNode> metric = metrics.next();
+            if (metric.getKey().endsWith(ALLOCATION_METRIC)) {
+                return String.format("%.0f", metric.getValue().path("score").asDouble());
+            }
+        }
+        return "-";
+    }
+
+    private static double finite(double value) {
+        return Double.isFinite(value) ? value : 0;
+    }
+}
@@ -0,0 +1,105 @@
+package com.edusync.benchmarks;
+
+import com.edusync.benchmarks.data.TransactionGenerator;
+import com.edusync.finance.cache.FinanceStatsCache;
+import com.edusync.finance.dto.FinanceTotals;
+import com.edusync.finance.entity.Transaction;
+import com.edusync.finance.entity.Transaction.TransactionStatus;
+import com.edusync.finance.entity.Transaction.TransactionType;
+import com.edusync.finance.service.FinanceStatsService;
+import com.edusync.finance.service.LedgerRollupService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FinanceStatsService on top of fixed totals, so only the service's own work is measured:
+ * the Money math and map building on a cache miss, and the snapshot lookup on a hit. The
+ * aggregate query behind the totals is a database cost and is not part of this benchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FinanceStatsBenchmark {
+
+    private FinanceStatsService uncached;
+    private FinanceStatsService cached;
+
+    @Setup
+    public void setUp() {
+        FinanceTotals totals = totalsOf(TransactionGenerator.standard().generate(100_000));
+        LedgerRollupService rollups = new LedgerRollupService(null, null, null) {
+            @Override
+            public FinanceTotals getFinanceTotals(YearMonth currentMonth, YearMonth previousMonth) {
+                return totals;
+            }
+        };
+        // A zero TTL makes every call a miss
+        uncached = new FinanceStatsService(rollups, new FinanceStatsCache(new SimpleMeterRegistry(), Duration.ZERO));
+        cached = new FinanceStatsService(rollups, new FinanceStatsCache(new SimpleMeterRegistry(), Duration.ofDays(1)));
+    }
+
+    @Benchmark
+    public Map<String, Object> computeStats() {
+        return uncached.getFinanceStats();
+    }
+
+    @Benchmark
+    public Map<String, Object> cachedStats() {
+        return cached.getFinanceStats();
+    }
+
+    // Treats the last generated month as the current one
+    private static FinanceTotals totalsOf(List<Transaction> transactions) {
+        YearMonth current = transactions.stream().map(t -> YearMonth.from(t.getDate())).max(YearMonth::compareTo).orElseThrow();
+        YearMonth previous = current.minusMonths(1);
+        BigDecimal[] sums = new BigDecimal[7];
+        Arrays.fill(sums, BigDecimal.ZERO);
+        for (Transaction transaction : transactions) {
+            if (transaction.getStatus() != TransactionStatus.COMPLETED) {
+                continue;
+            }
+            YearMonth month = YearMonth.from(transaction.getDate());
+            int offset = transaction.getType() == TransactionType.INCOME ? 0 : 3;
+            sums[offset] = sums[offset].add(transaction.getAmount());
+            if (month.equals(current)) {
+                sums[offset + 1] = sums[offset + 1].add(transaction.getAmount());
+            } else if (month.equals(previous)) {
+                sums[offset + 2] = sums[offset + 2].add(transaction.getAmount());
+            }
+        }
+        sums[6] = sums[0].subtract(sums[3]);
+        long count = transactions.size();
+        return new FinanceTotals() {
+            public BigDecimal getTotalRevenue() { return sums[0]; }
+            public BigDecimal getMonthlyRevenue() { return sums[1]; }
+            public BigDecimal getPreviousMonthRevenue() { return sums[2]; }
+            public BigDecimal getTotalExpenses() { return sums[3]; }
+            public BigDecimal getMonthlyExpenses() { return sums[4]; }
+            public BigDecimal getPreviousMonthExpenses() { return sums[5]; }
+            public Long getTotalTransactions() { return count; }
+            public BigDecimal getTotalBalance() { return sums[6]; }
+            public Long getTotalAccounts() { return 4L; }
+            public Long getActiveBudgets() { return 12L; }
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package com.edusync.benchmarks;
+
+import com.edusync.finance.util.IdGenerator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Hammers one IdGenerator from many threads and checks its guarantees: no duplicate IDs, IDs
+ * increasing within each thread, and the node ID intact in every ID. Exits with status 1 on
+ * any violation.
+ *
+ *   java -cp target/benchmarks.jar com.edusync.benchmarks.IdGeneratorStressTest [threads] [idsPerThread]
+ */
+public final class IdGeneratorStressTest {
+
+    private static final int NODE_ID = 7;
+
+    private IdGeneratorStressTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors() * 2;
+        int perThread = args.length > 1 ? Integer.parseInt(args[1]) : 500_000;
+
+        IdGenerator generator = new IdGenerator(NODE_ID);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                long[] ids = new long[perThread];
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    ids[i] = generator.nextId();
+                }
+                return ids;
+            }));
+        }
+
+        long started = System.nanoTime();
+        start.countDown();
+        long[][] perThreadIds = new long[threads][];
+        for (int t = 0; t < threads; t++) {
+            perThreadIds[t] = results.get(t).get();
+        }
+        long elapsed = System.nanoTime() - started;
+        long[] all = new long[threads * perThread];
+        System.out.printf("%,d IDs from %d threads in %d ms (%,.0f IDs/s)%n", all.length, threads,
+            elapsed / 1_000_000, all.length * 1e9 / elapsed);
+
+        int failures = 0;
+        for (int t = 0; t < threads; t++) {
+            long[] ids = perThreadIds[t];
+            for (int i = 0; i < ids.length; i++) {
+                if (i > 0 && ids[i] <= ids[i - 1]) {
+                    failures++;
+                    System.out.printf("Thread %d: ID %d not above the previous %d%n", t, ids[i], ids[i - 1]);
+                }
+                if (IdGenerator.nodeIdOf(ids[i]) != NODE_ID) {
+                    failures++;
+                    System.out.printf("Thread %d: ID %d carries node %d%n", t, ids[i], IdGenerator.nodeIdOf(ids[i]));
+                }
+            }
+            System.arraycopy(ids, 0, all, t * perThread, perThread);
+        }
+        executor.shutdown();
+
+        Arrays.sort(all);
+        int duplicates = 0;
+        for (int i = 1; i < all.length; i++) {
+            if (all[i] == all[i - 1]) {
+                duplicates++;
+            }
+        }
+        long lagMillis = IdGenerator.timestampOf(all[all.length - 1]) - System.currentTimeMillis();
+        System.out.printf("Duplicates: %d, ordering or node violations: %d, newest ID timestamp ahead of the clock by %d ms%n",
+            duplicates, failures, Math.max(lagMillis, 0));
+        if (duplicates > 0 || failures > 0) {
+            System.exit(1);
+        }
+    }
+}
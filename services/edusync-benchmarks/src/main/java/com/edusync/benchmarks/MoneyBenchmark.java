@@ -0,0 +1,125 @@
+package com.edusync.benchmarks;
+
+import com.edusync.benchmarks.data.TransactionGenerator;
+import com.edusync.finance.entity.Transaction;
+import com.edusync.finance.util.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BigDecimal against Money for the math the stats services do: summing amounts, averaging
+ * them, and growth and margin percentages. The bigDecimal* methods are the code the services
+ * ran before Money; both sides of each pair return the same figure. Run with -prof gc to see
+ * the allocation difference (gc.alloc.rate.norm, bytes per call).
+ *
+ * Money.Sum.add(BigDecimal) makes one BigDecimal copy per amount. On JDK 17 with C2, moneySum
+ * allocated 24 bytes per call for 10,000 amounts once compiled, only the Sum and the Money,
+ * because escape analysis removed the copies (averages up to a few hundred bytes when an
+ * iteration catches the loop before compilation). moneySumWithoutEscapeAnalysis turns that off and shows the cost
+ * when the copy survives, for example in code that is not hot enough to be compiled. It
+ * allocated 400,064 bytes, 40 bytes per amount, the same as bigDecimalSum.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoneyBenchmark {
+
+    @Param({"10000"})
+    public int size;
+
+    private BigDecimal[] amounts;
+    private BigDecimal current;
+    private BigDecimal previous;
+    private Money currentMoney;
+    private Money previousMoney;
+
+    @Setup
+    public void setUp() {
+        List<Transaction> transactions = TransactionGenerator.standard().generate(size);
+        amounts = transactions.stream().map(Transaction::getAmount).toArray(BigDecimal[]::new);
+        current = new BigDecimal("1284530.27");
+        previous = new BigDecimal("1190311.90");
+        currentMoney = Money.of(current);
+        previousMoney = Money.of(previous);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalSum() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : amounts) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money moneySum() {
+        Money.Sum total = new Money.Sum();
+        for (BigDecimal amount : amounts) {
+            total.add(amount);
+        }
+        return total.toMoney();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-XX:-DoEscapeAnalysis")
+    public Money moneySumWithoutEscapeAnalysis() {
+        return moneySum();
+    }
+
+    // HrStatsService's salary average before Money
+    @Benchmark
+    public BigDecimal bigDecimalAverage() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : amounts) {
+            total = total.add(amount);
+        }
+        return total.divide(BigDecimal.valueOf(amounts.length), 2, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public Money moneyAverage() {
+        Money.Sum total = new Money.Sum();
+        for (BigDecimal amount : amounts) {
+            total.add(amount);
+        }
+        return total.toMoney().divide(amounts.length, RoundingMode.HALF_UP);
+    }
+
+    // FinanceStatsService's growth and margin figures before Money
+    @Benchmark
+    public double bigDecimalPercentages() {
+        double growth = current.subtract(previous)
+            .multiply(BigDecimal.valueOf(100))
+            .divide(previous, 2, RoundingMode.HALF_UP)
+            .doubleValue();
+        double margin = current.subtract(previous)
+            .multiply(BigDecimal.valueOf(100))
+            .divide(current, 2, RoundingMode.HALF_UP)
+            .doubleValue();
+        return growth + margin;
+    }
+
+    @Benchmark
+    public double moneyPercentages() {
+        Money difference = currentMoney.minus(previousMoney);
+        return difference.percentOf(previousMoney) + difference.percentOf(currentMoney);
+    }
+}
@@ -0,0 +1,255 @@
+package com.edusync.benchmarks;
+
+import com.edusync.finance.dto.TransactionFilter;
+import com.edusync.finance.entity.Transaction;
+import com.edusync.finance.service.TransactionExportService;
+import com.edusync.finance.service.TransactionExportService.ExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full TransactionExportService export per operation, into an output stream that only
+ * counts bytes, for growing row counts. The fork runs with a 128 MB heap, so an export that
+ * held its rows would fail at the larger sizes. Besides the time, each run reports the most
+ * heap left in use after any collection during the export (retainedHeapMb) and the most heap
+ * seen in use at all (peakHeapMb); both should stay flat whatever the row count. Needs a
+ * finance database with at least the largest row count:
+ *
+ *   java -jar target/benchmarks.jar TransactionExportBenchmark -p url=jdbc:postgresql://localhost:5432/edusync_erp
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx128m"})
+@State(Scope.Benchmark)
+public class TransactionExportBenchmark {
+
+    private static final long SAMPLE_MILLIS = 20;
+
+    @Param({"jdbc:postgresql://localhost:5432/edusync_erp"})
+    public String url;
+
+    @Param({"edusync"})
+    public String user;
+
+    @Param({"password"})
+    public String password;
+
+    @Param({"100000", "1000000", "5000000"})
+    public long rows;
+
+    @Param({"NDJSON", "CSV"})
+    public ExportFormat format;
+
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private TransactionExportService exportService;
+    private TransactionFilter filter;
+
+    @Setup
+    public void setUp() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(url, user, password);
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setManagedTypes(PersistenceManagedTypes.of(Transaction.class.getName()));
+        factoryBean.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "none"));
+        factoryBean.afterPropertiesSet();
+        EntityManagerFactory factory = factoryBean.getObject();
+
+        // Wired the way Spring wires the service: a shared EntityManager bound to the transaction
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        exportService = new TransactionExportService(mapper, new JpaTransactionManager(factory));
+        set("entityManager", SharedEntityManagerCreator.createSharedEntityManager(factory, null, EntityManager.class));
+        set("fetchSize", 1000);
+
+        // Exports run in (date, id) order, so ending on the date of the rows-th row covers about that many rows
+        filter = new TransactionFilter().setEndDate(dateOfRow(rows));
+    }
+
+    @TearDown
+    public void tearDown() {
+        factoryBean.destroy();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Heap {
+        public long exportedRows;
+        public double retainedHeapMb;
+        public double peakHeapMb;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            exportedRows = 0;
+            retainedHeapMb = 0;
+            peakHeapMb = 0;
+            System.gc();
+        }
+    }
+
+    @Benchmark
+    public long export(Heap heap) throws InterruptedException {
+        CountingOutputStream out = new CountingOutputStream();
+        HeapSampler sampler = new HeapSampler();
+        sampler.start();
+        try {
+            heap.exportedRows = exportService.export(filter, format, false, out);
+        } finally {
+            sampler.interrupt();
+            sampler.join();
+        }
+        heap.retainedHeapMb = sampler.retained / (1024.0 * 1024.0);
+        heap.peakHeapMb = sampler.peak / (1024.0 * 1024.0);
+        return out.count;
+    }
+
+    private LocalDate dateOfRow(long row) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, user, password);
+             PreparedStatement statement = connection.prepareStatement(
+                 "SELECT date FROM transactions ORDER BY date, id OFFSET ? LIMIT 1")) {
+            statement.setLong(1, row - 1);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next()) {
+                    throw new IllegalStateException("transactions holds fewer than " + row + " rows");
+                }
+                return rs.getDate(1).toLocalDate();
+            }
+        }
+    }
+
+    private void set(String name, Object value) throws ReflectiveOperationException {
+        Field field = TransactionExportService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(exportService, value);
+    }
+
+    /**
+     * Polls heap use while an export runs (peak) and listens for collections (retained): the heap
+     * left in use after a collection bounds the live data from above, since a young collection
+     * also counts garbage already promoted to the old generation.
+     */
+    private static final class HeapSampler extends Thread implements NotificationListener {
+        private final List<MemoryPoolMXBean> pools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+        private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        private volatile long retained;
+        private volatile long peak;
+
+        private HeapSampler() {
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            collectors.forEach(gc -> ((NotificationEmitter) gc).addNotificationListener(this, null, null));
+            try {
+                while (!isInterrupted()) {
+                    sample();
+                    try {
+                        Thread.sleep(SAMPLE_MILLIS);
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                }
+                sample();
+            } finally {
+                for (GarbageCollectorMXBean gc : collectors) {
+                    try {
+                        ((NotificationEmitter) gc).removeNotificationListener(this);
+                    } catch (ListenerNotFoundException e) {
+                        // Never added
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void handleNotification(Notification notification, Object handback) {
+            if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                return;
+            }
+            GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            long afterGc = 0;
+            for (MemoryPoolMXBean pool : pools) {
+                MemoryUsage usage = info.getGcInfo().getMemoryUsageAfterGc().get(pool.getName());
+                if (usage != null) {
+                    afterGc += usage.getUsed();
+                }
+            }
+            retained = Math.max(retained, afterGc);
+        }
+
+        private void sample() {
+            long used = 0;
+            for (MemoryPoolMXBean pool : pools) {
+                used += pool.getUsage().getUsed();
+            }
+            peak = Math.max(peak, used);
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
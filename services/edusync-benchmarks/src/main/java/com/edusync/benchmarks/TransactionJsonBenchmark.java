@@ -0,0 +1,86 @@
+package com.edusync.benchmarks;
+
+import com.edusync.benchmarks.data.TransactionGenerator;
+import com.edusync.finance.entity.Transaction;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing and reading Transaction JSON the way the finance endpoints do: one transaction, as
+ * for GET /transactions/{id} and POST bodies, and a 100-item list, as for a page of the listing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionJsonBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private ObjectWriter transactionWriter;
+    private ObjectWriter listWriter;
+    private ObjectReader transactionReader;
+    private ObjectReader listReader;
+
+    private Transaction transaction;
+    private List<Transaction> transactions;
+    private byte[] transactionJson;
+    private byte[] listJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Spring Boot's defaults: ISO dates, unknown properties ignored
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        transactionWriter = mapper.writerFor(Transaction.class);
+        transactionReader = mapper.readerFor(Transaction.class);
+        TypeReference<List<Transaction>> listType = new TypeReference<>() { };
+        listWriter = mapper.writerFor(listType);
+        listReader = mapper.readerFor(listType);
+
+        transactions = TransactionGenerator.standard().generate(PAGE_SIZE);
+        transaction = transactions.get(0);
+        transactionJson = transactionWriter.writeValueAsBytes(transaction);
+        listJson = listWriter.writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    public byte[] writeTransaction() throws Exception {
+        return transactionWriter.writeValueAsBytes(transaction);
+    }
+
+    @Benchmark
+    public Transaction readTransaction() throws Exception {
+        return transactionReader.readValue(transactionJson);
+    }
+
+    @Benchmark
+    public byte[] writeList() throws Exception {
+        return listWriter.writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    public List<Transaction> readList() throws Exception {
+        return listReader.readValue(listJson);
+    }
+}
@@ -0,0 +1,165 @@
+package com.edusync.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The one-month queries TransactionRepository sends, written out as the SQL Hibernate
+ * generates, plus a lookup by primary key. Run it before and after the finance service
+ * partitions the transactions table. The key lookup can't be pruned by date, so it shows the
+ * cost of partitioning; byIdAndDate is how TransactionService looks a row up once the table is
+ * partitioned, reading its date from transaction_ids first, and only runs on a partitioned
+ * table. Like TransactionSearchBenchmark it needs a finance database:
+ *
+ *   java -jar target/benchmarks.jar TransactionPartitionBenchmark -p url=jdbc:postgresql://localhost:5432/edusync_erp
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionPartitionBenchmark {
+
+    private static final String MONTH_ROWS_SQL = """
+        SELECT id, transaction_id, type, category, amount, date, status, description, reference, version
+        FROM transactions WHERE date BETWEEN ? AND ?
+        """;
+
+    private static final String MONTH_SUM_SQL = """
+        SELECT SUM(amount) FROM transactions
+        WHERE type = 'EXPENSE' AND date BETWEEN ? AND ? AND status = 'COMPLETED'
+        """;
+
+    private static final String MONTH_PAGE_SQL = """
+        SELECT id FROM transactions WHERE date BETWEEN ? AND ?
+        ORDER BY date DESC, id DESC LIMIT 50
+        """;
+
+    private static final String BY_ID_SQL = "SELECT id, amount, date FROM transactions WHERE id = ?";
+
+    private static final String DATE_BY_ID_SQL = "SELECT date FROM transaction_ids WHERE id = ?";
+
+    private static final String BY_ID_AND_DATE_SQL = "SELECT id, amount, date FROM transactions WHERE id = ? AND date = ?";
+
+    @Param({"jdbc:postgresql://localhost:5432/edusync_erp"})
+    public String url;
+
+    @Param({"edusync"})
+    public String user;
+
+    @Param({"password"})
+    public String password;
+
+    // The development data thins out after mid-2025, so the default stands in for a busy current month
+    @Param({"2025-07"})
+    public String month;
+
+    private Connection connection;
+    private PreparedStatement monthRows;
+    private PreparedStatement monthSum;
+    private PreparedStatement monthPage;
+    private PreparedStatement byId;
+    private PreparedStatement dateById;
+    private PreparedStatement byIdAndDate;
+    private Date first;
+    private Date last;
+    private long maxId;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(url, user, password);
+        YearMonth yearMonth = YearMonth.parse(month);
+        first = Date.valueOf(yearMonth.atDay(1));
+        last = Date.valueOf(yearMonth.atEndOfMonth());
+        monthRows = connection.prepareStatement(MONTH_ROWS_SQL);
+        monthSum = connection.prepareStatement(MONTH_SUM_SQL);
+        monthPage = connection.prepareStatement(MONTH_PAGE_SQL);
+        byId = connection.prepareStatement(BY_ID_SQL);
+        dateById = connection.prepareStatement(DATE_BY_ID_SQL);
+        byIdAndDate = connection.prepareStatement(BY_ID_AND_DATE_SQL);
+        try (PreparedStatement max = connection.prepareStatement("SELECT max(id) FROM transactions");
+             ResultSet rs = max.executeQuery()) {
+            rs.next();
+            maxId = rs.getLong(1);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    // findByDateBetween for the whole month
+    @Benchmark
+    public long monthRows() throws SQLException {
+        return run(monthRows, first, last);
+    }
+
+    // sumAmountByTypeAndDateBetween
+    @Benchmark
+    public long monthSum() throws SQLException {
+        return run(monthSum, first, last);
+    }
+
+    // The newest page of the month
+    @Benchmark
+    public long monthPage() throws SQLException {
+        return run(monthPage, first, last);
+    }
+
+    // findById
+    @Benchmark
+    public long byId() throws SQLException {
+        return run(byId, random.nextLong(1, maxId + 1));
+    }
+
+    // findById once partitioned: the date from transaction_ids, then the one partition holding the row
+    @Benchmark
+    public long byIdAndDate() throws SQLException {
+        long id = random.nextLong(1, maxId + 1);
+        dateById.setLong(1, id);
+        Date date;
+        try (ResultSet rs = dateById.executeQuery()) {
+            if (!rs.next()) {
+                return 0;
+            }
+            date = rs.getDate(1);
+        }
+        return run(byIdAndDate, id, date);
+    }
+
+    private static long run(PreparedStatement statement, Object... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            statement.setObject(i + 1, params[i]);
+        }
+        long rows = 0;
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,138 @@
+package com.edusync.benchmarks;
+
+import com.edusync.finance.service.TransactionPartitionService;
+import com.edusync.finance.service.TransactionSearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.lang.reflect.Field;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransactionSearchService's ranking of the newest matching candidates against a naive ILIKE
+ * over the three columns, for one page of 20 hits. The fuzzy query is measured with misspelled queries only, without
+ * the statement timeout the service applies. Unlike the other benchmarks this one needs a
+ * finance database with the search index (the finance service creates it on startup), so it is
+ * excluded from the default run:
+ *
+ *   java -jar target/benchmarks.jar TransactionSearchBenchmark -p url=jdbc:postgresql://localhost:5432/edusync_erp
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionSearchBenchmark {
+
+    private static final int PAGE = 20;
+    private static final int MAX_CANDIDATES = 10000;
+
+    private static final String NAIVE_SQL = """
+        SELECT id FROM transactions
+        WHERE description ILIKE ? OR reference ILIKE ? OR notes ILIKE ?
+        ORDER BY date DESC, id DESC
+        LIMIT ?
+        """;
+
+    @Param({"jdbc:postgresql://localhost:5432/edusync_erp"})
+    public String url;
+
+    @Param({"edusync"})
+    public String user;
+
+    @Param({"password"})
+    public String password;
+
+    // A rare reference, a partial number, a term in every row and a typo
+    @State(Scope.Benchmark)
+    public static class Query {
+        @Param({"row 61256", "61256", "bulk", "rwo 61256"})
+        public String query;
+    }
+
+    // The service only searches for similar words when nothing contains the query
+    @State(Scope.Benchmark)
+    public static class Typo {
+        @Param({"rwo 61256", "61265", "bulx row 612"})
+        public String typo;
+    }
+
+    private SingleConnectionDataSource dataSource;
+    private TransactionSearchService searchService;
+    private PreparedStatement naive;
+
+    @Setup
+    public void setUp() throws Exception {
+        // One connection for every statement, as the service's transaction would use
+        dataSource = new SingleConnectionDataSource(url, user, password, true);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.queryForObject("SELECT set_config('pg_trgm.strict_word_similarity_threshold', '0.5', false)", String.class);
+        TransactionPartitionService partitionService =
+            new TransactionPartitionService(jdbcTemplate, new DataSourceTransactionManager(dataSource), null);
+        searchService = new TransactionSearchService(jdbcTemplate, null, partitionService);
+        Field maxCandidates = TransactionSearchService.class.getDeclaredField("maxCandidates");
+        maxCandidates.setAccessible(true);
+        maxCandidates.set(searchService, MAX_CANDIDATES);
+        naive = dataSource.getConnection().prepareStatement(NAIVE_SQL);
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public long trigramExact(Query query) {
+        return page(searchService.rank(query.query, false, Long.MAX_VALUE));
+    }
+
+    @Benchmark
+    public long trigramFuzzy(Typo typo) {
+        return page(searchService.rank(typo.typo, true, Long.MAX_VALUE));
+    }
+
+    @Benchmark
+    public long naiveLike(Query query) throws SQLException {
+        String pattern = "%" + query.query + "%";
+        return run(naive, pattern, pattern, pattern, PAGE + 1);
+    }
+
+    private static long page(List<TransactionSearchService.Match> matches) {
+        long sum = 0;
+        for (TransactionSearchService.Match match : matches.subList(0, Math.min(PAGE + 1, matches.size()))) {
+            sum += match.id();
+        }
+        return sum;
+    }
+
+    private static long run(PreparedStatement statement, Object... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            statement.setObject(i + 1, params[i]);
+        }
+        long sum = 0;
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                sum += rs.getLong(1);
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,111 @@
+package com.edusync.benchmarks.data;
+
+import com.edusync.finance.entity.Transaction;
+import com.edusync.finance.entity.Transaction.TransactionStatus;
+import com.edusync.finance.entity.Transaction.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic transactions shaped like a school's ledger. The same seed always gives the same
+ * rows, so two benchmark runs measure identical inputs and their results can be compared.
+ */
+public final class TransactionGenerator {
+
+    public static final long DEFAULT_SEED = 20240101L;
+
+    private static final String[] INCOME_CATEGORIES = {
+        "Tuition Fees", "Registration", "Donations", "Grants", "Events", "Cafeteria"
+    };
+    private static final String[] EXPENSE_CATEGORIES = {
+        "Salaries", "Utilities", "Supplies", "Maintenance", "Transport", "Technology", "Insurance"
+    };
+    private static final String[] SUB_CATEGORIES = {
+        null, "Primary", "Secondary", "Boarding", "Sports", "Library", "Laboratory", "Arts"
+    };
+    private static final String[] PAYMENT_METHODS = {
+        "CARD", "BANK_TRANSFER", "CASH", "CHEQUE"
+    };
+
+    private final SplittableRandom random;
+    private final LocalDate startDate;
+    private final int days;
+    private long nextId = 1;
+
+    public TransactionGenerator(long seed, LocalDate startDate, LocalDate endDate) {
+        this.random = new SplittableRandom(seed);
+        this.startDate = startDate;
+        this.days = (int) (endDate.toEpochDay() - startDate.toEpochDay()) + 1;
+    }
+
+    // Five years ending at the end of 2025
+    public static TransactionGenerator standard() {
+        return new TransactionGenerator(DEFAULT_SEED, LocalDate.of(2021, 1, 1), LocalDate.of(2025, 12, 31));
+    }
+
+    public List<Transaction> generate(int count) {
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            transactions.add(next());
+        }
+        return transactions;
+    }
+
+    public Transaction next() {
+        long id = nextId++;
+        boolean income = random.nextInt(100) < 55;
+        Transaction transaction = new Transaction();
+        transaction.setId(id);
+        transaction.setTransactionId(String.format("TXN%019d", id));
+        transaction.setType(income ? TransactionType.INCOME : TransactionType.EXPENSE);
+        transaction.setAmount(amount(income));
+        transaction.setCategory(pick(income ? INCOME_CATEGORIES : EXPENSE_CATEGORIES));
+        transaction.setSubCategory(pick(SUB_CATEGORIES));
+        transaction.setDate(startDate.plusDays(random.nextInt(days)));
+        transaction.setDescription("Generated transaction " + id);
+        transaction.setReference("REF-" + (100000 + random.nextInt(900000)));
+        transaction.setAccountId(1L + random.nextInt(4));
+        transaction.setStudentId(income && random.nextBoolean() ? 1L + random.nextInt(5000) : null);
+        transaction.setStatus(status());
+        transaction.setPaymentMethod(pick(PAYMENT_METHODS));
+        transaction.setCreatedBy("benchmark");
+        transaction.setCreatedAt(transaction.getDate().atTime(9, 0).plusMinutes(random.nextInt(600)));
+        transaction.setUpdatedAt(transaction.getCreatedAt());
+        transaction.setVersion(0L);
+        return transaction;
+    }
+
+    // Scale 2, like the amount column; mostly small fees with a tail of large payments
+    private BigDecimal amount(boolean income) {
+        long cents = random.nextInt(100) < 90
+            ? 500 + random.nextLong(250_000)
+            : 250_000 + random.nextLong(income ? 2_500_000 : 5_000_000);
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private TransactionStatus status() {
+        int roll = random.nextInt(100);
+        if (roll < 85) {
+            return TransactionStatus.COMPLETED;
+        }
+        return roll < 95 ? TransactionStatus.PENDING : TransactionStatus.CANCELLED;
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    public static void main(String[] args) {
+        // Quick look at the generated data: java -cp target/benchmarks.jar com.edusync.benchmarks.data.TransactionGenerator 5
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        for (Transaction transaction : standard().generate(count)) {
+            System.out.printf("%s %s %10s %-14s %-10s %s %s %s%n", transaction.getTransactionId(), transaction.getDate(),
+                transaction.getAmount(), transaction.getCategory(), transaction.getSubCategory(),
+                transaction.getType(), transaction.getStatus(), transaction.getPaymentMethod());
+        }
+    }
+}
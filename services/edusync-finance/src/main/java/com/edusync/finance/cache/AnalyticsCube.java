@@ -0,0 +1,469 @@
+package com.edusync.finance.cache;
+
+import com.edusync.finance.entity.Transaction.TransactionType;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Completed transactions aggregated to one cell per (day, type, category, subCategory,
+ * paymentMethod), stored column-wise in primitive arrays. String dimensions are dictionary
+ * encoded and amounts are held as long cents, so a query is a tight scan over int/long arrays
+ * with no boxing. Cells are found for updates through an open-addressing table keyed by the
+ * packed dimension codes.
+ *
+ * Queries share a read lock; {@link #add} takes the write lock.
+ */
+public class AnalyticsCube {
+
+    public enum Dimension {
+        DAY, MONTH, YEAR, TYPE, CATEGORY, SUB_CATEGORY, PAYMENT_METHOD;
+
+        // Accepts "subCategory", "sub_category", "SUB-CATEGORY", ...
+        public static Dimension parse(String name) {
+            String normalized = name.trim().replaceAll("[^A-Za-z]", "").toUpperCase(Locale.ROOT);
+            for (Dimension dimension : values()) {
+                if (dimension.name().replace("_", "").equals(normalized)) {
+                    return dimension;
+                }
+            }
+            throw new IllegalArgumentException("Unknown dimension: " + name);
+        }
+
+        public boolean isTime() {
+            return this == DAY || this == MONTH || this == YEAR;
+        }
+
+        private int bits() {
+            return switch (this) {
+                case DAY -> DAY_BITS;
+                case MONTH -> MONTH_BITS;
+                case YEAR -> YEAR_BITS;
+                case TYPE -> TYPE_BITS;
+                case CATEGORY -> CATEGORY_BITS;
+                case SUB_CATEGORY -> SUB_CATEGORY_BITS;
+                case PAYMENT_METHOD -> PAYMENT_METHOD_BITS;
+            };
+        }
+    }
+
+    // Cell key layout, low to high: paymentMethod | subCategory | category | type | day
+    private static final int PAYMENT_METHOD_BITS = 12;
+    private static final int SUB_CATEGORY_BITS = 14;
+    private static final int CATEGORY_BITS = 14;
+    private static final int TYPE_BITS = 2;
+    private static final int DAY_BITS = 20;
+    private static final int DAY_OFFSET = 1 << (DAY_BITS - 1);
+    // Group keys only: months since year 0 (year * 12 + month - 1) and plain years, for years 0-9999
+    private static final int MONTH_BITS = 17;
+    private static final int YEAR_BITS = 14;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Dictionary categories = new Dictionary(CATEGORY_BITS);
+    private final Dictionary subCategories = new Dictionary(SUB_CATEGORY_BITS);
+    private final Dictionary paymentMethods = new Dictionary(PAYMENT_METHOD_BITS);
+
+    // Cell columns; index i across all arrays is one cell
+    private int size;
+    private int[] days = new int[INITIAL_CAPACITY];
+    private int[] months = new int[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private int[] categoryCodes = new int[INITIAL_CAPACITY];
+    private int[] subCategoryCodes = new int[INITIAL_CAPACITY];
+    private int[] paymentMethodCodes = new int[INITIAL_CAPACITY];
+    private long[] cents = new long[INITIAL_CAPACITY];
+    private long[] counts = new long[INITIAL_CAPACITY];
+
+    // Open addressing from packed cell key to cell index + 1 (0 marks an empty slot)
+    private long[] slotKeys = new long[INITIAL_CAPACITY * 2];
+    private int[] slotCells = new int[INITIAL_CAPACITY * 2];
+
+    public void add(LocalDate date, TransactionType type, String category, String subCategory,
+                    String paymentMethod, long amountCents, long count) {
+        lock.writeLock().lock();
+        try {
+            int day = (int) date.toEpochDay();
+            int typeCode = type.ordinal() + 1;
+            int categoryCode = categories.encode(category);
+            int subCategoryCode = subCategories.encode(subCategory);
+            int paymentMethodCode = paymentMethods.encode(paymentMethod);
+
+            long key = cellKey(day, typeCode, categoryCode, subCategoryCode, paymentMethodCode);
+            int cell = findCell(key);
+            if (cell < 0) {
+                cell = addCell(key, date, day, typeCode, categoryCode, subCategoryCode, paymentMethodCode);
+            }
+            cents[cell] += amountCents;
+            counts[cell] += count;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sums the cells that pass the filter, grouped by the given dimensions in that order. At
+     * most one of DAY, MONTH and YEAR may be used. Groups that net to nothing are left out.
+     */
+    public List<Row> query(Filter filter, List<Dimension> groupBy) {
+        if (groupBy.stream().filter(Dimension::isTime).count() > 1) {
+            throw new IllegalArgumentException("Group by at most one of day, month and year");
+        }
+        if (groupBy.stream().distinct().count() != groupBy.size()) {
+            throw new IllegalArgumentException("Each dimension can be grouped by only once");
+        }
+        Dimension[] dimensions = groupBy.toArray(new Dimension[0]);
+
+        lock.readLock().lock();
+        try {
+            int fromDay = filter.from != null ? (int) filter.from.toEpochDay() : Integer.MIN_VALUE;
+            int toDay = filter.to != null ? (int) filter.to.toEpochDay() : Integer.MAX_VALUE;
+            int typeCode = filter.type != null ? filter.type.ordinal() + 1 : 0;
+            int categoryCode = filter.category != null ? categories.lookup(filter.category) : 0;
+            int subCategoryCode = filter.subCategory != null ? subCategories.lookup(filter.subCategory) : 0;
+            int paymentMethodCode = filter.paymentMethod != null ? paymentMethods.lookup(filter.paymentMethod) : 0;
+            if (categoryCode < 0 || subCategoryCode < 0 || paymentMethodCode < 0) {
+                return List.of();
+            }
+
+            GroupTable groups = new GroupTable();
+            for (int i = 0; i < size; i++) {
+                if (days[i] < fromDay || days[i] > toDay
+                        || (typeCode != 0 && types[i] != typeCode)
+                        || (categoryCode != 0 && categoryCodes[i] != categoryCode)
+                        || (subCategoryCode != 0 && subCategoryCodes[i] != subCategoryCode)
+                        || (paymentMethodCode != 0 && paymentMethodCodes[i] != paymentMethodCode)) {
+                    continue;
+                }
+                long key = 0;
+                for (Dimension dimension : dimensions) {
+                    key = (key << dimension.bits()) | code(dimension, i);
+                }
+                groups.add(key, cents[i], counts[i]);
+            }
+
+            List<Row> rows = new ArrayList<>(groups.size);
+            for (int g = 0; g < groups.size; g++) {
+                if (groups.counts[g] == 0 && groups.cents[g] == 0) {
+                    continue;
+                }
+                Object[] values = new Object[dimensions.length];
+                long key = groups.keys[g];
+                for (int d = dimensions.length - 1; d >= 0; d--) {
+                    int bits = dimensions[d].bits();
+                    values[d] = decode(dimensions[d], (int) (key & ((1L << bits) - 1)));
+                    key >>>= bits;
+                }
+                rows.add(new Row(values, groups.cents[g], groups.counts[g]));
+            }
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Rough retained size of the arrays and dictionaries
+    public Map<String, Object> footprint() {
+        lock.readLock().lock();
+        try {
+            long cellBytes = (long) days.length * (4 + 4 + 1 + 4 + 4 + 4 + 8 + 8);
+            long slotBytes = (long) slotKeys.length * (8 + 4);
+            long dictionaryBytes = categories.estimateBytes() + subCategories.estimateBytes() + paymentMethods.estimateBytes();
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("cells", size);
+            report.put("cellCapacity", days.length);
+            report.put("slotCapacity", slotKeys.length);
+            report.put("categories", categories.size());
+            report.put("subCategories", subCategories.size());
+            report.put("paymentMethods", paymentMethods.size());
+            report.put("cellBytes", cellBytes);
+            report.put("slotBytes", slotBytes);
+            report.put("dictionaryBytes", dictionaryBytes);
+            report.put("totalBytes", cellBytes + slotBytes + dictionaryBytes);
+            return report;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long code(Dimension dimension, int cell) {
+        return switch (dimension) {
+            case DAY -> days[cell] + DAY_OFFSET;
+            case MONTH -> months[cell];
+            case YEAR -> months[cell] / 12;
+            case TYPE -> types[cell];
+            case CATEGORY -> categoryCodes[cell];
+            case SUB_CATEGORY -> subCategoryCodes[cell];
+            case PAYMENT_METHOD -> paymentMethodCodes[cell];
+        };
+    }
+
+    private Object decode(Dimension dimension, int code) {
+        return switch (dimension) {
+            case DAY -> LocalDate.ofEpochDay(code - DAY_OFFSET);
+            case MONTH -> YearMonth.of(code / 12, code % 12 + 1);
+            case YEAR -> code;
+            case TYPE -> TransactionType.values()[code - 1];
+            case CATEGORY -> categories.decode(code);
+            case SUB_CATEGORY -> subCategories.decode(code);
+            case PAYMENT_METHOD -> paymentMethods.decode(code);
+        };
+    }
+
+    private long cellKey(int day, int type, int category, int subCategory, int paymentMethod) {
+        long key = day + DAY_OFFSET;
+        key = (key << TYPE_BITS) | type;
+        key = (key << CATEGORY_BITS) | category;
+        key = (key << SUB_CATEGORY_BITS) | subCategory;
+        return (key << PAYMENT_METHOD_BITS) | paymentMethod;
+    }
+
+    private int findCell(long key) {
+        int mask = slotKeys.length - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            int cell = slotCells[slot];
+            if (cell == 0) {
+                return -1;
+            }
+            if (slotKeys[slot] == key) {
+                return cell - 1;
+            }
+        }
+    }
+
+    private int addCell(long key, LocalDate date, int day, int type, int category, int subCategory, int paymentMethod) {
+        if (size == days.length) {
+            int capacity = size * 2;
+            days = Arrays.copyOf(days, capacity);
+            months = Arrays.copyOf(months, capacity);
+            types = Arrays.copyOf(types, capacity);
+            categoryCodes = Arrays.copyOf(categoryCodes, capacity);
+            subCategoryCodes = Arrays.copyOf(subCategoryCodes, capacity);
+            paymentMethodCodes = Arrays.copyOf(paymentMethodCodes, capacity);
+            cents = Arrays.copyOf(cents, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+        }
+        int cell = size++;
+        days[cell] = day;
+        months[cell] = date.getYear() * 12 + date.getMonthValue() - 1;
+        types[cell] = (byte) type;
+        categoryCodes[cell] = category;
+        subCategoryCodes[cell] = subCategory;
+        paymentMethodCodes[cell] = paymentMethod;
+
+        // Keep the slot table at most half full
+        if (size * 2 > slotKeys.length) {
+            rehash(slotKeys.length * 2);
+        }
+        insertSlot(key, cell);
+        return cell;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = slotKeys;
+        int[] oldCells = slotCells;
+        slotKeys = new long[capacity];
+        slotCells = new int[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCells[i] != 0) {
+                insertSlot(oldKeys[i], oldCells[i] - 1);
+            }
+        }
+    }
+
+    private void insertSlot(long key, int cell) {
+        int mask = slotKeys.length - 1;
+        int slot = mix(key) & mask;
+        while (slotCells[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slotKeys[slot] = key;
+        slotCells[slot] = cell + 1;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    public static final class Filter {
+        private LocalDate from;
+        private LocalDate to;
+        private TransactionType type;
+        private String category;
+        private String subCategory;
+        private String paymentMethod;
+
+        public Filter setFrom(LocalDate from) {
+            this.from = from;
+            return this;
+        }
+
+        public Filter setTo(LocalDate to) {
+            this.to = to;
+            return this;
+        }
+
+        public Filter setType(TransactionType type) {
+            this.type = type;
+            return this;
+        }
+
+        public Filter setCategory(String category) {
+            this.category = category;
+            return this;
+        }
+
+        public Filter setSubCategory(String subCategory) {
+            this.subCategory = subCategory;
+            return this;
+        }
+
+        public Filter setPaymentMethod(String paymentMethod) {
+            this.paymentMethod = paymentMethod;
+            return this;
+        }
+    }
+
+    public static final class Row {
+        private final Object[] values;
+        private final long amountCents;
+        private final long count;
+
+        private Row(Object[] values, long amountCents, long count) {
+            this.values = values;
+            this.amountCents = amountCents;
+            this.count = count;
+        }
+
+        // Decoded group values, in groupBy order
+        public Object getValue(int index) {
+            return values[index];
+        }
+
+        public long getAmountCents() {
+            return amountCents;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+
+    // String values to dense int codes; 0 is null and the top code collects any overflow
+    private static final class Dictionary {
+        private static final String OVERFLOW = "(other)";
+
+        private final int overflowCode;
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        private Dictionary(int bits) {
+            this.overflowCode = (1 << bits) - 1;
+            values.add(null);
+        }
+
+        private int encode(String value) {
+            if (value == null) {
+                return 0;
+            }
+            Integer code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            if (values.size() >= overflowCode) {
+                return overflowCode;
+            }
+            int next = values.size();
+            values.add(value);
+            codes.put(value, next);
+            return next;
+        }
+
+        // -1 when the value has never been seen
+        private int lookup(String value) {
+            Integer code = codes.get(value);
+            return code != null ? code : -1;
+        }
+
+        private String decode(int code) {
+            return code == overflowCode ? OVERFLOW : values.get(code);
+        }
+
+        private int size() {
+            return values.size() - 1;
+        }
+
+        private long estimateBytes() {
+            long bytes = 0;
+            for (String value : codes.keySet()) {
+                bytes += 40 + value.length() + 48;
+            }
+            return bytes;
+        }
+    }
+
+    // Per-query aggregation keyed by packed group codes, without boxing
+    private static final class GroupTable {
+        private long[] keys = new long[16];
+        private long[] cents = new long[16];
+        private long[] counts = new long[16];
+        private int size;
+
+        private long[] slotKeys = new long[32];
+        private int[] slotGroups = new int[32];
+
+        private void add(long key, long amountCents, long count) {
+            int mask = slotKeys.length - 1;
+            int slot = mix(key) & mask;
+            while (slotGroups[slot] != 0) {
+                if (slotKeys[slot] == key) {
+                    int group = slotGroups[slot] - 1;
+                    cents[group] += amountCents;
+                    counts[group] += count;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                cents = Arrays.copyOf(cents, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+            }
+            int group = size++;
+            keys[group] = key;
+            cents[group] = amountCents;
+            counts[group] = count;
+            slotKeys[slot] = key;
+            slotGroups[slot] = group + 1;
+            if (size * 2 > slotKeys.length) {
+                rehash();
+            }
+        }
+
+        private void rehash() {
+            slotKeys = new long[slotKeys.length * 2];
+            slotGroups = new int[slotGroups.length * 2];
+            int mask = slotKeys.length - 1;
+            for (int group = 0; group < size; group++) {
+                int slot = mix(keys[group]) & mask;
+                while (slotGroups[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slotKeys[slot] = keys[group];
+                slotGroups[slot] = group + 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.edusync.finance.cache;
+
+import com.edusync.finance.entity.Budget;
+import com.edusync.finance.entity.Budget.BudgetStatus;
+import com.edusync.finance.repository.BudgetRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Active budgets by category, each category's windows sorted by start date, so a transaction
+ * is matched to its budgets without a query. The whole index is an immutable snapshot that is
+ * swapped on reload: after budget writes commit, and periodically to pick up changes made by
+ * other instances. Until a periodic refresh picks such a change up, expenses written here miss
+ * the budget, so the refresh reports which budgets it newly indexed for recalculation.
+ */
+@Component
+public class BudgetIndex {
+
+    private final BudgetRepository budgetRepository;
+
+    private volatile Map<String, Window[]> windowsByCategory = Map.of();
+    // Guarded by this
+    private Set<Window> indexed;
+
+    @Autowired
+    public BudgetIndex(BudgetRepository budgetRepository) {
+        this.budgetRepository = budgetRepository;
+    }
+
+    // IDs of the active budgets in this category whose [startDate, endDate] contains date
+    public List<Long> match(String category, LocalDate date) {
+        Window[] windows = category != null ? windowsByCategory.get(category) : null;
+        if (windows == null || date == null) {
+            return List.of();
+        }
+        List<Long> matches = new ArrayList<>(2);
+        // Windows starting after the date cannot match; everything before it has to be checked
+        // because budgets of different periods overlap
+        for (int i = lastStartingOnOrBefore(windows, date); i >= 0; i--) {
+            if (!windows[i].endDate().isBefore(date)) {
+                matches.add(windows[i].budgetId());
+            }
+        }
+        return matches;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        refresh();
+    }
+
+    /**
+     * Rebuilds the index and returns the IDs of the budgets it did not hold before, or held with
+     * another category or window. The first load returns none: nothing was written here before it.
+     */
+    public synchronized List<Long> refresh() {
+        Map<String, List<Window>> grouped = new HashMap<>();
+        Set<Window> loaded = new HashSet<>();
+        List<Long> added = new ArrayList<>();
+        for (Budget budget : budgetRepository.findByStatus(BudgetStatus.ACTIVE)) {
+            Window window = new Window(budget.getId(), budget.getCategory(), budget.getStartDate(), budget.getEndDate());
+            grouped.computeIfAbsent(budget.getCategory(), key -> new ArrayList<>()).add(window);
+            loaded.add(window);
+            if (indexed != null && !indexed.contains(window)) {
+                added.add(budget.getId());
+            }
+        }
+        Map<String, Window[]> index = new HashMap<>();
+        grouped.forEach((category, windows) -> {
+            windows.sort(Comparator.comparing(Window::startDate));
+            index.put(category, windows.toArray(new Window[0]));
+        });
+        windowsByCategory = index;
+        indexed = loaded;
+        return added;
+    }
+
+    // Reloads once the surrounding transaction commits, or immediately when there is none
+    public void reloadAfterCommit() {
+        reloadAfterCommit(() -> { });
+    }
+
+    // As reloadAfterCommit(), running afterReload once the new index is in place
+    public void reloadAfterCommit(Runnable afterReload) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                    afterReload.run();
+                }
+            });
+        } else {
+            reload();
+            afterReload.run();
+        }
+    }
+
+    private static int lastStartingOnOrBefore(Window[] windows, LocalDate date) {
+        int low = 0;
+        int high = windows.length - 1;
+        int result = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (windows[mid].startDate().isAfter(date)) {
+                high = mid - 1;
+            } else {
+                result = mid;
+                low = mid + 1;
+            }
+        }
+        return result;
+    }
+
+    private record Window(Long budgetId, String category, LocalDate startDate, LocalDate endDate) {
+    }
+}
@@ -0,0 +1,137 @@
+package com.edusync.finance.cache;
+
+import com.edusync.finance.config.ReplicaRoutingDataSource;
+import com.edusync.finance.event.TransactionChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Holds the last computed finance dashboard snapshot. Writers bump the generation after
+ * their transaction commits; a snapshot loaded under an older generation is never served.
+ * The TTL only bounds staleness for writes that bypass the services (e.g. manual SQL).
+ */
+@Component
+public class FinanceStatsCache {
+
+    private final Duration ttl;
+    private final AtomicLong generation = new AtomicLong();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public FinanceStatsCache(
+            MeterRegistry meterRegistry,
+            @Value("${finance.stats.cache.ttl:PT5M}") Duration ttl) {
+        this.ttl = ttl;
+        this.hits = Counter.builder("finance.stats.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("finance.stats.cache").tag("result", "miss").register(meterRegistry);
+        this.invalidations = Counter.builder("finance.stats.cache.invalidations").register(meterRegistry);
+    }
+
+    public Map<String, Object> get(Supplier<Map<String, Object>> loader) {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            hits.increment();
+            return current.stats;
+        }
+
+        // Only one thread recomputes; concurrent dashboard polls wait for its result
+        loadLock.lock();
+        try {
+            current = snapshot;
+            if (isFresh(current)) {
+                hits.increment();
+                return current.stats;
+            }
+            misses.increment();
+            return load(loader);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    // Loads even over a fresh snapshot, for writes made through other instances, which never bump the generation here
+    public Map<String, Object> reload(Supplier<Map<String, Object>> loader) {
+        loadLock.lock();
+        try {
+            return load(loader);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    // Changes after every committed write or invalidation; compare two reads to detect new data
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChange(TransactionChangeEvent event) {
+        evict();
+    }
+
+    // Invalidates once the surrounding transaction commits, or immediately when there is none
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict();
+                }
+            });
+        } else {
+            evict();
+        }
+    }
+
+    // Caller holds loadLock
+    private Map<String, Object> load(Supplier<Map<String, Object>> loader) {
+        long loadGeneration = generation.get();
+        // From the primary: a lagging replica could return figures from before the write that
+        // bumped the generation, and they would be served as current until the TTL
+        Map<String, Object> stats = Collections.unmodifiableMap(ReplicaRoutingDataSource.onPrimary(loader));
+        snapshot = new Snapshot(stats, loadGeneration, System.nanoTime());
+        return stats;
+    }
+
+    private void evict() {
+        generation.incrementAndGet();
+        snapshot = null;
+        invalidations.increment();
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current != null
+            && current.generation == generation.get()
+            && System.nanoTime() - current.loadedAt < ttl.toNanos();
+    }
+
+    private static final class Snapshot {
+        private final Map<String, Object> stats;
+        private final long generation;
+        private final long loadedAt;
+
+        private Snapshot(Map<String, Object> stats, long generation, long loadedAt) {
+            this.stats = stats;
+            this.generation = generation;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
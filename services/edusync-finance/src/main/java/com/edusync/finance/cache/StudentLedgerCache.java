@@ -0,0 +1,185 @@
+package com.edusync.finance.cache;
+
+import com.edusync.finance.dto.LedgerSummary;
+import com.edusync.finance.event.TransactionChangeEvent;
+import com.edusync.finance.event.TransactionState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded LRU of per-student ledger summaries. A summary is stored under every form of the
+ * student's ID (numeric ID and student code), and evicting any form drops them all, since
+ * tuition fees and scholarships may use either form while transactions use the numeric one.
+ *
+ * Evictions are numbered, and each student ref remembers the number of its last one. A summary
+ * is not stored when any of its refs was evicted after its load began, so a load racing a
+ * write cannot put the pre-write figures back, while loads of other students are unaffected.
+ */
+@Component
+public class StudentLedgerCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final AtomicLong generation = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+    // Ref -> generation of its last eviction; bounded by forgetting all of them at once
+    private final Map<String, Long> evictedAt = new HashMap<>();
+    // Loads begun before this generation may have missed a forgotten eviction
+    private long forgottenThrough;
+    private final Counter hits;
+    private final Counter misses;
+
+    private final LinkedHashMap<String, Entry> entries;
+
+    @Autowired
+    public StudentLedgerCache(
+            MeterRegistry meterRegistry,
+            @Value("${finance.ledger-cache.max-size:10000}") int maxSize,
+            @Value("${finance.ledger-cache.ttl:PT10M}") Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > StudentLedgerCache.this.maxSize;
+            }
+        };
+        this.hits = Counter.builder("finance.ledger.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("finance.ledger.cache").tag("result", "miss").register(meterRegistry);
+    }
+
+    public LedgerSummary get(String studentRef) {
+        Entry entry;
+        lock.lock();
+        try {
+            entry = entries.get(studentRef);
+        } finally {
+            lock.unlock();
+        }
+        if (entry == null || System.nanoTime() - entry.expiresAt > 0) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.summary;
+    }
+
+    // Read before loading and pass to put()
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(LedgerSummary summary, long loadGeneration) {
+        List<String> aliases = aliases(summary);
+        Entry entry = new Entry(summary, aliases, System.nanoTime() + ttlNanos);
+        lock.lock();
+        try {
+            if (loadGeneration < forgottenThrough) {
+                return;
+            }
+            for (String alias : aliases) {
+                Long evicted = evictedAt.get(alias);
+                if (evicted != null && evicted > loadGeneration) {
+                    return;
+                }
+            }
+            for (String alias : aliases) {
+                entries.put(alias, entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChange(TransactionChangeEvent event) {
+        for (TransactionChangeEvent.Change change : event.getChanges()) {
+            evictStudent(change.getBefore());
+            evictStudent(change.getAfter());
+        }
+    }
+
+    // For tuition fee and scholarship writes; evicts once the surrounding transaction commits
+    public void invalidate(String... studentRefs) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    for (String studentRef : studentRefs) {
+                        evict(studentRef);
+                    }
+                }
+            });
+        } else {
+            for (String studentRef : studentRefs) {
+                evict(studentRef);
+            }
+        }
+    }
+
+    private void evictStudent(TransactionState state) {
+        if (state != null && state.getStudentId() != null) {
+            evict(state.getStudentId().toString());
+        }
+    }
+
+    private void evict(String studentRef) {
+        if (studentRef == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            long evicted = generation.incrementAndGet();
+            if (evictedAt.size() >= maxSize) {
+                evictedAt.clear();
+                forgottenThrough = evicted;
+            }
+            evictedAt.put(studentRef, evicted);
+            Entry entry = entries.remove(studentRef);
+            if (entry != null) {
+                for (String alias : entry.aliases) {
+                    entries.remove(alias);
+                    evictedAt.put(alias, evicted);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static List<String> aliases(LedgerSummary summary) {
+        if (summary.getStudentId() == null) {
+            return List.of(summary.getStudentCode());
+        }
+        if (summary.getStudentCode() == null) {
+            return List.of(summary.getStudentId().toString());
+        }
+        return List.of(summary.getStudentId().toString(), summary.getStudentCode());
+    }
+
+    private static final class Entry {
+        private final LedgerSummary summary;
+        private final List<String> aliases;
+        private final long expiresAt;
+
+        private Entry(LedgerSummary summary, List<String> aliases, long expiresAt) {
+            this.summary = summary;
+            this.aliases = aliases;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
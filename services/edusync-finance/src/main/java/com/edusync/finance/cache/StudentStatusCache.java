@@ -0,0 +1,133 @@
+package com.edusync.finance.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded LRU of student statuses fetched from the student service. Known students are kept for
+ * the TTL; unknown ones are cached too (status null) for a shorter negative TTL so repeated bad
+ * IDs do not each cost a remote call. Expired entries are kept until evicted so a caller can fall
+ * back to them when the student service is unreachable.
+ */
+@Component
+public class StudentStatusCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter hits;
+    private final Counter negativeHits;
+    private final Counter misses;
+
+    private final LinkedHashMap<Long, Entry> entries;
+
+    @Autowired
+    public StudentStatusCache(
+            MeterRegistry meterRegistry,
+            @Value("${finance.student-cache.max-size:10000}") int maxSize,
+            @Value("${finance.student-cache.ttl:PT1M}") Duration ttl,
+            @Value("${finance.student-cache.negative-ttl:PT15S}") Duration negativeTtl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > StudentStatusCache.this.maxSize;
+            }
+        };
+        this.hits = Counter.builder("finance.student.cache").tag("result", "hit").register(meterRegistry);
+        this.negativeHits = Counter.builder("finance.student.cache").tag("result", "negative-hit").register(meterRegistry);
+        this.misses = Counter.builder("finance.student.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("finance.student.cache.size", this, StudentStatusCache::size).register(meterRegistry);
+    }
+
+    // Fresh entry for the student, or null (and a miss is counted) when it must be fetched
+    public Entry getFresh(Long studentId) {
+        Entry entry;
+        lock.lock();
+        try {
+            entry = entries.get(studentId);
+        } finally {
+            lock.unlock();
+        }
+        if (entry == null || entry.isExpired()) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isFound()) {
+            hits.increment();
+        } else {
+            negativeHits.increment();
+        }
+        return entry;
+    }
+
+    // Last known entry regardless of age; only for use when a refresh has failed
+    public Entry getStale(Long studentId) {
+        lock.lock();
+        try {
+            return entries.get(studentId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // A null status records that the student does not exist
+    public Entry put(Long studentId, String status) {
+        long ttl = status != null ? ttlNanos : negativeTtlNanos;
+        Entry entry = new Entry(status, System.nanoTime() + ttl);
+        lock.lock();
+        try {
+            entries.put(studentId, entry);
+        } finally {
+            lock.unlock();
+        }
+        return entry;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public static final class Entry {
+        private final String status;
+        private final long expiresAt;
+
+        private Entry(String status, long expiresAt) {
+            this.status = status;
+            this.expiresAt = expiresAt;
+        }
+
+        public boolean isFound() {
+            return status != null;
+        }
+
+        public boolean isActive() {
+            return "ACTIVE".equals(status);
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - expiresAt > 0;
+        }
+    }
+}
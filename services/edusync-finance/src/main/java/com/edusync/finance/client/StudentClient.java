@@ -3,18 +3,77 @@ package com.edusync.finance.client;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 @FeignClient(name = "edusync-student", path = "/student")
 public interface StudentClient {
     
+    // Matches the student service's per-request limit
+    int MAX_BATCH_SIZE = 1000;
+    
     @GetMapping("/students/{id}")
     StudentResponse getStudentById(@PathVariable("id") Long id);
     
+    // Unknown IDs are left out of the response
+    @PostMapping("/students/batch-get")
+    List<StudentResponse> getStudentsBatch(@RequestBody BatchRequest request);
+    
+    @GetMapping("/stats")
+    Map<String, Object> getStudentStats();
+    
+    // Keyset page of students with the status, in id order after afterId
+    @GetMapping("/students/status/{status}/summaries")
+    List<StudentResponse> getStudentsByStatus(
+            @PathVariable("status") String status,
+            @RequestParam("afterId") long afterId,
+            @RequestParam("limit") int limit);
+    
+    class BatchRequest {
+        private List<Long> ids = new ArrayList<>();
+        private List<String> studentIds = new ArrayList<>();
+        
+        public static BatchRequest ofIds(Collection<Long> ids) {
+            BatchRequest request = new BatchRequest();
+            request.setIds(new ArrayList<>(ids));
+            return request;
+        }
+        
+        public static BatchRequest ofStudentIds(Collection<String> studentIds) {
+            BatchRequest request = new BatchRequest();
+            request.setStudentIds(new ArrayList<>(studentIds));
+            return request;
+        }
+        
+        public List<Long> getIds() {
+            return ids;
+        }
+        
+        public void setIds(List<Long> ids) {
+            this.ids = ids;
+        }
+        
+        public List<String> getStudentIds() {
+            return studentIds;
+        }
+        
+        public void setStudentIds(List<String> studentIds) {
+            this.studentIds = studentIds;
+        }
+    }
+    
     class StudentResponse {
         private Long id;
         private String studentId;
         private String firstName;
         private String lastName;
+        private String program;
         private String status;
         
         // Getters and Setters
@@ -50,6 +109,14 @@ public interface StudentClient {
             this.lastName = lastName;
         }
         
+        public String getProgram() {
+            return program;
+        }
+        
+        public void setProgram(String program) {
+            this.program = program;
+        }
+        
         public String getStatus() {
             return status;
         }
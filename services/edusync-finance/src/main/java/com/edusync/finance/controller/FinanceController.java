@@ -1,26 +1,71 @@
 package com.edusync.finance.controller;
 
+import com.edusync.finance.cache.AnalyticsCube;
+import com.edusync.finance.dto.ImportResult;
+import com.edusync.finance.dto.LedgerSummary;
+import com.edusync.finance.dto.PeriodSnapshot;
+import com.edusync.finance.dto.StatusTransitionRequest;
+import com.edusync.finance.dto.StatusTransitionResult;
+import com.edusync.finance.dto.StudentLedger;
+import com.edusync.finance.dto.TransactionCursor;
+import com.edusync.finance.dto.TransactionFilter;
+import com.edusync.finance.dto.TransactionPage;
+import com.edusync.finance.dto.TransactionSearchResult;
+import com.edusync.finance.dto.TuitionGenerationRequest;
+import com.edusync.finance.entity.FinancePeriod;
+import com.edusync.finance.entity.ReconciliationLine;
+import com.edusync.finance.entity.ReconciliationRun;
+import com.edusync.finance.entity.ReconciliationRun.StatementFormat;
 import com.edusync.finance.entity.Transaction;
 import com.edusync.finance.entity.Transaction.TransactionStatus;
 import com.edusync.finance.entity.Transaction.TransactionType;
 import com.edusync.finance.entity.Scholarship;
 import com.edusync.finance.entity.TuitionFee;
+import com.edusync.finance.entity.TuitionGenerationJob;
 import com.edusync.finance.entity.Budget;
 import com.edusync.finance.entity.Budget.BudgetStatus;
 import com.edusync.finance.service.TransactionService;
+import com.edusync.finance.service.AccountBalanceService;
+import com.edusync.finance.service.FinanceAnalyticsService;
 import com.edusync.finance.service.FinanceStatsService;
+import com.edusync.finance.service.FinanceStatsStreamService;
 import com.edusync.finance.service.ScholarshipService;
 import com.edusync.finance.service.TuitionFeeService;
+import com.edusync.finance.service.TuitionGenerationService;
 import com.edusync.finance.service.BudgetService;
+import com.edusync.finance.service.LedgerRollupService;
+import com.edusync.finance.service.PeriodCloseService;
+import com.edusync.finance.service.ReconciliationService;
+import com.edusync.finance.service.StatusTransitionService;
+import com.edusync.finance.service.StudentLedgerService;
+import com.edusync.finance.service.TransactionExportService;
+import com.edusync.finance.service.TransactionExportService.ExportFormat;
+import com.edusync.finance.service.TransactionImportService;
+import com.edusync.finance.service.TransactionImportService.ImportFormat;
+import com.edusync.finance.service.TransactionPartitionService;
+import com.edusync.finance.service.TransactionSearchService;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -28,11 +73,26 @@ import java.util.Map;
 @RequestMapping("/finance")
 public class FinanceController {
     
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
     private final TransactionService transactionService;
     private final FinanceStatsService financeStatsService;
+    private final FinanceStatsStreamService financeStatsStreamService;
     private final ScholarshipService scholarshipService;
     private final TuitionFeeService tuitionFeeService;
     private final BudgetService budgetService;
+    private final LedgerRollupService ledgerRollupService;
+    private final TransactionExportService transactionExportService;
+    private final TransactionImportService transactionImportService;
+    private final AccountBalanceService accountBalanceService;
+    private final FinanceAnalyticsService financeAnalyticsService;
+    private final StudentLedgerService studentLedgerService;
+    private final TuitionGenerationService tuitionGenerationService;
+    private final PeriodCloseService periodCloseService;
+    private final StatusTransitionService statusTransitionService;
+    private final TransactionSearchService transactionSearchService;
+    private final ReconciliationService reconciliationService;
+    private final TransactionPartitionService transactionPartitionService;
 
     @Autowired
     public FinanceController(
@@ -40,12 +100,38 @@ public class FinanceController {
             FinanceStatsService financeStatsService,
             ScholarshipService scholarshipService,
             TuitionFeeService tuitionFeeService,
-            BudgetService budgetService) {
+            BudgetService budgetService,
+            LedgerRollupService ledgerRollupService,
+            TransactionExportService transactionExportService,
+            TransactionImportService transactionImportService,
+            AccountBalanceService accountBalanceService,
+            FinanceAnalyticsService financeAnalyticsService,
+            StudentLedgerService studentLedgerService,
+            TuitionGenerationService tuitionGenerationService,
+            PeriodCloseService periodCloseService,
+            StatusTransitionService statusTransitionService,
+            TransactionSearchService transactionSearchService,
+            ReconciliationService reconciliationService,
+            TransactionPartitionService transactionPartitionService,
+            FinanceStatsStreamService financeStatsStreamService) {
         this.transactionService = transactionService;
         this.financeStatsService = financeStatsService;
         this.scholarshipService = scholarshipService;
         this.tuitionFeeService = tuitionFeeService;
         this.budgetService = budgetService;
+        this.ledgerRollupService = ledgerRollupService;
+        this.transactionExportService = transactionExportService;
+        this.transactionImportService = transactionImportService;
+        this.accountBalanceService = accountBalanceService;
+        this.financeAnalyticsService = financeAnalyticsService;
+        this.studentLedgerService = studentLedgerService;
+        this.tuitionGenerationService = tuitionGenerationService;
+        this.periodCloseService = periodCloseService;
+        this.statusTransitionService = statusTransitionService;
+        this.transactionSearchService = transactionSearchService;
+        this.reconciliationService = reconciliationService;
+        this.transactionPartitionService = transactionPartitionService;
+        this.financeStatsStreamService = financeStatsStreamService;
     }
     
     // Health check
@@ -60,10 +146,153 @@ public class FinanceController {
         return ResponseEntity.ok(financeStatsService.getFinanceStats());
     }
     
-    // Transaction endpoints
+    // Server-sent events: a "snapshot" with every figure, then a "delta" with the changed ones after writes
+    @GetMapping(value = "/stats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamFinanceStats() {
+        SseEmitter emitter = financeStatsStreamService.subscribe();
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+    
+    @GetMapping("/stats/categories/{type}")
+    public ResponseEntity<List<Map<String, Object>>> getCategoryBreakdown(@PathVariable TransactionType type) {
+        List<Map<String, Object>> breakdown = new ArrayList<>();
+        for (Object[] row : transactionService.getCategoryBreakdownByType(type)) {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("category", row[0]);
+            entry.put("total", row[1]);
+            breakdown.add(entry);
+        }
+        return ResponseEntity.ok(breakdown);
+    }
+    
+    @GetMapping("/stats/sum")
+    public ResponseEntity<Map<String, Object>> getTotalByTypeAndDateRange(
+            @RequestParam TransactionType type,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        BigDecimal total = transactionService.getTotalAmountByTypeAndDateRange(type, startDate, endDate);
+        Map<String, Object> result = new HashMap<>();
+        result.put("type", type);
+        result.put("startDate", startDate);
+        result.put("endDate", endDate);
+        result.put("total", total);
+        return ResponseEntity.ok(result);
+    }
+    
+    // Ledger rollup maintenance
+    @GetMapping("/rollups/verify")
+    public ResponseEntity<Map<String, Object>> verifyLedgerRollup() {
+        return ResponseEntity.ok(ledgerRollupService.verify());
+    }
+    
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildLedgerRollup() {
+        return ResponseEntity.ok(ledgerRollupService.rebuild());
+    }
+    
+    // Period close
+    @GetMapping("/periods")
+    public ResponseEntity<List<FinancePeriod>> getClosedPeriods() {
+        return ResponseEntity.ok(periodCloseService.getClosedPeriods());
+    }
+    
+    @GetMapping("/periods/{month}")
+    public ResponseEntity<PeriodSnapshot> getPeriodSnapshot(@PathVariable YearMonth month) {
+        return periodCloseService.getSnapshot(month)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
+    // Closes every open month up to and including the given one (yyyy-MM)
+    @PostMapping("/periods/close")
+    public ResponseEntity<List<FinancePeriod>> closePeriods(@RequestParam YearMonth through) {
+        try {
+            return ResponseEntity.ok(periodCloseService.closeThrough(through));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    @PostMapping("/periods/{month}/reopen")
+    public ResponseEntity<Void> reopenPeriod(@PathVariable YearMonth month) {
+        try {
+            periodCloseService.reopen(month);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    // Transaction partitions
+    @GetMapping("/partitions")
+    public ResponseEntity<List<Map<String, Object>>> getTransactionPartitions() {
+        return ResponseEntity.ok(transactionPartitionService.getPartitions());
+    }
+    
+    // Converts the plain table to month partitions; writers and readers wait until it commits
+    @PostMapping("/partitions/migrate")
+    public ResponseEntity<Map<String, Object>> partitionTransactions() {
+        try {
+            return ResponseEntity.ok(transactionPartitionService.partition());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    // Moves a year that is closed through December into one read-only archive partition
+    @PostMapping("/partitions/archive")
+    public ResponseEntity<Map<String, Object>> archiveYear(@RequestParam int year) {
+        try {
+            return ResponseEntity.ok(transactionPartitionService.archiveYear(year));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+        // Transaction endpoints
     @GetMapping("/transactions")
-    public ResponseEntity<List<Transaction>> getAllTransactions() {
-        return ResponseEntity.ok(transactionService.getAllTransactions());
+    public ResponseEntity<List<Transaction>> getAllTransactions(
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) TransactionStatus status,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long accountId,
+            @RequestParam(required = false) Long studentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TransactionService.DEFAULT_PAGE_SIZE) int limit) {
+        TransactionFilter filter = new TransactionFilter()
+            .setType(type)
+            .setStatus(status)
+            .setCategory(category)
+            .setStartDate(startDate)
+            .setEndDate(endDate)
+            .setAccountId(accountId)
+            .setStudentId(studentId);
+        return transactionPage(filter, cursor, limit);
+    }
+    
+    // Ranked free-text search over description, reference and notes; fuzzy=false turns off typo matching
+    @GetMapping("/transactions/search")
+    public ResponseEntity<TransactionSearchResult> searchTransactions(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "true") boolean fuzzy) {
+        try {
+            return ResponseEntity.ok(transactionSearchService.search(q, page, size, fuzzy));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     @GetMapping("/transactions/{id}")
@@ -74,36 +303,200 @@ public class FinanceController {
     }
     
     @GetMapping("/transactions/type/{type}")
-    public ResponseEntity<List<Transaction>> getTransactionsByType(@PathVariable TransactionType type) {
-        return ResponseEntity.ok(transactionService.getTransactionsByType(type));
+    public ResponseEntity<List<Transaction>> getTransactionsByType(
+            @PathVariable TransactionType type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TransactionService.DEFAULT_PAGE_SIZE) int limit) {
+        return transactionPage(new TransactionFilter().setType(type), cursor, limit);
     }
     
     @GetMapping("/transactions/status/{status}")
-    public ResponseEntity<List<Transaction>> getTransactionsByStatus(@PathVariable TransactionStatus status) {
-        return ResponseEntity.ok(transactionService.getTransactionsByStatus(status));
+    public ResponseEntity<List<Transaction>> getTransactionsByStatus(
+            @PathVariable TransactionStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TransactionService.DEFAULT_PAGE_SIZE) int limit) {
+        return transactionPage(new TransactionFilter().setStatus(status), cursor, limit);
     }
     
     @GetMapping("/transactions/category/{category}")
-    public ResponseEntity<List<Transaction>> getTransactionsByCategory(@PathVariable String category) {
-        return ResponseEntity.ok(transactionService.getTransactionsByCategory(category));
+    public ResponseEntity<List<Transaction>> getTransactionsByCategory(
+            @PathVariable String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TransactionService.DEFAULT_PAGE_SIZE) int limit) {
+        return transactionPage(new TransactionFilter().setCategory(category), cursor, limit);
     }
     
     @GetMapping("/transactions/date-range")
     public ResponseEntity<List<Transaction>> getTransactionsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        return ResponseEntity.ok(transactionService.getTransactionsByDateRange(startDate, endDate));
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TransactionService.DEFAULT_PAGE_SIZE) int limit) {
+        return transactionPage(new TransactionFilter().setStartDate(startDate).setEndDate(endDate), cursor, limit);
     }
     
     @GetMapping("/transactions/recent")
-    public ResponseEntity<List<Transaction>> getRecentTransactions() {
-        return ResponseEntity.ok(transactionService.getRecentTransactions());
+    public ResponseEntity<List<Transaction>> getRecentTransactions(
+            @RequestParam(defaultValue = "" + TransactionService.DEFAULT_RECENT_LIMIT) int limit) {
+        return ResponseEntity.ok(transactionService.getRecentTransactions(limit));
+    }
+    
+    // Streams every matching row as CSV or NDJSON without materialising the result set
+    @GetMapping("/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) TransactionStatus status,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long accountId,
+            @RequestParam(required = false) Long studentId,
+            @RequestParam(required = false) Long staffId) {
+        TransactionFilter filter = new TransactionFilter()
+            .setType(type)
+            .setStatus(status)
+            .setCategory(category)
+            .setStartDate(startDate)
+            .setEndDate(endDate)
+            .setAccountId(accountId)
+            .setStudentId(studentId)
+            .setStaffId(staffId);
+        
+        String filename = "transactions." + (format == ExportFormat.CSV ? "csv" : "ndjson") + (gzip ? ".gz" : "");
+        MediaType contentType = gzip
+            ? MediaType.parseMediaType("application/gzip")
+            : format == ExportFormat.CSV
+                ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+                : MediaType.parseMediaType("application/x-ndjson");
+        
+        StreamingResponseBody body = out -> transactionExportService.export(filter, format, gzip, out);
+        return ResponseEntity.ok()
+            .contentType(contentType)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+            .body(body);
+    }
+    
+    // Rows that fail validation are reported in the result; the rest of the file is still imported
+    @PostMapping(value = "/transactions/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportResult> importTransactions(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) ImportFormat format) {
+        ImportFormat resolved = format != null ? format : detectImportFormat(file.getOriginalFilename());
+        if (resolved == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(transactionImportService.importTransactions(in, resolved));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    private ImportFormat detectImportFormat(String filename) {
+        if (filename == null) {
+            return null;
+        }
+        String name = filename.toLowerCase();
+        if (name.endsWith(".csv")) {
+            return ImportFormat.CSV;
+        }
+        if (name.endsWith(".json") || name.endsWith(".ndjson")) {
+            return ImportFormat.JSON;
+        }
+        return null;
+    }
+
+    // Reconciles in the background; poll the run for progress, then page through its lines
+    @PostMapping(value = "/reconciliations", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ReconciliationRun> startReconciliation(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) StatementFormat format,
+            @RequestParam(required = false) Long accountId,
+            @RequestParam(required = false) Integer dateWindowDays) {
+        StatementFormat resolved = format != null ? format : detectStatementFormat(file.getOriginalFilename());
+        if (resolved == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(
+                reconciliationService.start(in, file.getOriginalFilename(), resolved, accountId, dateWindowDays));
+        } catch (IllegalArgumentException | IOException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @GetMapping("/reconciliations")
+    public ResponseEntity<List<ReconciliationRun>> getReconciliations() {
+        return ResponseEntity.ok(reconciliationService.getRuns());
+    }
+
+    @GetMapping("/reconciliations/{runId}")
+    public ResponseEntity<ReconciliationRun> getReconciliation(@PathVariable Long runId) {
+        return reconciliationService.getRun(runId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Keyset paging: pass the last line's position as after to get the next page
+    @GetMapping("/reconciliations/{runId}/lines")
+    public ResponseEntity<List<ReconciliationLine>> getReconciliationLines(
+            @PathVariable Long runId,
+            @RequestParam(required = false) ReconciliationLine.Outcome outcome,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return ResponseEntity.ok(reconciliationService.getLines(runId, outcome, after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    private StatementFormat detectStatementFormat(String filename) {
+        if (filename == null) {
+            return null;
+        }
+        String name = filename.toLowerCase();
+        if (name.endsWith(".csv")) {
+            return StatementFormat.CSV;
+        }
+        if (name.endsWith(".ofx") || name.endsWith(".qfx")) {
+            return StatementFormat.OFX;
+        }
+        return null;
+    }
+    
+    // Body stays a plain array; the cursor for the following page travels in X-Next-Cursor
+    private ResponseEntity<List<Transaction>> transactionPage(TransactionFilter filter, String cursor, int limit) {
+        TransactionPage page;
+        try {
+            TransactionCursor position = cursor != null && !cursor.isEmpty() ? TransactionCursor.decode(cursor) : null;
+            page = transactionService.getTransactionPage(filter, position, limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasMore()) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor().encode());
+        }
+        return response.body(page.getItems());
     }
     
     @PostMapping("/transactions")
     public ResponseEntity<Transaction> createTransaction(@Valid @RequestBody Transaction transaction) {
-        Transaction created = transactionService.createTransaction(transaction);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        try {
+            Transaction created = transactionService.createTransaction(transaction);
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        } catch (IllegalStateException e) {
+            // Dated in a closed period
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
     }
     
     @PutMapping("/transactions/{id}")
@@ -113,6 +506,9 @@ public class FinanceController {
         try {
             Transaction updated = transactionService.updateTransaction(id, transaction);
             return ResponseEntity.ok(updated);
+        } catch (IllegalStateException | OptimisticLockingFailureException | OptimisticLockException e) {
+            // Closed period, or the transaction changed since the caller read it
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -121,25 +517,121 @@ public class FinanceController {
     @PutMapping("/transactions/{id}/status")
     public ResponseEntity<Transaction> updateTransactionStatus(
             @PathVariable @NonNull Long id,
-            @RequestParam TransactionStatus status) {
+            @RequestParam TransactionStatus status,
+            @RequestParam(required = false) Long version) {
         try {
-            Transaction updated = transactionService.updateTransactionStatus(id, status);
+            Transaction updated = transactionService.updateTransactionStatus(id, status, version);
             return ResponseEntity.ok(updated);
+        } catch (IllegalStateException | OptimisticLockingFailureException | OptimisticLockException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
     
+    // Moves many transactions between statuses in one statement; see StatusTransitionRequest
+    @PostMapping("/transactions/status-transitions")
+    public ResponseEntity<StatusTransitionResult> transitionStatuses(@RequestBody StatusTransitionRequest request) {
+        try {
+            return ResponseEntity.ok(statusTransitionService.transition(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
     @DeleteMapping("/transactions/{id}")
     public ResponseEntity<Void> deleteTransaction(@PathVariable @NonNull Long id) {
         try {
             transactionService.deleteTransaction(id);
             return ResponseEntity.noContent().build();
+        } catch (IllegalStateException | OptimisticLockingFailureException | OptimisticLockException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    // ============ ACCOUNT ENDPOINTS ============
+
+    // Current balance, kept up to date by completed transactions
+    @GetMapping("/accounts/{id}/balance")
+    public ResponseEntity<Map<String, Object>> getAccountBalance(@PathVariable Long id) {
+        return accountBalanceService.getBalance(id)
+            .map(balance -> {
+                Map<String, Object> body = new HashMap<>();
+                body.put("accountId", id);
+                body.put("balance", balance);
+                return ResponseEntity.ok(body);
+            })
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    // ============ STUDENT LEDGER ENDPOINTS ============
+
+    // studentRef may be the numeric student ID or the student code
+    @GetMapping("/students/{studentRef}/ledger")
+    public ResponseEntity<StudentLedger> getStudentLedger(@PathVariable String studentRef) {
+        return studentLedgerService.getLedger(studentRef)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/students/{studentRef}/ledger/summary")
+    public ResponseEntity<LedgerSummary> getStudentLedgerSummary(@PathVariable String studentRef) {
+        return studentLedgerService.getSummary(studentRef)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/ledgers")
+    public ResponseEntity<List<LedgerSummary>> getLedgerSummariesForAcademicYear(@RequestParam String academicYear) {
+        return ResponseEntity.ok(studentLedgerService.getSummariesForAcademicYear(academicYear));
+    }
+
+    // ============ ANALYTICS ENDPOINTS ============
+
+    // Completed transactions summed by any mix of dimensions, e.g. ?groupBy=month,category&type=EXPENSE
+    @GetMapping("/analytics")
+    public ResponseEntity<List<Map<String, Object>>> getAnalytics(
+            @RequestParam(required = false) List<String> groupBy,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String subCategory,
+            @RequestParam(required = false) String paymentMethod,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        try {
+            List<AnalyticsCube.Dimension> dimensions = new ArrayList<>();
+            if (groupBy != null) {
+                for (String name : groupBy) {
+                    dimensions.add(AnalyticsCube.Dimension.parse(name));
+                }
+            }
+            AnalyticsCube.Filter filter = new AnalyticsCube.Filter()
+                .setType(type)
+                .setCategory(category)
+                .setSubCategory(subCategory)
+                .setPaymentMethod(paymentMethod)
+                .setFrom(startDate)
+                .setTo(endDate);
+            return ResponseEntity.ok(financeAnalyticsService.query(filter, dimensions));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/analytics/footprint")
+    public ResponseEntity<Map<String, Object>> getAnalyticsFootprint() {
+        return ResponseEntity.ok(financeAnalyticsService.footprint());
+    }
+
+    @PostMapping("/analytics/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildAnalytics() {
+        return ResponseEntity.ok(financeAnalyticsService.rebuild());
+    }
+
     // ============ SCHOLARSHIP ENDPOINTS ============
 
     @GetMapping("/scholarships")
@@ -194,6 +686,41 @@ public class FinanceController {
         return ResponseEntity.ok(tuitionFeeService.getAllTuitionFees());
     }
 
+    // Bulk generation for an academic year; runs in the background, poll the job for progress
+    @PostMapping("/tuition-fees/generation")
+    public ResponseEntity<TuitionGenerationJob> startTuitionGeneration(@RequestBody TuitionGenerationRequest request) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(tuitionGenerationService.start(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @GetMapping("/tuition-fees/generation")
+    public ResponseEntity<List<TuitionGenerationJob>> getTuitionGenerationJobs() {
+        return ResponseEntity.ok(tuitionGenerationService.getJobs());
+    }
+
+    @GetMapping("/tuition-fees/generation/{jobId}")
+    public ResponseEntity<TuitionGenerationJob> getTuitionGenerationJob(@PathVariable Long jobId) {
+        return tuitionGenerationService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/tuition-fees/generation/{jobId}/resume")
+    public ResponseEntity<TuitionGenerationJob> resumeTuitionGeneration(@PathVariable Long jobId) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(tuitionGenerationService.resume(jobId));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @GetMapping("/tuition-fees/{id}")
     public ResponseEntity<TuitionFee> getTuitionFeeById(@PathVariable Long id) {
         return tuitionFeeService.getTuitionFeeById(id)
@@ -245,6 +772,17 @@ public class FinanceController {
         return ResponseEntity.ok(budgetService.getAllBudgets());
     }
 
+    // Utilisation of every active budget from the maintained spent column; no transaction scan
+    @GetMapping("/budgets/utilisation")
+    public ResponseEntity<List<Budget>> getBudgetUtilisation() {
+        return ResponseEntity.ok(budgetService.getActiveBudgetUtilisation());
+    }
+
+    @PostMapping("/budgets/recalculate")
+    public ResponseEntity<Map<String, Object>> recalculateBudgets() {
+        return ResponseEntity.ok(Map.of("budgets", budgetService.recalculateAll()));
+    }
+
     @GetMapping("/budgets/{id}")
     public ResponseEntity<Budget> getBudgetById(@PathVariable Long id) {
         return budgetService.getBudgetById(id)
@@ -0,0 +1,30 @@
+package com.edusync.finance.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Every figure behind the finance dashboard, produced by a single aggregate query.
+ * Sums are null when no rows match.
+ */
+public interface FinanceTotals {
+
+    BigDecimal getTotalRevenue();
+
+    BigDecimal getMonthlyRevenue();
+
+    BigDecimal getPreviousMonthRevenue();
+
+    BigDecimal getTotalExpenses();
+
+    BigDecimal getMonthlyExpenses();
+
+    BigDecimal getPreviousMonthExpenses();
+
+    Long getTotalTransactions();
+
+    BigDecimal getTotalBalance();
+
+    Long getTotalAccounts();
+
+    Long getActiveBudgets();
+}
@@ -0,0 +1,86 @@
+package com.edusync.finance.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outcome of a bulk transaction import; only the first MAX_REPORTED_ERRORS row errors are listed
+public class ImportResult {
+
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private long elapsedMillis;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public void addImported(long count) {
+        this.totalRows += count;
+        this.imported += count;
+    }
+
+    public void addError(long row, String transactionId, String message) {
+        totalRows++;
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(row, transactionId, message));
+        }
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getRowsPerSecond() {
+        return elapsedMillis > 0 ? totalRows * 1000 / elapsedMillis : totalRows;
+    }
+
+    public boolean isErrorsTruncated() {
+        return failed > errors.size();
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    // row is the CSV line number, or the 1-based element index for JSON input
+    public static class RowError {
+        private final long row;
+        private final String transactionId;
+        private final String message;
+
+        public RowError(long row, String transactionId, String message) {
+            this.row = row;
+            this.transactionId = transactionId;
+            this.message = message;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public String getTransactionId() {
+            return transactionId;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.edusync.finance.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * What a student owes: active tuition less active scholarships less completed payments
+ * (refunds paid out to the student count against payments). Either ID may be null when the
+ * student service could not resolve the other form.
+ */
+public class LedgerSummary {
+
+    private final Long studentId;
+    private final String studentCode;
+    private final BigDecimal totalTuition;
+    private final BigDecimal totalScholarships;
+    private final BigDecimal totalPayments;
+
+    public LedgerSummary(Long studentId, String studentCode, BigDecimal totalTuition,
+                         BigDecimal totalScholarships, BigDecimal totalPayments) {
+        this.studentId = studentId;
+        this.studentCode = studentCode;
+        this.totalTuition = totalTuition;
+        this.totalScholarships = totalScholarships;
+        this.totalPayments = totalPayments;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public String getStudentCode() {
+        return studentCode;
+    }
+
+    public BigDecimal getTotalTuition() {
+        return totalTuition;
+    }
+
+    public BigDecimal getTotalScholarships() {
+        return totalScholarships;
+    }
+
+    public BigDecimal getTotalPayments() {
+        return totalPayments;
+    }
+
+    public BigDecimal getBalance() {
+        return totalTuition.subtract(totalScholarships).subtract(totalPayments);
+    }
+}
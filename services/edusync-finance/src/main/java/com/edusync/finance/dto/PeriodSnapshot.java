@@ -0,0 +1,33 @@
+package com.edusync.finance.dto;
+
+import com.edusync.finance.entity.FinancePeriod;
+import com.edusync.finance.entity.PeriodAccountTotal;
+import com.edusync.finance.entity.PeriodCategoryTotal;
+
+import java.util.List;
+
+// Everything frozen for one closed month: its totals and the per-category and per-account breakdowns
+public class PeriodSnapshot {
+
+    private final FinancePeriod period;
+    private final List<PeriodCategoryTotal> categories;
+    private final List<PeriodAccountTotal> accounts;
+
+    public PeriodSnapshot(FinancePeriod period, List<PeriodCategoryTotal> categories, List<PeriodAccountTotal> accounts) {
+        this.period = period;
+        this.categories = categories;
+        this.accounts = accounts;
+    }
+
+    public FinancePeriod getPeriod() {
+        return period;
+    }
+
+    public List<PeriodCategoryTotal> getCategories() {
+        return categories;
+    }
+
+    public List<PeriodAccountTotal> getAccounts() {
+        return accounts;
+    }
+}
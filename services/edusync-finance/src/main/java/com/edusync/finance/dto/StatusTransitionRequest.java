@@ -0,0 +1,114 @@
+package com.edusync.finance.dto;
+
+import com.edusync.finance.entity.Transaction.TransactionStatus;
+import com.edusync.finance.entity.Transaction.TransactionType;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves transactions from one status to another. Targets are either the listed ids, or
+ * every transaction in {@code from} matching the filter fields (oldest id first, at most
+ * {@code limit}). Expected versions are optional; an id whose version has moved on is
+ * reported as a conflict instead of being updated.
+ */
+public class StatusTransitionRequest {
+
+    private TransactionStatus from;
+    private TransactionStatus to;
+
+    private List<Long> ids;
+    private Map<Long, Long> versions;
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Long accountId;
+    private TransactionType type;
+    private String category;
+    private Integer limit;
+
+    public TransactionStatus getFrom() {
+        return from;
+    }
+
+    public void setFrom(TransactionStatus from) {
+        this.from = from;
+    }
+
+    public TransactionStatus getTo() {
+        return to;
+    }
+
+    public void setTo(TransactionStatus to) {
+        this.to = to;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public Map<Long, Long> getVersions() {
+        return versions;
+    }
+
+    public void setVersions(Map<Long, Long> versions) {
+        this.versions = versions;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public void setType(TransactionType type) {
+        this.type = type;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public boolean hasFilter() {
+        return startDate != null || endDate != null || accountId != null || type != null || category != null;
+    }
+}
@@ -0,0 +1,105 @@
+package com.edusync.finance.dto;
+
+import com.edusync.finance.entity.Transaction.TransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Per-id outcome of a bulk status transition; filter-based runs only list the ids they updated
+public class StatusTransitionResult {
+
+    public enum Outcome {
+        UPDATED, NOT_FOUND, STATUS_MISMATCH, VERSION_CONFLICT, PERIOD_CLOSED
+    }
+
+    private final TransactionStatus from;
+    private final TransactionStatus to;
+    private final List<Item> items = new ArrayList<>();
+    private long updated;
+    private boolean hasMore;
+    private long elapsedMillis;
+
+    public StatusTransitionResult(TransactionStatus from, TransactionStatus to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    public void add(Item item) {
+        items.add(item);
+        if (item.getOutcome() == Outcome.UPDATED) {
+            updated++;
+        }
+    }
+
+    public TransactionStatus getFrom() {
+        return from;
+    }
+
+    public TransactionStatus getTo() {
+        return to;
+    }
+
+    public long getRequested() {
+        return items.size();
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public long getSkipped() {
+        return items.size() - updated;
+    }
+
+    // Filter-based runs stop at the limit; more matching transactions may remain in the from status
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public static class Item {
+        private final Long id;
+        private final Outcome outcome;
+        private final TransactionStatus status;
+        private final Long version;
+
+        public Item(Long id, Outcome outcome, TransactionStatus status, Long version) {
+            this.id = id;
+            this.outcome = outcome;
+            this.status = status;
+            this.version = version;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        // Status and version after the call; null when the transaction does not exist
+        public TransactionStatus getStatus() {
+            return status;
+        }
+
+        public Long getVersion() {
+            return version;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.edusync.finance.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A student's tuition fees, scholarships and transactions in date order, with the summary
+ * computed from the same rows.
+ */
+public class StudentLedger {
+
+    public enum Source {
+        TUITION, SCHOLARSHIP, PAYMENT, REFUND
+    }
+
+    private final LedgerSummary summary;
+    private final List<Entry> entries;
+
+    public StudentLedger(LedgerSummary summary, List<Entry> entries) {
+        this.summary = summary;
+        this.entries = entries;
+    }
+
+    public LedgerSummary getSummary() {
+        return summary;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    public static class Entry {
+        private final Source source;
+        private final Long id;
+        // Academic year for tuition and scholarships, transaction ID for payments and refunds
+        private final String reference;
+        private final LocalDate date;
+        private final String description;
+        private final BigDecimal amount;
+        private final String status;
+
+        public Entry(Source source, Long id, String reference, LocalDate date, String description,
+                     BigDecimal amount, String status) {
+            this.source = source;
+            this.id = id;
+            this.reference = reference;
+            this.date = date;
+            this.description = description;
+            this.amount = amount;
+            this.status = status;
+        }
+
+        public Source getSource() {
+            return source;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getReference() {
+            return reference;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.edusync.finance.dto;
+
+import com.edusync.finance.entity.Transaction.TransactionStatus;
+import com.edusync.finance.entity.Transaction.TransactionType;
+
+import java.time.LocalDate;
+
+// Optional criteria shared by the transaction listing and export endpoints; null fields are ignored
+public class TransactionFilter {
+
+    private TransactionType type;
+    private TransactionStatus status;
+    private String category;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Long accountId;
+    private Long studentId;
+    private Long staffId;
+
+    public TransactionFilter() {}
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public TransactionFilter setType(TransactionType type) {
+        this.type = type;
+        return this;
+    }
+
+    public TransactionStatus getStatus() {
+        return status;
+    }
+
+    public TransactionFilter setStatus(TransactionStatus status) {
+        this.status = status;
+        return this;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public TransactionFilter setCategory(String category) {
+        this.category = category;
+        return this;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public TransactionFilter setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+        return this;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public TransactionFilter setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+        return this;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public TransactionFilter setAccountId(Long accountId) {
+        this.accountId = accountId;
+        return this;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public TransactionFilter setStudentId(Long studentId) {
+        this.studentId = studentId;
+        return this;
+    }
+
+    public Long getStaffId() {
+        return staffId;
+    }
+
+    public TransactionFilter setStaffId(Long staffId) {
+        this.staffId = staffId;
+        return this;
+    }
+}
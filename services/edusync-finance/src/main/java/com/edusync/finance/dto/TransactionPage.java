@@ -0,0 +1,29 @@
+package com.edusync.finance.dto;
+
+import com.edusync.finance.entity.Transaction;
+
+import java.util.List;
+
+public class TransactionPage {
+
+    private final List<Transaction> items;
+    private final TransactionCursor nextCursor;
+
+    public TransactionPage(List<Transaction> items, TransactionCursor nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Transaction> getItems() {
+        return items;
+    }
+
+    // Null on the last page
+    public TransactionCursor getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
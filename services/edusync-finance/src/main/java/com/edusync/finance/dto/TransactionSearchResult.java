@@ -0,0 +1,97 @@
+package com.edusync.finance.dto;
+
+import com.edusync.finance.entity.Transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// One page of search hits, best match first; fuzzy means nothing contained the query and similar words matched instead
+public class TransactionSearchResult {
+
+    private final String query;
+    private final int page;
+    private final int size;
+    private final List<Hit> hits = new ArrayList<>();
+    private boolean hasMore;
+    private boolean fuzzy;
+    private boolean timedOut;
+    private long elapsedMillis;
+
+    public TransactionSearchResult(String query, int page, int size) {
+        this.query = query;
+        this.page = page;
+        this.size = size;
+    }
+
+    public void add(Hit hit) {
+        hits.add(hit);
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public List<Hit> getHits() {
+        return hits;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public boolean isFuzzy() {
+        return fuzzy;
+    }
+
+    public void setFuzzy(boolean fuzzy) {
+        this.fuzzy = fuzzy;
+    }
+
+    // The query hit finance.search.timeout and came back empty; a more specific query will do better
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    public void setTimedOut(boolean timedOut) {
+        this.timedOut = timedOut;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public static class Hit {
+        private final Transaction transaction;
+        private final double score;
+
+        public Hit(Transaction transaction, double score) {
+            this.transaction = transaction;
+            this.score = score;
+        }
+
+        public Transaction getTransaction() {
+            return transaction;
+        }
+
+        // Word similarity between the query and the matched text, 0 to 1
+        public double getScore() {
+            return score;
+        }
+    }
+}
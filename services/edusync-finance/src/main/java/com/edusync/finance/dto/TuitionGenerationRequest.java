@@ -0,0 +1,80 @@
+package com.edusync.finance.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Academic year to bill plus the fee schedule per program; students in programs without a schedule are skipped
+public class TuitionGenerationRequest {
+
+    private String academicYear;
+    private String paymentPlan;
+    private Map<String, FeeSchedule> schedules = new LinkedHashMap<>();
+
+    public String getAcademicYear() {
+        return academicYear;
+    }
+
+    public void setAcademicYear(String academicYear) {
+        this.academicYear = academicYear;
+    }
+
+    public String getPaymentPlan() {
+        return paymentPlan;
+    }
+
+    public void setPaymentPlan(String paymentPlan) {
+        this.paymentPlan = paymentPlan;
+    }
+
+    public Map<String, FeeSchedule> getSchedules() {
+        return schedules;
+    }
+
+    public void setSchedules(Map<String, FeeSchedule> schedules) {
+        this.schedules = schedules;
+    }
+
+    public static class FeeSchedule {
+        private BigDecimal baseTuition;
+        private BigDecimal additionalFees = BigDecimal.ZERO;
+        private BigDecimal discountAmount = BigDecimal.ZERO;
+
+        public BigDecimal getBaseTuition() {
+            return baseTuition;
+        }
+
+        public void setBaseTuition(BigDecimal baseTuition) {
+            this.baseTuition = baseTuition;
+        }
+
+        public BigDecimal getAdditionalFees() {
+            return additionalFees;
+        }
+
+        public void setAdditionalFees(BigDecimal additionalFees) {
+            this.additionalFees = additionalFees;
+        }
+
+        public BigDecimal getDiscountAmount() {
+            return discountAmount;
+        }
+
+        public void setDiscountAmount(BigDecimal discountAmount) {
+            this.discountAmount = discountAmount;
+        }
+
+        // Same arithmetic as TuitionFee.calculateAmounts
+        @JsonIgnore
+        public BigDecimal getTotalAmount() {
+            return baseTuition.add(additionalFees != null ? additionalFees : BigDecimal.ZERO);
+        }
+
+        @JsonIgnore
+        public BigDecimal getNetAmount() {
+            return getTotalAmount().subtract(discountAmount != null ? discountAmount : BigDecimal.ZERO);
+        }
+    }
+}
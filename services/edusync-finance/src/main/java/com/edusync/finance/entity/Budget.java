@@ -28,8 +28,9 @@ public class Budget {
     @Column(name = "amount", nullable = false, precision = 15, scale = 2)
     private BigDecimal amount;
     
+    // Maintained by BudgetTrackingService with in-place increments; never written back from the entity
     @NotNull(message = "Spent amount is required")
-    @Column(name = "spent", nullable = false, precision = 15, scale = 2)
+    @Column(name = "spent", nullable = false, precision = 15, scale = 2, updatable = false)
     private BigDecimal spent = BigDecimal.ZERO;
     
     @NotNull(message = "Period is required")
@@ -56,6 +57,10 @@ public class Budget {
     @Column(name = "alert_threshold")
     private Integer alertThreshold = 80; // Alert when 80% spent
     
+    // Set when spending crosses alertThreshold, cleared if it drops back below
+    @Column(name = "alert_triggered_at", insertable = false, updatable = false)
+    private LocalDateTime alertTriggeredAt;
+    
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
@@ -189,6 +194,14 @@ public class Budget {
         this.alertThreshold = alertThreshold;
     }
     
+    public LocalDateTime getAlertTriggeredAt() {
+        return alertTriggeredAt;
+    }
+    
+    public void setAlertTriggeredAt(LocalDateTime alertTriggeredAt) {
+        this.alertTriggeredAt = alertTriggeredAt;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
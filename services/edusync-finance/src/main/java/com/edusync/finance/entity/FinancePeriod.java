@@ -0,0 +1,76 @@
+package com.edusync.finance.entity;
+
+import com.edusync.finance.util.Money;
+import com.edusync.finance.util.MoneyConverter;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A closed accounting month. Transactions dated in it can no longer be created, edited or
+ * deleted, and its figures are frozen in PeriodCategoryTotal and PeriodAccountTotal.
+ * Rows are written by PeriodCloseService in SQL and never updated.
+ */
+@Entity
+@Immutable
+@Table(name = "finance_periods")
+public class FinancePeriod {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // First day of the month
+    @Column(name = "period_month", nullable = false, unique = true)
+    private LocalDate periodMonth;
+
+    // Completed income and expenses of the month
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "revenue", nullable = false, precision = 19, scale = 2)
+    private Money revenue = Money.zero();
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "expenses", nullable = false, precision = 19, scale = 2)
+    private Money expenses = Money.zero();
+
+    // Transactions of every status dated in the month
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    @Column(name = "closed_at", nullable = false)
+    private LocalDateTime closedAt;
+
+    // Constructors
+    public FinancePeriod() {}
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getPeriodMonth() {
+        return periodMonth;
+    }
+
+    public Money getRevenue() {
+        return revenue;
+    }
+
+    public Money getExpenses() {
+        return expenses;
+    }
+
+    public Money getNetProfit() {
+        return revenue.minus(expenses);
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public LocalDateTime getClosedAt() {
+        return closedAt;
+    }
+}
@@ -0,0 +1,67 @@
+package com.edusync.finance.entity;
+
+import com.edusync.finance.entity.Transaction.TransactionType;
+import com.edusync.finance.util.Money;
+import com.edusync.finance.util.MoneyConverter;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+
+// Frozen completed totals of a closed month per account and type; a null account covers unassigned transactions
+@Entity
+@Immutable
+@Table(name = "finance_period_account_totals", indexes = {
+    @Index(name = "idx_period_account_total_month", columnList = "period_month, account_id")
+})
+public class PeriodAccountTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "period_month", nullable = false)
+    private LocalDate periodMonth;
+
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private TransactionType type;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private Money totalAmount;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    // Constructors
+    public PeriodAccountTotal() {}
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getPeriodMonth() {
+        return periodMonth;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public Money getTotalAmount() {
+        return totalAmount;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+}
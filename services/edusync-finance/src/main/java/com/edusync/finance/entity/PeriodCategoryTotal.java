@@ -0,0 +1,80 @@
+package com.edusync.finance.entity;
+
+import com.edusync.finance.entity.Transaction.TransactionStatus;
+import com.edusync.finance.entity.Transaction.TransactionType;
+import com.edusync.finance.util.Money;
+import com.edusync.finance.util.MoneyConverter;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+
+// Frozen totals of a closed month per (type, category, status); same grain as LedgerRollup
+@Entity
+@Immutable
+@Table(
+    name = "finance_period_category_totals",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_period_category_total_key",
+        columnNames = {"period_month", "type", "category", "status"}
+    )
+)
+public class PeriodCategoryTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "period_month", nullable = false)
+    private LocalDate periodMonth;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private TransactionType type;
+
+    @Column(name = "category", nullable = false)
+    private String category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private TransactionStatus status;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private Money totalAmount;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    // Constructors
+    public PeriodCategoryTotal() {}
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getPeriodMonth() {
+        return periodMonth;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public TransactionStatus getStatus() {
+        return status;
+    }
+
+    public Money getTotalAmount() {
+        return totalAmount;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+}
@@ -0,0 +1,156 @@
+package com.edusync.finance.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// One statement line and what it was reconciled to; written in JDBC batches, read through JPA
+@Entity
+@Table(name = "finance_reconciliation_lines", indexes = {
+    @Index(name = "idx_reconciliation_lines_run", columnList = "run_id, position")
+})
+public class ReconciliationLine {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    // Line number in a CSV statement, transaction number in an OFX one
+    @Column(name = "position", nullable = false)
+    private long position;
+
+    @Column(name = "date")
+    private LocalDate date;
+
+    // Signed as on the statement: money in is positive
+    @Column(name = "amount", precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "reference")
+    private String reference;
+
+    @Column(name = "description", length = 1000)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "outcome", nullable = false, length = 20)
+    private Outcome outcome;
+
+    // Primary key of the matched or suggested transaction
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    // 0 to 1; reference similarity weighs more than date distance
+    @Column(name = "score")
+    private Double score;
+
+    @Column(name = "error")
+    private String error;
+
+    // Enums
+    public enum Outcome {
+        // Amount, date window and reference agree
+        MATCHED,
+        // Amount and date window agree but the reference does not confirm it
+        SUGGESTED,
+        UNMATCHED,
+        // The line could not be parsed
+        INVALID
+    }
+
+    // Constructors
+    public ReconciliationLine() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getRunId() {
+        return runId;
+    }
+
+    public void setRunId(Long runId) {
+        this.runId = runId;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public void setPosition(long position) {
+        this.position = position;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(Outcome outcome) {
+        this.outcome = outcome;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(Long transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public Double getScore() {
+        return score;
+    }
+
+    public void setScore(Double score) {
+        this.score = score;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,291 @@
+package com.edusync.finance.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// One bank statement reconciled against the transactions table; counters fill in as the run moves through its phases
+@Entity
+@Table(name = "finance_reconciliation_runs")
+public class ReconciliationRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", nullable = false, length = 10)
+    private StatementFormat format;
+
+    // Only transactions on this account are candidates when set
+    @Column(name = "account_id")
+    private Long accountId;
+
+    // A statement line and a transaction may be this many days apart
+    @Column(name = "date_window_days", nullable = false)
+    private int dateWindowDays;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private RunStatus status = RunStatus.RUNNING;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "phase", nullable = false, length = 20)
+    private Phase phase = Phase.PARSING;
+
+    @Column(name = "total_lines", nullable = false)
+    private long totalLines;
+
+    @Column(name = "invalid_lines", nullable = false)
+    private long invalidLines;
+
+    // Transactions in the statement's date range that lines were compared against
+    @Column(name = "candidates", nullable = false)
+    private long candidates;
+
+    @Column(name = "matched", nullable = false)
+    private long matched;
+
+    @Column(name = "suggested", nullable = false)
+    private long suggested;
+
+    @Column(name = "unmatched", nullable = false)
+    private long unmatched;
+
+    @Column(name = "lines_saved", nullable = false)
+    private long linesSaved;
+
+    @Column(name = "elapsed_millis")
+    private Long elapsedMillis;
+
+    @Column(name = "error", columnDefinition = "TEXT")
+    private String error;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Instance whose worker runs the run, and when that worker last reported in
+    @Column(name = "owner", length = 36)
+    private String owner;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    // Enums
+    public enum StatementFormat {
+        CSV, OFX
+    }
+
+    public enum RunStatus {
+        RUNNING, COMPLETED, FAILED, INTERRUPTED
+    }
+
+    public enum Phase {
+        PARSING, LOADING, MATCHING, SAVING, DONE
+    }
+
+    // Lifecycle callbacks
+    @PrePersist
+    protected void onCreate() {
+        startedAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+        heartbeatAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public ReconciliationRun() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public StatementFormat getFormat() {
+        return format;
+    }
+
+    public void setFormat(StatementFormat format) {
+        this.format = format;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public int getDateWindowDays() {
+        return dateWindowDays;
+    }
+
+    public void setDateWindowDays(int dateWindowDays) {
+        this.dateWindowDays = dateWindowDays;
+    }
+
+    public RunStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(RunStatus status) {
+        this.status = status;
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    public void setPhase(Phase phase) {
+        this.phase = phase;
+    }
+
+    public long getTotalLines() {
+        return totalLines;
+    }
+
+    public void setTotalLines(long totalLines) {
+        this.totalLines = totalLines;
+    }
+
+    public long getInvalidLines() {
+        return invalidLines;
+    }
+
+    public void setInvalidLines(long invalidLines) {
+        this.invalidLines = invalidLines;
+    }
+
+    public long getCandidates() {
+        return candidates;
+    }
+
+    public void setCandidates(long candidates) {
+        this.candidates = candidates;
+    }
+
+    public long getMatched() {
+        return matched;
+    }
+
+    public void setMatched(long matched) {
+        this.matched = matched;
+    }
+
+    public long getSuggested() {
+        return suggested;
+    }
+
+    public void setSuggested(long suggested) {
+        this.suggested = suggested;
+    }
+
+    public long getUnmatched() {
+        return unmatched;
+    }
+
+    public void setUnmatched(long unmatched) {
+        this.unmatched = unmatched;
+    }
+
+    public long getLinesSaved() {
+        return linesSaved;
+    }
+
+    public void setLinesSaved(long linesSaved) {
+        this.linesSaved = linesSaved;
+    }
+
+    // Saving is the only phase long enough to need a figure; earlier phases report 0
+    public Double getPercentComplete() {
+        if (phase == Phase.DONE) {
+            return 100.0;
+        }
+        if (totalLines == 0) {
+            return 0.0;
+        }
+        return Math.min(100.0, linesSaved * 100.0 / totalLines);
+    }
+
+    public Long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(Long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getHeartbeatAt() {
+        return heartbeatAt;
+    }
+
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+}
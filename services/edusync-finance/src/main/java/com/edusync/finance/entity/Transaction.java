@@ -7,6 +7,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+// idx_transactions_date_id (date, id) is created by TransactionPartitionService
 @Table(name = "transactions")
 public class Transaction {
     
@@ -14,8 +15,9 @@ public class Transaction {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    // Unique, though not declared here: a partitioned table cannot carry the constraint (see TransactionPartitionService)
     @NotBlank(message = "Transaction ID is required")
-    @Column(name = "transaction_id", unique = true, nullable = false)
+    @Column(name = "transaction_id", nullable = false)
     private String transactionId;
     
     @NotNull(message = "Transaction type is required")
@@ -25,6 +27,7 @@ public class Transaction {
     
     @NotNull(message = "Amount is required")
     @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    @Digits(integer = 13, fraction = 2, message = "Amount must have at most 13 digits and 2 decimal places")
     @Column(name = "amount", nullable = false, precision = 15, scale = 2)
     private BigDecimal amount;
     
@@ -75,6 +78,11 @@ public class Transaction {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Bumped by every write, including bulk status transitions done in SQL
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+    
     // Enums
     public enum TransactionType {
         INCOME, EXPENSE
@@ -243,5 +251,13 @@ public class Transaction {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
 
@@ -10,7 +10,11 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "finance_tuition_fees")
+@Table(
+    name = "finance_tuition_fees",
+    // Per-student lookups and the bulk generator's duplicate check; one fee per student and year
+    indexes = @Index(name = "uk_tuition_fee_student_year", columnList = "student_id, academic_year", unique = true)
+)
 public class TuitionFee {
 
     @Id
@@ -0,0 +1,234 @@
+package com.edusync.finance.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// One bulk tuition fee run for an academic year; the counters and checkpoint advance with each committed chunk
+@Entity
+@Table(name = "finance_tuition_generation_jobs")
+public class TuitionGenerationJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "academic_year", nullable = false, length = 50)
+    private String academicYear;
+
+    @Column(name = "payment_plan", length = 50)
+    private String paymentPlan;
+
+    // Fee schedule per program as JSON, kept so a resumed job uses the same amounts
+    @Column(name = "schedules", nullable = false, columnDefinition = "TEXT")
+    private String schedules;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private JobStatus status = JobStatus.RUNNING;
+
+    // Highest student id fully processed; a resumed job continues after it
+    @Column(name = "last_student_id", nullable = false)
+    private long lastStudentId;
+
+    // Active students reported by the student service at start; only used to show progress
+    @Column(name = "expected_students")
+    private Long expectedStudents;
+
+    @Column(name = "students_scanned", nullable = false)
+    private long studentsScanned;
+
+    @Column(name = "fees_created", nullable = false)
+    private long feesCreated;
+
+    @Column(name = "duplicates_skipped", nullable = false)
+    private long duplicatesSkipped;
+
+    @Column(name = "unscheduled_skipped", nullable = false)
+    private long unscheduledSkipped;
+
+    @Column(name = "error", columnDefinition = "TEXT")
+    private String error;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Instance whose worker runs the job, and when that worker last reported in
+    @Column(name = "owner", length = 36)
+    private String owner;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    // Enums
+    public enum JobStatus {
+        RUNNING, COMPLETED, FAILED, INTERRUPTED
+    }
+
+    // Lifecycle callbacks
+    @PrePersist
+    protected void onCreate() {
+        startedAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+        heartbeatAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public TuitionGenerationJob() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getAcademicYear() {
+        return academicYear;
+    }
+
+    public void setAcademicYear(String academicYear) {
+        this.academicYear = academicYear;
+    }
+
+    public String getPaymentPlan() {
+        return paymentPlan;
+    }
+
+    public void setPaymentPlan(String paymentPlan) {
+        this.paymentPlan = paymentPlan;
+    }
+
+    public String getSchedules() {
+        return schedules;
+    }
+
+    public void setSchedules(String schedules) {
+        this.schedules = schedules;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+
+    public long getLastStudentId() {
+        return lastStudentId;
+    }
+
+    public void setLastStudentId(long lastStudentId) {
+        this.lastStudentId = lastStudentId;
+    }
+
+    public Long getExpectedStudents() {
+        return expectedStudents;
+    }
+
+    public void setExpectedStudents(Long expectedStudents) {
+        this.expectedStudents = expectedStudents;
+    }
+
+    public long getStudentsScanned() {
+        return studentsScanned;
+    }
+
+    public void setStudentsScanned(long studentsScanned) {
+        this.studentsScanned = studentsScanned;
+    }
+
+    public long getFeesCreated() {
+        return feesCreated;
+    }
+
+    public void setFeesCreated(long feesCreated) {
+        this.feesCreated = feesCreated;
+    }
+
+    public long getDuplicatesSkipped() {
+        return duplicatesSkipped;
+    }
+
+    public void setDuplicatesSkipped(long duplicatesSkipped) {
+        this.duplicatesSkipped = duplicatesSkipped;
+    }
+
+    public long getUnscheduledSkipped() {
+        return unscheduledSkipped;
+    }
+
+    public void setUnscheduledSkipped(long unscheduledSkipped) {
+        this.unscheduledSkipped = unscheduledSkipped;
+    }
+
+    // Share of the expected students scanned so far, when the expected count is known
+    public Double getPercentComplete() {
+        if (expectedStudents == null || expectedStudents == 0) {
+            return null;
+        }
+        return Math.min(100.0, studentsScanned * 100.0 / expectedStudents);
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getHeartbeatAt() {
+        return heartbeatAt;
+    }
+
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+}
@@ -0,0 +1,48 @@
+package com.edusync.finance.event;
+
+import java.math.BigDecimal;
+
+// Published once when a budget's spending first reaches its alert threshold
+public final class BudgetThresholdEvent {
+
+    private final Long budgetId;
+    private final String name;
+    private final String category;
+    private final BigDecimal amount;
+    private final BigDecimal spent;
+    private final int alertThreshold;
+
+    public BudgetThresholdEvent(Long budgetId, String name, String category,
+                                BigDecimal amount, BigDecimal spent, int alertThreshold) {
+        this.budgetId = budgetId;
+        this.name = name;
+        this.category = category;
+        this.amount = amount;
+        this.spent = spent;
+        this.alertThreshold = alertThreshold;
+    }
+
+    public Long getBudgetId() {
+        return budgetId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public BigDecimal getSpent() {
+        return spent;
+    }
+
+    public int getAlertThreshold() {
+        return alertThreshold;
+    }
+}
@@ -0,0 +1,54 @@
+package com.edusync.finance.event;
+
+import java.util.List;
+
+/**
+ * Published by TransactionService inside the writing transaction. Each change carries the
+ * state before the write (null on create) and after it (null on delete), so listeners can
+ * retract the old contribution and apply the new one.
+ *
+ * Listeners that keep database state consistent use @EventListener and run in the same
+ * transaction; in-memory projections use @TransactionalEventListener and run after commit.
+ */
+public class TransactionChangeEvent {
+
+    private final List<Change> changes;
+
+    public TransactionChangeEvent(List<Change> changes) {
+        this.changes = List.copyOf(changes);
+    }
+
+    public static TransactionChangeEvent created(TransactionState after) {
+        return new TransactionChangeEvent(List.of(new Change(null, after)));
+    }
+
+    public static TransactionChangeEvent updated(TransactionState before, TransactionState after) {
+        return new TransactionChangeEvent(List.of(new Change(before, after)));
+    }
+
+    public static TransactionChangeEvent deleted(TransactionState before) {
+        return new TransactionChangeEvent(List.of(new Change(before, null)));
+    }
+
+    public List<Change> getChanges() {
+        return changes;
+    }
+
+    public static final class Change {
+        private final TransactionState before;
+        private final TransactionState after;
+
+        public Change(TransactionState before, TransactionState after) {
+            this.before = before;
+            this.after = after;
+        }
+
+        public TransactionState getBefore() {
+            return before;
+        }
+
+        public TransactionState getAfter() {
+            return after;
+        }
+    }
+}
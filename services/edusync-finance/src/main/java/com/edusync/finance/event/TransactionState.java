@@ -0,0 +1,102 @@
+package com.edusync.finance.event;
+
+import com.edusync.finance.entity.Transaction;
+import com.edusync.finance.entity.Transaction.TransactionStatus;
+import com.edusync.finance.entity.Transaction.TransactionType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Immutable copy of the fields of a {@link Transaction} that derived figures depend on.
+ * Taken before and after a write, since the managed entity is mutated in place.
+ */
+public final class TransactionState {
+
+    private final Long id;
+    private final String transactionId;
+    private final TransactionType type;
+    private final BigDecimal amount;
+    private final String category;
+    private final String subCategory;
+    private final LocalDate date;
+    private final TransactionStatus status;
+    private final Long accountId;
+    private final Long studentId;
+    private final String paymentMethod;
+    // The row version read; on the before-state of a write, the version that write replaced
+    private final Long version;
+
+    private TransactionState(Transaction transaction) {
+        this.id = transaction.getId();
+        this.transactionId = transaction.getTransactionId();
+        this.type = transaction.getType();
+        // As the column stores it, for entities written without validation; half up like Postgres numeric
+        this.amount = transaction.getAmount() != null ? transaction.getAmount().setScale(2, RoundingMode.HALF_UP) : null;
+        this.category = transaction.getCategory();
+        this.subCategory = transaction.getSubCategory();
+        this.date = transaction.getDate();
+        this.status = transaction.getStatus();
+        this.accountId = transaction.getAccountId();
+        this.studentId = transaction.getStudentId();
+        this.paymentMethod = transaction.getPaymentMethod();
+        this.version = transaction.getVersion();
+    }
+
+    public static TransactionState of(Transaction transaction) {
+        return new TransactionState(transaction);
+    }
+
+    public boolean isCompleted() {
+        return status == TransactionStatus.COMPLETED;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getSubCategory() {
+        return subCategory;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public TransactionStatus getStatus() {
+        return status;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
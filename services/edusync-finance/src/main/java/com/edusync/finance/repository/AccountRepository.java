@@ -5,6 +5,7 @@ import com.edusync.finance.entity.Account.AccountStatus;
 import com.edusync.finance.entity.Account.AccountType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
@@ -25,5 +26,8 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     
     @Query("SELECT COUNT(a) FROM Account a WHERE a.status = 'ACTIVE'")
     long countActiveAccounts();
+    
+    @Query("SELECT a.balance FROM Account a WHERE a.id = :id")
+    Optional<BigDecimal> findBalanceById(@Param("id") Long id);
 }
 
@@ -0,0 +1,104 @@
+package com.edusync.finance.repository;
+
+import com.edusync.finance.entity.FinancePeriod;
+import com.edusync.finance.entity.PeriodAccountTotal;
+import com.edusync.finance.entity.PeriodCategoryTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FinancePeriodRepository extends JpaRepository<FinancePeriod, Long> {
+
+    Optional<FinancePeriod> findByPeriodMonth(LocalDate periodMonth);
+
+    List<FinancePeriod> findAllByOrderByPeriodMonthDesc();
+
+    List<FinancePeriod> findByPeriodMonthGreaterThanEqualOrderByPeriodMonth(LocalDate periodMonth);
+
+    @Query("SELECT MAX(p.periodMonth) FROM FinancePeriod p")
+    Optional<LocalDate> findLatestClosedMonth();
+
+    @Query("SELECT MIN(t.date) FROM Transaction t")
+    Optional<LocalDate> findEarliestTransactionDate();
+
+    @Query("SELECT c FROM PeriodCategoryTotal c WHERE c.periodMonth = :month ORDER BY c.type, c.category, c.status")
+    List<PeriodCategoryTotal> findCategoryTotals(@Param("month") LocalDate month);
+
+    @Query("SELECT a FROM PeriodAccountTotal a WHERE a.periodMonth = :month ORDER BY a.accountId, a.type")
+    List<PeriodAccountTotal> findAccountTotals(@Param("month") LocalDate month);
+
+    // Blocks writers and rollup rebuilds, and other closes, until the close or reopen commits
+    @Modifying
+    @Query(value = "LOCK TABLE transactions IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockTransactionsForClose();
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO finance_period_category_totals (period_month, type, category, status, total_amount, transaction_count)
+        SELECT CAST(date_trunc('month', date) AS date), type, category, status, SUM(amount), COUNT(*)
+        FROM transactions
+        WHERE date >= :fromMonth AND date < :endExclusive
+        GROUP BY 1, 2, 3, 4
+        """, nativeQuery = true)
+    int insertCategoryTotals(@Param("fromMonth") LocalDate fromMonth, @Param("endExclusive") LocalDate endExclusive);
+
+    // One row per month in the range, including months without transactions; built from the category totals
+    @Modifying
+    @Query(value = """
+        INSERT INTO finance_periods (period_month, revenue, expenses, transaction_count, closed_at)
+        SELECT CAST(m.month AS date),
+               COALESCE(SUM(c.total_amount) FILTER (WHERE c.type = 'INCOME' AND c.status = 'COMPLETED'), 0),
+               COALESCE(SUM(c.total_amount) FILTER (WHERE c.type = 'EXPENSE' AND c.status = 'COMPLETED'), 0),
+               COALESCE(SUM(c.transaction_count), 0),
+               CURRENT_TIMESTAMP
+        FROM generate_series(CAST(:fromMonth AS date), CAST(:throughMonth AS date), INTERVAL '1 month') AS m(month)
+        LEFT JOIN finance_period_category_totals c ON c.period_month = m.month
+        GROUP BY m.month
+        """, nativeQuery = true)
+    int insertPeriods(@Param("fromMonth") LocalDate fromMonth, @Param("throughMonth") LocalDate throughMonth);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO finance_period_account_totals (period_month, account_id, type, total_amount, transaction_count)
+        SELECT CAST(date_trunc('month', date) AS date), account_id, type, SUM(amount), COUNT(*)
+        FROM transactions
+        WHERE date >= :fromMonth AND date < :endExclusive AND status = 'COMPLETED'
+        GROUP BY 1, 2, 3
+        """, nativeQuery = true)
+    int insertAccountTotals(@Param("fromMonth") LocalDate fromMonth, @Param("endExclusive") LocalDate endExclusive);
+
+    // The rollup only holds open months; closing hands a month over to the snapshot tables
+    @Modifying
+    @Query(value = "DELETE FROM finance_ledger_rollups WHERE period_month >= :fromMonth AND period_month <= :throughMonth",
+           nativeQuery = true)
+    int deleteRollups(@Param("fromMonth") LocalDate fromMonth, @Param("throughMonth") LocalDate throughMonth);
+
+    // Reopening gives the month back to the rollup; its snapshot has the same grain
+    @Modifying
+    @Query(value = """
+        INSERT INTO finance_ledger_rollups (period_month, type, category, status, total_amount, transaction_count)
+        SELECT period_month, type, category, status, total_amount, transaction_count
+        FROM finance_period_category_totals
+        WHERE period_month = :month
+        """, nativeQuery = true)
+    int restoreRollups(@Param("month") LocalDate month);
+
+    @Modifying
+    @Query(value = "DELETE FROM finance_period_category_totals WHERE period_month = :month", nativeQuery = true)
+    void deleteCategoryTotals(@Param("month") LocalDate month);
+
+    @Modifying
+    @Query(value = "DELETE FROM finance_period_account_totals WHERE period_month = :month", nativeQuery = true)
+    void deleteAccountTotals(@Param("month") LocalDate month);
+
+    @Modifying
+    @Query(value = "DELETE FROM finance_periods WHERE period_month = :month", nativeQuery = true)
+    void deletePeriod(@Param("month") LocalDate month);
+}
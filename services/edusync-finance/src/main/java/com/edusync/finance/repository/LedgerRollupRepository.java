@@ -0,0 +1,117 @@
+package com.edusync.finance.repository;
+
+import com.edusync.finance.dto.FinanceTotals;
+import com.edusync.finance.entity.LedgerRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface LedgerRollupRepository extends JpaRepository<LedgerRollup, Long> {
+
+    // First day of the earliest open month; every month before it is closed and frozen
+    String OPEN_FROM = """
+        (SELECT COALESCE(CAST(MAX(period_month) + INTERVAL '1 month' AS date), DATE '-infinity') FROM finance_periods)
+        """;
+
+    // Frozen totals of closed months plus the rollup, which only holds open months
+    String SUMMARY = """
+        (SELECT period_month, type, category, status, total_amount, transaction_count
+           FROM finance_period_category_totals
+         UNION ALL
+         SELECT period_month, type, category, status, total_amount, transaction_count
+           FROM finance_ledger_rollups)
+        """;
+
+    @Query(value = "SELECT SUM(s.total_amount) FROM " + SUMMARY + " s WHERE s.type = :type AND s.status = 'COMPLETED'",
+           nativeQuery = true)
+    BigDecimal sumAmountByType(@Param("type") String type);
+
+    @Query(value = "SELECT SUM(s.total_amount) FROM " + SUMMARY + " s WHERE s.type = :type AND s.status = 'COMPLETED' " +
+                   "AND s.period_month BETWEEN :startMonth AND :endMonth",
+           nativeQuery = true)
+    BigDecimal sumAmountByTypeAndMonthBetween(
+        @Param("type") String type,
+        @Param("startMonth") LocalDate startMonth,
+        @Param("endMonth") LocalDate endMonth
+    );
+
+    @Query(value = "SELECT s.category, SUM(s.total_amount) FROM " + SUMMARY + " s " +
+                   "WHERE s.type = :type AND s.status = 'COMPLETED' " +
+                   "GROUP BY s.category HAVING SUM(s.transaction_count) > 0",
+           nativeQuery = true)
+    List<Object[]> sumAmountByTypeGroupByCategory(@Param("type") String type);
+
+    // Dashboard figures; cost depends on months x categories, not on transaction volume
+    @Query(value = """
+        SELECT
+            SUM(CASE WHEN s.type = 'INCOME' AND s.status = 'COMPLETED' THEN s.total_amount END) AS "totalRevenue",
+            SUM(CASE WHEN s.type = 'INCOME' AND s.status = 'COMPLETED'
+                      AND s.period_month = :currentMonth THEN s.total_amount END) AS "monthlyRevenue",
+            SUM(CASE WHEN s.type = 'INCOME' AND s.status = 'COMPLETED'
+                      AND s.period_month = :previousMonth THEN s.total_amount END) AS "previousMonthRevenue",
+            SUM(CASE WHEN s.type = 'EXPENSE' AND s.status = 'COMPLETED' THEN s.total_amount END) AS "totalExpenses",
+            SUM(CASE WHEN s.type = 'EXPENSE' AND s.status = 'COMPLETED'
+                      AND s.period_month = :currentMonth THEN s.total_amount END) AS "monthlyExpenses",
+            SUM(CASE WHEN s.type = 'EXPENSE' AND s.status = 'COMPLETED'
+                      AND s.period_month = :previousMonth THEN s.total_amount END) AS "previousMonthExpenses",
+            CAST(SUM(s.transaction_count) AS bigint) AS "totalTransactions",
+            (SELECT SUM(a.balance) FROM accounts a WHERE a.status = 'ACTIVE') AS "totalBalance",
+            (SELECT COUNT(*) FROM accounts a WHERE a.status = 'ACTIVE') AS "totalAccounts",
+            (SELECT COUNT(*) FROM budgets b WHERE b.status = 'ACTIVE') AS "activeBudgets"
+        FROM """ + SUMMARY + " s", nativeQuery = true)
+    FinanceTotals aggregateFinanceTotals(
+        @Param("currentMonth") LocalDate currentMonth,
+        @Param("previousMonth") LocalDate previousMonth
+    );
+
+    // Rollup rows that disagree with a fresh GROUP BY over the open months' transactions
+    @Query(value = """
+        SELECT COALESCE(r.period_month, t.period_month) AS period_month,
+               COALESCE(r.type, t.type) AS type,
+               COALESCE(r.category, t.category) AS category,
+               COALESCE(r.status, t.status) AS status,
+               COALESCE(r.total_amount, 0) AS rollup_amount,
+               COALESCE(t.total_amount, 0) AS actual_amount,
+               COALESCE(r.transaction_count, 0) AS rollup_count,
+               COALESCE(t.transaction_count, 0) AS actual_count
+        FROM finance_ledger_rollups r
+        FULL OUTER JOIN (
+            SELECT CAST(date_trunc('month', date) AS date) AS period_month, type, category, status,
+                   SUM(amount) AS total_amount, COUNT(*) AS transaction_count
+            FROM transactions
+            WHERE date >= """ + OPEN_FROM + """
+            GROUP BY 1, 2, 3, 4
+        ) t ON r.period_month = t.period_month AND r.type = t.type
+           AND r.category = t.category AND r.status = t.status
+        WHERE COALESCE(r.total_amount, 0) <> COALESCE(t.total_amount, 0)
+           OR COALESCE(r.transaction_count, 0) <> COALESCE(t.transaction_count, 0)
+        ORDER BY 1, 2, 3, 4
+        """, nativeQuery = true)
+    List<Object[]> findMismatches();
+
+    // Writers block on this lock until the rebuild commits, so no delta is lost or counted twice
+    @Modifying
+    @Query(value = "LOCK TABLE transactions IN SHARE MODE", nativeQuery = true)
+    void lockTransactionsForRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM finance_ledger_rollups", nativeQuery = true)
+    void deleteAllRollups();
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO finance_ledger_rollups (period_month, type, category, status, total_amount, transaction_count)
+        SELECT CAST(date_trunc('month', date) AS date), type, category, status, SUM(amount), COUNT(*)
+        FROM transactions
+        WHERE date >= """ + OPEN_FROM + """
+        GROUP BY 1, 2, 3, 4
+        """, nativeQuery = true)
+    int insertRollupsFromTransactions();
+}
@@ -0,0 +1,19 @@
+package com.edusync.finance.repository;
+
+import com.edusync.finance.entity.ReconciliationLine;
+import com.edusync.finance.entity.ReconciliationLine.Outcome;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ReconciliationLineRepository extends JpaRepository<ReconciliationLine, Long> {
+
+    // Keyset paging in statement order; pass a Pageable with page 0 and the limit
+    List<ReconciliationLine> findByRunIdAndOutcomeAndPositionGreaterThanOrderByPosition(
+        Long runId, Outcome outcome, long afterPosition, Pageable limit);
+
+    List<ReconciliationLine> findByRunIdAndPositionGreaterThanOrderByPosition(Long runId, long afterPosition, Pageable limit);
+}
@@ -0,0 +1,38 @@
+package com.edusync.finance.repository;
+
+import com.edusync.finance.entity.ReconciliationRun;
+import com.edusync.finance.entity.ReconciliationRun.RunStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReconciliationRunRepository extends JpaRepository<ReconciliationRun, Long> {
+
+    List<ReconciliationRun> findAllByOrderByIdDesc();
+
+    boolean existsByStatus(RunStatus status);
+
+    // Locked, so a run cannot be marked interrupted between the check and the change
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<ReconciliationRun> findByIdAndStatusAndOwner(Long id, RunStatus status, String owner);
+
+    @Modifying
+    @Query("UPDATE ReconciliationRun r SET r.heartbeatAt = :now WHERE r.status = :status AND r.owner = :owner")
+    int updateHeartbeat(@Param("status") RunStatus status, @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    // Runs from before heartbeats were recorded have none and count as stale
+    @Modifying
+    @Query("UPDATE ReconciliationRun r SET r.status = :to, r.error = :error WHERE r.status = :from"
+        + " AND (r.heartbeatAt IS NULL OR r.heartbeatAt < :heartbeatBefore)")
+    int updateStatusHeartbeatBefore(@Param("from") RunStatus from, @Param("to") RunStatus to, @Param("error") String error,
+                                    @Param("heartbeatBefore") LocalDateTime heartbeatBefore);
+}
@@ -3,21 +3,27 @@ package com.edusync.finance.repository;
 import com.edusync.finance.entity.Transaction;
 import com.edusync.finance.entity.Transaction.TransactionStatus;
 import com.edusync.finance.entity.Transaction.TransactionType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
     
     Optional<Transaction> findByTransactionId(String transactionId);
     
+    // The date lets a partitioned table be pruned to the one partition holding the row
+    Optional<Transaction> findByIdAndDate(Long id, LocalDate date);
+    
     List<Transaction> findByType(TransactionType type);
     
     List<Transaction> findByStatus(TransactionStatus status);
@@ -50,7 +56,10 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     @Query("SELECT t.category, SUM(t.amount) FROM Transaction t WHERE t.type = :type AND t.status = 'COMPLETED' GROUP BY t.category")
     List<Object[]> sumAmountByTypeGroupByCategory(@Param("type") TransactionType type);
     
-    @Query("SELECT t FROM Transaction t WHERE t.status = 'COMPLETED' ORDER BY t.date DESC")
-    List<Transaction> findRecentTransactions();
+    List<Transaction> findByStatusOrderByDateDescIdDesc(TransactionStatus status, Limit limit);
+
+    @Query("SELECT t.transactionId FROM Transaction t WHERE t.transactionId IN :ids")
+    List<String> findExistingTransactionIds(@Param("ids") Collection<String> ids);
+
 }
 
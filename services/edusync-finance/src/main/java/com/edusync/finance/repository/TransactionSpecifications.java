@@ -0,0 +1,61 @@
+package com.edusync.finance.repository;
+
+import com.edusync.finance.dto.TransactionCursor;
+import com.edusync.finance.dto.TransactionFilter;
+import com.edusync.finance.entity.Transaction;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class TransactionSpecifications {
+
+    // Stable keyset order; the id tiebreak keeps transactions sharing a date in a fixed order
+    public static final Sort KEYSET_ORDER = Sort.by(Sort.Order.desc("date"), Sort.Order.desc("id"));
+
+    private TransactionSpecifications() {}
+
+    public static Specification<Transaction> matching(TransactionFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getType() != null) {
+                predicates.add(cb.equal(root.get("type"), filter.getType()));
+            }
+            if (filter.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+            }
+            if (filter.getCategory() != null) {
+                predicates.add(cb.equal(root.get("category"), filter.getCategory()));
+            }
+            if (filter.getStartDate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("date"), filter.getStartDate()));
+            }
+            if (filter.getEndDate() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("date"), filter.getEndDate()));
+            }
+            if (filter.getAccountId() != null) {
+                predicates.add(cb.equal(root.get("accountId"), filter.getAccountId()));
+            }
+            if (filter.getStudentId() != null) {
+                predicates.add(cb.equal(root.get("studentId"), filter.getStudentId()));
+            }
+            if (filter.getStaffId() != null) {
+                predicates.add(cb.equal(root.get("staffId"), filter.getStaffId()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Rows strictly after the cursor in KEYSET_ORDER: (date, id) < (cursor.date, cursor.id)
+    public static Specification<Transaction> after(TransactionCursor cursor) {
+        return (root, query, cb) -> cb.or(
+            cb.lessThan(root.get("date"), cursor.getDate()),
+            cb.and(
+                cb.equal(root.get("date"), cursor.getDate()),
+                cb.lessThan(root.get("id"), cursor.getId())
+            )
+        );
+    }
+}
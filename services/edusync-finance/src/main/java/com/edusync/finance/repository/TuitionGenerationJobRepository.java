@@ -0,0 +1,29 @@
+package com.edusync.finance.repository;
+
+import com.edusync.finance.entity.TuitionGenerationJob;
+import com.edusync.finance.entity.TuitionGenerationJob.JobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TuitionGenerationJobRepository extends JpaRepository<TuitionGenerationJob, Long> {
+
+    List<TuitionGenerationJob> findAllByOrderByIdDesc();
+
+    @Modifying
+    @Query("UPDATE TuitionGenerationJob j SET j.heartbeatAt = :now WHERE j.status = :status AND j.owner = :owner")
+    int updateHeartbeat(@Param("status") JobStatus status, @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    // Jobs from before heartbeats were recorded have none and count as stale
+    @Modifying
+    @Query("UPDATE TuitionGenerationJob j SET j.status = :to WHERE j.status = :from"
+        + " AND (j.heartbeatAt IS NULL OR j.heartbeatAt < :heartbeatBefore)")
+    int updateStatusHeartbeatBefore(@Param("from") JobStatus from, @Param("to") JobStatus to,
+                                    @Param("heartbeatBefore") LocalDateTime heartbeatBefore);
+}
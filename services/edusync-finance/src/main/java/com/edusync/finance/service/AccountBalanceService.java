@@ -0,0 +1,88 @@
+package com.edusync.finance.service;
+
+import com.edusync.finance.entity.Transaction.TransactionType;
+import com.edusync.finance.event.TransactionChangeEvent;
+import com.edusync.finance.event.TransactionState;
+import com.edusync.finance.repository.AccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Moves accounts.balance with completed transactions: income credits the account, expenses
+ * debit it, and a transaction that stops being completed (cancelled, edited or deleted) is
+ * reversed. Each change is an in-place SQL increment inside the writer's transaction, so
+ * concurrent postings only queue on the rows of the accounts they touch and none are lost.
+ *
+ * Balances stored before this projection existed are taken as already correct; only changes
+ * from here on are applied.
+ */
+@Service
+@Transactional
+public class AccountBalanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountBalanceService.class);
+
+    private static final String APPLY_DELTA_SQL =
+        "UPDATE accounts SET balance = balance + ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+
+    private final AccountRepository accountRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public AccountBalanceService(AccountRepository accountRepository, JdbcTemplate jdbcTemplate) {
+        this.accountRepository = accountRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener
+    public void onTransactionChange(TransactionChangeEvent event) {
+        // Sorted by account id so concurrent writers lock account rows in the same order
+        Map<Long, BigDecimal> deltas = new TreeMap<>();
+        for (TransactionChangeEvent.Change change : event.getChanges()) {
+            addEffect(deltas, change.getBefore(), true);
+            addEffect(deltas, change.getAfter(), false);
+        }
+
+        List<Object[]> updates = new ArrayList<>(deltas.size());
+        deltas.forEach((accountId, delta) -> {
+            if (delta.signum() != 0) {
+                updates.add(new Object[] {delta, accountId});
+            }
+        });
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        int[] counts = jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, updates);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                logger.warn("Transaction references unknown account {}; balance not updated", updates.get(i)[1]);
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<BigDecimal> getBalance(Long accountId) {
+        return accountRepository.findBalanceById(accountId);
+    }
+
+    private void addEffect(Map<Long, BigDecimal> deltas, TransactionState state, boolean reverse) {
+        if (state == null || state.getAccountId() == null || !state.isCompleted()) {
+            return;
+        }
+        BigDecimal effect = state.getType() == TransactionType.INCOME ? state.getAmount() : state.getAmount().negate();
+        deltas.merge(state.getAccountId(), reverse ? effect.negate() : effect, BigDecimal::add);
+    }
+}
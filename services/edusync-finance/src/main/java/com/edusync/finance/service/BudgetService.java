@@ -1,13 +1,18 @@
 package com.edusync.finance.service;
 
+import com.edusync.finance.cache.BudgetIndex;
+import com.edusync.finance.cache.FinanceStatsCache;
 import com.edusync.finance.entity.Budget;
 import com.edusync.finance.entity.Budget.BudgetStatus;
 import com.edusync.finance.repository.BudgetRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,11 +21,24 @@ import java.util.Optional;
 @SuppressWarnings("null")
 public class BudgetService {
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     private final BudgetRepository budgetRepository;
+    private final FinanceStatsCache financeStatsCache;
+    private final BudgetIndex budgetIndex;
+    private final BudgetTrackingService budgetTrackingService;
 
     @Autowired
-    public BudgetService(BudgetRepository budgetRepository) {
+    public BudgetService(
+            BudgetRepository budgetRepository,
+            FinanceStatsCache financeStatsCache,
+            BudgetIndex budgetIndex,
+            BudgetTrackingService budgetTrackingService) {
         this.budgetRepository = budgetRepository;
+        this.financeStatsCache = financeStatsCache;
+        this.budgetIndex = budgetIndex;
+        this.budgetTrackingService = budgetTrackingService;
     }
 
     public List<Budget> getAllBudgets() {
@@ -43,21 +61,51 @@ public class BudgetService {
         return budgetRepository.findActiveBudgetsForDate(date);
     }
 
+    // Reads the maintained spent column; most utilised first
+    @Transactional(readOnly = true)
+    public List<Budget> getActiveBudgetUtilisation() {
+        List<Budget> budgets = budgetRepository.findByStatus(BudgetStatus.ACTIVE);
+        budgets.sort(Comparator.comparingInt(Budget::getPercentageUsed).reversed());
+        return budgets;
+    }
+
+    // Full recomputation of every budget's spent, for repairs
+    public int recalculateAll() {
+        List<Budget> budgets = budgetRepository.findAll();
+        for (Budget budget : budgets) {
+            budgetTrackingService.recalculate(budget.getId());
+        }
+        financeStatsCache.invalidate();
+        return budgets.size();
+    }
+
     public Budget createBudget(Budget budget) {
         if (budget.getStatus() == null) {
             budget.setStatus(BudgetStatus.ACTIVE);
         }
-        return budgetRepository.save(budget);
+        Budget saved = budgetRepository.saveAndFlush(budget);
+        budgetTrackingService.recalculate(saved.getId());
+        // spent and the alert flag were just written in SQL
+        entityManager.refresh(saved);
+        budgetTrackingService.recalculateAfterCommit(saved.getId());
+        financeStatsCache.invalidate();
+        return saved;
     }
 
     public Budget updateBudget(Long id, Budget budgetDetails) {
         Budget budget = budgetRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Budget not found with id: " + id));
 
+        // An inactive budget gets no spend updates, so reactivating one needs the full scan too
+        boolean scopeChanged = !budget.getCategory().equals(budgetDetails.getCategory())
+                || !budget.getStartDate().equals(budgetDetails.getStartDate())
+                || !budget.getEndDate().equals(budgetDetails.getEndDate())
+                || (budget.getStatus() != BudgetStatus.ACTIVE && budgetDetails.getStatus() == BudgetStatus.ACTIVE);
+
+        // spent is derived from transactions, so the submitted value is ignored
         budget.setName(budgetDetails.getName());
         budget.setCategory(budgetDetails.getCategory());
         budget.setAmount(budgetDetails.getAmount());
-        budget.setSpent(budgetDetails.getSpent());
         budget.setPeriod(budgetDetails.getPeriod());
         budget.setStartDate(budgetDetails.getStartDate());
         budget.setEndDate(budgetDetails.getEndDate());
@@ -65,7 +113,21 @@ public class BudgetService {
         budget.setStatus(budgetDetails.getStatus());
         budget.setAlertThreshold(budgetDetails.getAlertThreshold());
 
-        return budgetRepository.save(budget);
+        Budget saved = budgetRepository.saveAndFlush(budget);
+        if (scopeChanged) {
+            budgetTrackingService.recalculate(id);
+        } else {
+            // Amount or threshold may have moved relative to spent
+            budgetTrackingService.reevaluateAlert(id);
+        }
+        entityManager.refresh(saved);
+        if (scopeChanged) {
+            budgetTrackingService.recalculateAfterCommit(id);
+        } else {
+            budgetIndex.reloadAfterCommit();
+        }
+        financeStatsCache.invalidate();
+        return saved;
     }
 
     public void deleteBudget(Long id) {
@@ -73,6 +135,8 @@ public class BudgetService {
             throw new RuntimeException("Budget not found with id: " + id);
         }
         budgetRepository.deleteById(id);
+        budgetIndex.reloadAfterCommit();
+        financeStatsCache.invalidate();
     }
 
     public long countActiveBudgets() {
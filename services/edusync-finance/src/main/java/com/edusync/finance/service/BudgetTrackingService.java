@@ -0,0 +1,168 @@
+package com.edusync.finance.service;
+
+import com.edusync.finance.cache.BudgetIndex;
+import com.edusync.finance.entity.Transaction.TransactionType;
+import com.edusync.finance.event.BudgetThresholdEvent;
+import com.edusync.finance.event.TransactionChangeEvent;
+import com.edusync.finance.event.TransactionState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps budgets.spent equal to the completed expenses in each budget's category and window.
+ * Budgets are matched through BudgetIndex and updated with in-place increments in the writer's
+ * transaction. The same statement arms or clears alert_triggered_at, and a BudgetThresholdEvent
+ * is raised only when it goes from unset to set, so each crossing is reported once.
+ */
+@Service
+@Transactional
+public class BudgetTrackingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BudgetTrackingService.class);
+
+    // prev locks the row and captures the flag as it was before this update
+    private static final String APPLY_DELTA_SQL = """
+        WITH prev AS (SELECT id, alert_triggered_at FROM budgets WHERE id = ? FOR UPDATE)
+        UPDATE budgets b SET
+            spent = b.spent + ?,
+            updated_at = CURRENT_TIMESTAMP,
+            alert_triggered_at = CASE
+                WHEN b.alert_threshold IS NOT NULL AND b.amount > 0
+                     AND (b.spent + ?) * 100 >= b.amount * b.alert_threshold
+                THEN COALESCE(b.alert_triggered_at, CURRENT_TIMESTAMP)
+                ELSE NULL
+            END
+        FROM prev
+        WHERE b.id = prev.id
+        RETURNING b.id, b.name, b.category, b.amount, b.spent, b.alert_threshold,
+                  prev.alert_triggered_at IS NULL AND b.alert_triggered_at IS NOT NULL AS crossed
+        """;
+
+    private static final String RECALCULATE_SQL = """
+        UPDATE budgets b SET spent = COALESCE((
+            SELECT SUM(t.amount) FROM transactions t
+            WHERE t.type = 'EXPENSE' AND t.status = 'COMPLETED'
+              AND t.category = b.category
+              AND t.date BETWEEN b.start_date AND b.end_date
+        ), 0)
+        WHERE b.id = ?
+        """;
+
+    private final BudgetIndex budgetIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate newTransaction;
+    private final Counter alerts;
+
+    @Autowired
+    public BudgetTrackingService(
+            BudgetIndex budgetIndex,
+            JdbcTemplate jdbcTemplate,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.budgetIndex = budgetIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        // After a commit the finished transaction is still bound; joining it would never commit
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.alerts = Counter.builder("finance.budget.alerts").register(meterRegistry);
+    }
+
+    @EventListener
+    public void onTransactionChange(TransactionChangeEvent event) {
+        // Sorted by budget id so concurrent writers lock budget rows in the same order
+        Map<Long, BigDecimal> deltas = new TreeMap<>();
+        for (TransactionChangeEvent.Change change : event.getChanges()) {
+            addSpend(deltas, change.getBefore(), true);
+            addSpend(deltas, change.getAfter(), false);
+        }
+        deltas.forEach((budgetId, delta) -> {
+            if (delta.signum() != 0) {
+                applyDelta(budgetId, delta);
+            }
+        });
+    }
+
+    // One-off scan for a budget whose category or window changed; also re-evaluates its alert
+    public void recalculate(Long budgetId) {
+        // Locked first so the sum's snapshot is taken after any writer holding the row has committed;
+        // otherwise the update would overwrite that writer's increment with a sum that misses it
+        jdbcTemplate.queryForList("SELECT id FROM budgets WHERE id = ? FOR UPDATE", Long.class, budgetId);
+        jdbcTemplate.update(RECALCULATE_SQL, budgetId);
+        applyDelta(budgetId, BigDecimal.ZERO);
+    }
+
+    /**
+     * Reloads BudgetIndex once the budget write commits, then recalculates the budget in a new
+     * transaction. An expense committed after the writer's own recalculation, but matched
+     * against the index before the swap, never reached spent; the second sum counts it.
+     */
+    public void recalculateAfterCommit(Long budgetId) {
+        budgetIndex.reloadAfterCommit(() -> newTransaction.executeWithoutResult(status -> recalculate(budgetId)));
+    }
+
+    public void reevaluateAlert(Long budgetId) {
+        applyDelta(budgetId, BigDecimal.ZERO);
+    }
+
+    // Budgets created, reactivated or rescoped through another instance missed expenses written here meanwhile
+    @Scheduled(fixedDelayString = "${finance.budget.index-refresh:PT5M}", initialDelayString = "${finance.budget.index-refresh:PT5M}")
+    public void refreshIndex() {
+        List<Long> added = budgetIndex.refresh();
+        added.forEach(this::recalculate);
+        if (!added.isEmpty()) {
+            logger.info("Recalculated {} budget(s) changed through other instances", added.size());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onThresholdCrossed(BudgetThresholdEvent event) {
+        alerts.increment();
+        logger.warn("Budget {} ({}) reached {}% of its limit: spent {} of {}",
+            event.getBudgetId(), event.getName(), event.getAlertThreshold(), event.getSpent(), event.getAmount());
+    }
+
+    private void applyDelta(Long budgetId, BigDecimal delta) {
+        List<BudgetThresholdEvent> crossed = jdbcTemplate.query(APPLY_DELTA_SQL,
+            (rs, rowNum) -> rs.getBoolean("crossed")
+                ? new BudgetThresholdEvent(rs.getLong("id"), rs.getString("name"), rs.getString("category"),
+                    rs.getBigDecimal("amount"), rs.getBigDecimal("spent"), rs.getInt("alert_threshold"))
+                : null,
+            budgetId, delta, delta);
+        for (BudgetThresholdEvent event : crossed) {
+            if (event != null) {
+                eventPublisher.publishEvent(event);
+            }
+        }
+    }
+
+    private void addSpend(Map<Long, BigDecimal> deltas, TransactionState state, boolean reverse) {
+        if (state == null || state.getType() != TransactionType.EXPENSE || !state.isCompleted()) {
+            return;
+        }
+        BigDecimal amount = reverse ? state.getAmount().negate() : state.getAmount();
+        for (Long budgetId : budgetIndex.match(state.getCategory(), state.getDate())) {
+            deltas.merge(budgetId, amount, BigDecimal::add);
+        }
+    }
+}
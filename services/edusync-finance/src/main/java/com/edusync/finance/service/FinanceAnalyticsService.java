@@ -0,0 +1,223 @@
+package com.edusync.finance.service;
+
+import com.edusync.finance.cache.AnalyticsCube;
+import com.edusync.finance.entity.Transaction.TransactionType;
+import com.edusync.finance.event.TransactionChangeEvent;
+import com.edusync.finance.event.TransactionState;
+import com.edusync.finance.util.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serves roll-up and drill-down queries over completed transactions from an AnalyticsCube.
+ * The cube is built at startup from a streaming scan of the transactions table (pre-grouped
+ * by the cube's dimensions in SQL) and is then kept current by applying each committed
+ * TransactionChangeEvent: the before-state is subtracted and the after-state added.
+ *
+ * A rebuild takes no lock. The scan reads one repeatable-read snapshot on the primary, and the
+ * events that arrive while it runs are kept as well as applied to the old cube. Before the swap
+ * each kept change is replayed onto the new cube unless the snapshot already holds it, judged
+ * per row by the row's version in that snapshot: a write bumps the version, so a snapshot that
+ * has a later version than the one a change replaced includes it. Writes that committed before
+ * the rebuild started but whose after-commit callback ran during it are therefore not counted
+ * twice, and writes that committed after the snapshot are not lost.
+ */
+@Service
+public class FinanceAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FinanceAnalyticsService.class);
+
+    private static final String SCAN_SQL = """
+        SELECT date, type, category, sub_category, payment_method, SUM(amount), COUNT(*)
+        FROM transactions
+        WHERE status = 'COMPLETED'
+        GROUP BY date, type, category, sub_category, payment_method
+        """;
+
+    private static final String VERSIONS_SQL = "SELECT id, version FROM transactions WHERE id = ANY (?)";
+
+    private final JdbcTemplate scanTemplate;
+    private final TransactionTemplate scanTransaction;
+    private final Object swapLock = new Object();
+
+    private volatile AnalyticsCube cube = new AnalyticsCube();
+    // Changes applied while a rebuild runs, or null; guarded by swapLock
+    private List<TransactionChangeEvent.Change> pending;
+
+    @Autowired
+    public FinanceAnalyticsService(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            @Value("${finance.export.fetch-size:1000}") int fetchSize) {
+        this.scanTemplate = new JdbcTemplate(dataSource);
+        this.scanTemplate.setFetchSize(fetchSize);
+        // Not read-only, so it runs on the primary, where the events come from
+        this.scanTransaction = new TransactionTemplate(transactionManager);
+        this.scanTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    // Builds a fresh cube from the table and swaps it in; returns the new footprint
+    public synchronized Map<String, Object> rebuild() {
+        long started = System.nanoTime();
+        AnalyticsCube built = new AnalyticsCube();
+        // Before the snapshot is taken, so every change it misses is kept
+        synchronized (swapLock) {
+            pending = new ArrayList<>();
+        }
+        int replayed;
+        try {
+            replayed = scanTransaction.execute(status -> {
+                scanTemplate.query(SCAN_SQL, rs -> {
+                    built.add(rs.getDate(1).toLocalDate(), TransactionType.valueOf(rs.getString(2)),
+                        rs.getString(3), rs.getString(4), rs.getString(5),
+                        toCents(rs.getBigDecimal(6)), rs.getLong(7));
+                });
+                synchronized (swapLock) {
+                    int count = replayMissed(built, pending);
+                    cube = built;
+                    return count;
+                }
+            });
+        } finally {
+            synchronized (swapLock) {
+                pending = null;
+            }
+        }
+        Map<String, Object> footprint = built.footprint();
+        logger.info("Analytics cube built in {} ms, {} concurrent change(s) replayed: {}",
+            (System.nanoTime() - started) / 1_000_000, replayed, footprint);
+        return footprint;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChange(TransactionChangeEvent event) {
+        synchronized (swapLock) {
+            AnalyticsCube current = cube;
+            for (TransactionChangeEvent.Change change : event.getChanges()) {
+                apply(current, change.getBefore(), -1);
+                apply(current, change.getAfter(), 1);
+            }
+            if (pending != null) {
+                pending.addAll(event.getChanges());
+            }
+        }
+    }
+
+    /**
+     * Applies the kept changes the scan's snapshot does not hold. A row in the snapshot holds a
+     * create, and an update whose replaced version is older than the row's; it never holds a
+     * delete. A row missing from the snapshot was created after it (a create is kept, so replay
+     * everything) or deleted before it (skip everything); a create deleted again before the
+     * snapshot nets to nothing either way.
+     */
+    private int replayMissed(AnalyticsCube target, List<TransactionChangeEvent.Change> changes) {
+        if (changes.isEmpty()) {
+            return 0;
+        }
+        Set<Long> ids = new HashSet<>();
+        Set<Long> created = new HashSet<>();
+        for (TransactionChangeEvent.Change change : changes) {
+            TransactionState state = change.getAfter() != null ? change.getAfter() : change.getBefore();
+            ids.add(state.getId());
+            if (change.getBefore() == null) {
+                created.add(state.getId());
+            }
+        }
+        Map<Long, Long> versions = new HashMap<>();
+        scanTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(VERSIONS_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            return statement;
+        }, (ResultSet rs) -> {
+            versions.put(rs.getLong(1), rs.getLong(2));
+        });
+
+        int replayed = 0;
+        for (TransactionChangeEvent.Change change : changes) {
+            TransactionState before = change.getBefore();
+            Long id = (change.getAfter() != null ? change.getAfter() : before).getId();
+            Long version = versions.get(id);
+            boolean held = version != null
+                ? before == null || (change.getAfter() != null && before.getVersion() < version)
+                : !created.contains(id);
+            if (!held) {
+                apply(target, before, -1);
+                apply(target, change.getAfter(), 1);
+                replayed++;
+            }
+        }
+        return replayed;
+    }
+
+    /**
+     * One row per group with the group values keyed by dimension name, the amount and the
+     * transaction count. Rows come back in no particular order.
+     */
+    public List<Map<String, Object>> query(AnalyticsCube.Filter filter, List<AnalyticsCube.Dimension> groupBy) {
+        List<AnalyticsCube.Row> rows = cube.query(filter, groupBy);
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (AnalyticsCube.Row row : rows) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            for (int i = 0; i < groupBy.size(); i++) {
+                entry.put(fieldName(groupBy.get(i)), row.getValue(i));
+            }
+            entry.put("amount", Money.ofMinor(row.getAmountCents()));
+            entry.put("count", row.getCount());
+            result.add(entry);
+        }
+        return result;
+    }
+
+    public Map<String, Object> footprint() {
+        return cube.footprint();
+    }
+
+    private void apply(AnalyticsCube target, TransactionState state, int sign) {
+        if (state == null || !state.isCompleted()) {
+            return;
+        }
+        target.add(state.getDate(), state.getType(), state.getCategory(), state.getSubCategory(),
+            state.getPaymentMethod(), sign * toCents(state.getAmount()), sign);
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return Money.toMinor(amount, Money.DEFAULT_CURRENCY);
+    }
+
+    // SUB_CATEGORY -> subCategory, matching the transaction field names
+    private static String fieldName(AnalyticsCube.Dimension dimension) {
+        String[] parts = dimension.name().toLowerCase().split("_");
+        StringBuilder name = new StringBuilder(parts[0]);
+        for (int i = 1; i < parts.length; i++) {
+            name.append(Character.toUpperCase(parts[i].charAt(0))).append(parts[i].substring(1));
+        }
+        return name.toString();
+    }
+}
@@ -1,15 +1,11 @@
 package com.edusync.finance.service;
 
-import com.edusync.finance.entity.Transaction.TransactionType;
-import com.edusync.finance.repository.AccountRepository;
-import com.edusync.finance.repository.BudgetRepository;
-import com.edusync.finance.repository.TransactionRepository;
+import com.edusync.finance.cache.FinanceStatsCache;
+import com.edusync.finance.dto.FinanceTotals;
+import com.edusync.finance.util.Money;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.HashMap;
 import java.util.Map;
@@ -17,83 +13,64 @@ import java.util.Map;
 @Service
 public class FinanceStatsService {
     
-    private final TransactionRepository transactionRepository;
-    private final AccountRepository accountRepository;
-    private final BudgetRepository budgetRepository;
+    private final LedgerRollupService ledgerRollupService;
+    private final FinanceStatsCache financeStatsCache;
     
     @Autowired
     public FinanceStatsService(
-            TransactionRepository transactionRepository,
-            AccountRepository accountRepository,
-            BudgetRepository budgetRepository) {
-        this.transactionRepository = transactionRepository;
-        this.accountRepository = accountRepository;
-        this.budgetRepository = budgetRepository;
+            LedgerRollupService ledgerRollupService,
+            FinanceStatsCache financeStatsCache) {
+        this.ledgerRollupService = ledgerRollupService;
+        this.financeStatsCache = financeStatsCache;
     }
     
     public Map<String, Object> getFinanceStats() {
+        return financeStatsCache.get(this::computeFinanceStats);
+    }
+    
+    // Recomputed even when cached, also refreshing the cache
+    public Map<String, Object> refreshFinanceStats() {
+        return financeStatsCache.reload(this::computeFinanceStats);
+    }
+    
+    private Map<String, Object> computeFinanceStats() {
         Map<String, Object> stats = new HashMap<>();
         
-        // Get current month dates
-        LocalDate now = LocalDate.now();
-        YearMonth currentMonth = YearMonth.from(now);
-        LocalDate startOfMonth = currentMonth.atDay(1);
-        LocalDate endOfMonth = currentMonth.atEndOfMonth();
-        
-        // Get previous month dates
+        // Current and previous month
+        YearMonth currentMonth = YearMonth.now();
         YearMonth previousMonth = currentMonth.minusMonths(1);
-        LocalDate startOfPreviousMonth = previousMonth.atDay(1);
-        LocalDate endOfPreviousMonth = previousMonth.atEndOfMonth();
-        
-        // Calculate revenue
-        BigDecimal totalRevenue = transactionRepository.sumAmountByType(TransactionType.INCOME);
-        totalRevenue = totalRevenue != null ? totalRevenue : BigDecimal.ZERO;
         
-        BigDecimal monthlyRevenue = transactionRepository.sumAmountByTypeAndDateBetween(
-            TransactionType.INCOME, startOfMonth, endOfMonth);
-        monthlyRevenue = monthlyRevenue != null ? monthlyRevenue : BigDecimal.ZERO;
+        FinanceTotals totals = ledgerRollupService.getFinanceTotals(currentMonth, previousMonth);
         
-        BigDecimal previousMonthRevenue = transactionRepository.sumAmountByTypeAndDateBetween(
-            TransactionType.INCOME, startOfPreviousMonth, endOfPreviousMonth);
-        previousMonthRevenue = previousMonthRevenue != null ? previousMonthRevenue : BigDecimal.ZERO;
+        // Calculate revenue
+        Money totalRevenue = Money.of(totals.getTotalRevenue());
+        Money monthlyRevenue = Money.of(totals.getMonthlyRevenue());
+        Money previousMonthRevenue = Money.of(totals.getPreviousMonthRevenue());
         
         // Calculate revenue growth
         double revenueGrowth = calculateGrowth(previousMonthRevenue, monthlyRevenue);
         
         // Calculate expenses
-        BigDecimal totalExpenses = transactionRepository.sumAmountByType(TransactionType.EXPENSE);
-        totalExpenses = totalExpenses != null ? totalExpenses : BigDecimal.ZERO;
-        
-        BigDecimal monthlyExpenses = transactionRepository.sumAmountByTypeAndDateBetween(
-            TransactionType.EXPENSE, startOfMonth, endOfMonth);
-        monthlyExpenses = monthlyExpenses != null ? monthlyExpenses : BigDecimal.ZERO;
-        
-        BigDecimal previousMonthExpenses = transactionRepository.sumAmountByTypeAndDateBetween(
-            TransactionType.EXPENSE, startOfPreviousMonth, endOfPreviousMonth);
-        previousMonthExpenses = previousMonthExpenses != null ? previousMonthExpenses : BigDecimal.ZERO;
+        Money totalExpenses = Money.of(totals.getTotalExpenses());
+        Money monthlyExpenses = Money.of(totals.getMonthlyExpenses());
+        Money previousMonthExpenses = Money.of(totals.getPreviousMonthExpenses());
         
         // Calculate expense growth
         double expenseGrowth = calculateGrowth(previousMonthExpenses, monthlyExpenses);
         
         // Calculate profit
-        BigDecimal netProfit = monthlyRevenue.subtract(monthlyExpenses);
+        Money netProfit = monthlyRevenue.minus(monthlyExpenses);
         
         // Calculate profit margin
-        double profitMargin = 0.0;
-        if (monthlyRevenue.compareTo(BigDecimal.ZERO) > 0) {
-            profitMargin = netProfit.multiply(BigDecimal.valueOf(100))
-                                   .divide(monthlyRevenue, 2, RoundingMode.HALF_UP)
-                                   .doubleValue();
-        }
+        double profitMargin = monthlyRevenue.signum() > 0 ? netProfit.percentOf(monthlyRevenue) : 0.0;
         
         // Get account balance
-        BigDecimal totalBalance = accountRepository.getTotalBalance();
-        totalBalance = totalBalance != null ? totalBalance : BigDecimal.ZERO;
+        Money totalBalance = Money.of(totals.getTotalBalance());
         
         // Get counts
-        long totalTransactions = transactionRepository.count();
-        long totalAccounts = accountRepository.countActiveAccounts();
-        long activeBudgets = budgetRepository.countActiveBudgets();
+        long totalTransactions = orZero(totals.getTotalTransactions());
+        long totalAccounts = orZero(totals.getTotalAccounts());
+        long activeBudgets = orZero(totals.getActiveBudgets());
         
         // Build stats map
         stats.put("totalRevenue", totalRevenue);
@@ -112,15 +89,14 @@ public class FinanceStatsService {
         return stats;
     }
     
-    private double calculateGrowth(BigDecimal previous, BigDecimal current) {
-        if (previous.compareTo(BigDecimal.ZERO) == 0) {
-            return current.compareTo(BigDecimal.ZERO) > 0 ? 100.0 : 0.0;
+    private long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+    
+    private double calculateGrowth(Money previous, Money current) {
+        if (previous.isZero()) {
+            return current.signum() > 0 ? 100.0 : 0.0;
         }
-        
-        BigDecimal growth = current.subtract(previous)
-                                  .multiply(BigDecimal.valueOf(100))
-                                  .divide(previous, 2, RoundingMode.HALF_UP);
-        return growth.doubleValue();
+        return current.minus(previous).percentOf(previous);
     }
 }
-
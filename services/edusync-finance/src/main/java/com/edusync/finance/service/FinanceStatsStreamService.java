@@ -0,0 +1,213 @@
+package com.edusync.finance.service;
+
+import com.edusync.finance.cache.FinanceStatsCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes the finance dashboard figures to server-sent-event subscribers. A subscriber first
+ * gets a "snapshot" event with every figure, then "delta" events with only the figures whose
+ * value changed. Figures are absolute values, so a delta can be applied on top of any earlier
+ * state.
+ *
+ * Once per tick, and only when a write has invalidated FinanceStatsCache since the last push,
+ * the figures are recomputed once for all subscribers. A burst of writes therefore becomes a
+ * single delta. Writes made through another instance do not touch this one's cache, so the
+ * figures are also recomputed every {@code finance.stats.stream.refresh}. Sending runs on a
+ * small pool; a subscriber whose connection is still busy keeps one pending payload that later
+ * deltas merge into, so slow clients cost no extra memory and never hold up the others.
+ */
+@Service
+public class FinanceStatsStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FinanceStatsStreamService.class);
+
+    private final FinanceStatsService financeStatsService;
+    private final FinanceStatsCache financeStatsCache;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong eventIds = new AtomicLong();
+    private final ExecutorService sender;
+    private final Duration timeout;
+    private final int maxSubscribers;
+
+    // Only touched by the scheduler thread
+    private long pushedGeneration = -1;
+    private Map<String, Object> pushed = Map.of();
+    private long computedAt = System.nanoTime();
+    private long lastSentAt = System.nanoTime();
+
+    @Value("${finance.stats.stream.heartbeat:PT30S}")
+    private Duration heartbeat;
+
+    @Value("${finance.stats.stream.refresh:PT15S}")
+    private Duration refresh;
+
+    @Autowired
+    public FinanceStatsStreamService(
+            FinanceStatsService financeStatsService,
+            FinanceStatsCache financeStatsCache,
+            MeterRegistry meterRegistry,
+            @Value("${finance.stats.stream.timeout:PT30M}") Duration timeout,
+            @Value("${finance.stats.stream.max-subscribers:10000}") int maxSubscribers,
+            @Value("${finance.stats.stream.sender-threads:2}") int senderThreads) {
+        this.financeStatsService = financeStatsService;
+        this.financeStatsCache = financeStatsCache;
+        this.timeout = timeout;
+        this.maxSubscribers = maxSubscribers;
+        AtomicInteger threads = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "finance-stats-stream-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("finance.stats.stream.subscribers", subscribers, Set::size).register(meterRegistry);
+    }
+
+    /**
+     * Registers a subscriber and queues its snapshot. Returns null when the subscriber limit is
+     * reached. The browser's EventSource reconnects on its own after the emitter times out.
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        // Registered before the snapshot is read, so no delta computed after the read can be missed
+        subscribers.add(subscriber);
+        offer(subscriber, financeStatsService.getFinanceStats(), true);
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${finance.stats.stream.tick:PT1S}")
+    public void tick() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        long generation = financeStatsCache.getGeneration();
+        boolean due = System.nanoTime() - computedAt >= refresh.toNanos();
+        if (generation != pushedGeneration || due) {
+            Map<String, Object> stats = due ? financeStatsService.refreshFinanceStats() : financeStatsService.getFinanceStats();
+            computedAt = System.nanoTime();
+            Map<String, Object> delta = new HashMap<>();
+            stats.forEach((key, value) -> {
+                if (!Objects.equals(pushed.get(key), value)) {
+                    delta.put(key, value);
+                }
+            });
+            pushedGeneration = generation;
+            pushed = stats;
+            if (!delta.isEmpty()) {
+                subscribers.forEach(subscriber -> offer(subscriber, delta, false));
+                lastSentAt = System.nanoTime();
+                return;
+            }
+        }
+        // Keeps proxies from closing quiet connections and finds clients that went away
+        if (System.nanoTime() - lastSentAt >= heartbeat.toNanos()) {
+            subscribers.forEach(subscriber -> offer(subscriber, null, false));
+            lastSentAt = System.nanoTime();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    // A null payload is a heartbeat; it is dropped when figures are already pending
+    private void offer(Subscriber subscriber, Map<String, Object> figures, boolean snapshot) {
+        synchronized (subscriber) {
+            if (figures != null) {
+                if (subscriber.pending == null) {
+                    subscriber.pending = new HashMap<>();
+                }
+                subscriber.pending.putAll(figures);
+                subscriber.snapshot |= snapshot;
+            } else {
+                subscriber.heartbeat = true;
+            }
+            if (subscriber.draining) {
+                return;
+            }
+            subscriber.draining = true;
+        }
+        try {
+            sender.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscribers.remove(subscriber);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            Map<String, Object> figures;
+            boolean snapshot;
+            synchronized (subscriber) {
+                figures = subscriber.pending;
+                snapshot = subscriber.snapshot;
+                if (figures == null && !subscriber.heartbeat) {
+                    subscriber.draining = false;
+                    return;
+                }
+                subscriber.pending = null;
+                subscriber.snapshot = false;
+                subscriber.heartbeat = false;
+            }
+            try {
+                if (figures != null) {
+                    subscriber.emitter.send(SseEmitter.event()
+                        .id(Long.toString(eventIds.incrementAndGet()))
+                        .name(snapshot ? "snapshot" : "delta")
+                        .data(figures, MediaType.APPLICATION_JSON));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Dropping finance stats subscriber: {}", e.getMessage());
+                subscribers.remove(subscriber);
+                subscriber.emitter.completeWithError(e);
+                return;
+            }
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        // Guarded by the subscriber itself
+        private Map<String, Object> pending;
+        private boolean snapshot;
+        private boolean heartbeat;
+        private boolean draining;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
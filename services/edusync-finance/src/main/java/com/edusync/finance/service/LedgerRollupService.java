@@ -0,0 +1,257 @@
+package com.edusync.finance.service;
+
+import com.edusync.finance.dto.FinanceTotals;
+import com.edusync.finance.entity.Transaction.TransactionStatus;
+import com.edusync.finance.entity.Transaction.TransactionType;
+import com.edusync.finance.event.TransactionChangeEvent;
+import com.edusync.finance.event.TransactionState;
+import com.edusync.finance.repository.LedgerRollupRepository;
+import com.edusync.finance.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps finance_ledger_rollups in step with transactions and answers aggregate queries from it.
+ * Deltas are applied in the writer's transaction, so the rollup commits or rolls back with the write.
+ * The rollup only covers open months: reads add the frozen totals of closed months (see
+ * PeriodCloseService), and verify and rebuild only scan transactions of open months.
+ */
+@Service
+@Transactional
+public class LedgerRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerRollupService.class);
+
+    private static final String APPLY_DELTA_SQL = """
+        INSERT INTO finance_ledger_rollups (period_month, type, category, status, total_amount, transaction_count)
+        VALUES (?, ?, ?, ?, ?, ?)
+        ON CONFLICT (period_month, type, category, status) DO UPDATE SET
+            total_amount = finance_ledger_rollups.total_amount + EXCLUDED.total_amount,
+            transaction_count = finance_ledger_rollups.transaction_count + EXCLUDED.transaction_count
+        """;
+
+    private final LedgerRollupRepository ledgerRollupRepository;
+    private final TransactionRepository transactionRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${finance.rollup.auto-repair:false}")
+    private boolean autoRepair;
+
+    @Autowired
+    public LedgerRollupService(
+            LedgerRollupRepository ledgerRollupRepository,
+            TransactionRepository transactionRepository,
+            JdbcTemplate jdbcTemplate) {
+        this.ledgerRollupRepository = ledgerRollupRepository;
+        this.transactionRepository = transactionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener
+    public void onTransactionChange(TransactionChangeEvent event) {
+        // Sorted so concurrent writers upsert rollup rows in the same order
+        Map<RollupKey, Delta> deltas = new TreeMap<>();
+        for (TransactionChangeEvent.Change change : event.getChanges()) {
+            if (change.getBefore() != null) {
+                deltas.computeIfAbsent(RollupKey.of(change.getBefore()), key -> new Delta())
+                      .add(change.getBefore().getAmount().negate(), -1);
+            }
+            if (change.getAfter() != null) {
+                deltas.computeIfAbsent(RollupKey.of(change.getAfter()), key -> new Delta())
+                      .add(change.getAfter().getAmount(), 1);
+            }
+        }
+
+        // One batched round trip per event; bulk imports touch many keys at once
+        List<Object[]> upserts = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> {
+            if (!delta.isZero()) {
+                upserts.add(new Object[] {
+                    key.month, key.type.name(), key.category, key.status.name(), delta.amount, delta.count
+                });
+            }
+        });
+        if (!upserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, upserts);
+        }
+    }
+
+    // ============ READS ============
+
+    @Transactional(readOnly = true)
+    public FinanceTotals getFinanceTotals(YearMonth currentMonth, YearMonth previousMonth) {
+        return ledgerRollupRepository.aggregateFinanceTotals(currentMonth.atDay(1), previousMonth.atDay(1));
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal getTotalAmountByType(TransactionType type) {
+        return orZero(ledgerRollupRepository.sumAmountByType(type.name()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Object[]> getCategoryBreakdownByType(TransactionType type) {
+        return ledgerRollupRepository.sumAmountByTypeGroupByCategory(type.name());
+    }
+
+    /**
+     * Whole months inside the range come from the rollup; only the partial months at either
+     * end are summed from raw transactions.
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getTotalAmountByTypeAndDateRange(TransactionType type, LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            return BigDecimal.ZERO;
+        }
+
+        YearMonth firstFullMonth = startDate.getDayOfMonth() == 1
+            ? YearMonth.from(startDate)
+            : YearMonth.from(startDate).plusMonths(1);
+        YearMonth lastFullMonth = endDate.equals(YearMonth.from(endDate).atEndOfMonth())
+            ? YearMonth.from(endDate)
+            : YearMonth.from(endDate).minusMonths(1);
+
+        if (firstFullMonth.isAfter(lastFullMonth)) {
+            return sumRaw(type, startDate, endDate);
+        }
+
+        BigDecimal total = orZero(ledgerRollupRepository.sumAmountByTypeAndMonthBetween(
+            type.name(), firstFullMonth.atDay(1), lastFullMonth.atDay(1)));
+        if (startDate.isBefore(firstFullMonth.atDay(1))) {
+            total = total.add(sumRaw(type, startDate, firstFullMonth.atDay(1).minusDays(1)));
+        }
+        if (endDate.isAfter(lastFullMonth.atEndOfMonth())) {
+            total = total.add(sumRaw(type, lastFullMonth.plusMonths(1).atDay(1), endDate));
+        }
+        return total;
+    }
+
+    // ============ VERIFY / REBUILD ============
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> verify() {
+        List<Map<String, Object>> mismatches = new ArrayList<>();
+        for (Object[] row : ledgerRollupRepository.findMismatches()) {
+            Map<String, Object> mismatch = new HashMap<>();
+            mismatch.put("periodMonth", row[0]);
+            mismatch.put("type", row[1]);
+            mismatch.put("category", row[2]);
+            mismatch.put("status", row[3]);
+            mismatch.put("rollupAmount", row[4]);
+            mismatch.put("actualAmount", row[5]);
+            mismatch.put("rollupCount", row[6]);
+            mismatch.put("actualCount", row[7]);
+            mismatches.add(mismatch);
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("consistent", mismatches.isEmpty());
+        result.put("mismatchCount", mismatches.size());
+        result.put("mismatches", mismatches);
+        return result;
+    }
+
+    public Map<String, Object> rebuild() {
+        long started = System.currentTimeMillis();
+        ledgerRollupRepository.lockTransactionsForRebuild();
+        ledgerRollupRepository.deleteAllRollups();
+        int rows = ledgerRollupRepository.insertRollupsFromTransactions();
+        long elapsed = System.currentTimeMillis() - started;
+        logger.info("Rebuilt ledger rollup: {} rows in {} ms", rows, elapsed);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("rollupRows", rows);
+        result.put("elapsedMillis", elapsed);
+        return result;
+    }
+
+    @Scheduled(cron = "${finance.rollup.verify-cron:0 30 2 * * *}")
+    public void scheduledVerify() {
+        Map<String, Object> result = verify();
+        if (Boolean.TRUE.equals(result.get("consistent"))) {
+            logger.info("Ledger rollup verified against transactions");
+            return;
+        }
+        logger.warn("Ledger rollup has {} mismatched rows", result.get("mismatchCount"));
+        if (autoRepair) {
+            rebuild();
+        }
+    }
+
+    // Seeds the rollup the first time the service starts against existing transaction history
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeIfEmpty() {
+        if (ledgerRollupRepository.count() == 0 && transactionRepository.count() > 0) {
+            logger.info("Ledger rollup is empty, building it from transactions");
+            rebuild();
+        }
+    }
+
+    private BigDecimal sumRaw(TransactionType type, LocalDate startDate, LocalDate endDate) {
+        return orZero(transactionRepository.sumAmountByTypeAndDateBetween(type, startDate, endDate));
+    }
+
+    private BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private static final class RollupKey implements Comparable<RollupKey> {
+        private static final Comparator<RollupKey> ORDER = Comparator
+            .comparing((RollupKey key) -> key.month)
+            .thenComparing(key -> key.type)
+            .thenComparing(key -> key.category)
+            .thenComparing(key -> key.status);
+
+        private final LocalDate month;
+        private final TransactionType type;
+        private final String category;
+        private final TransactionStatus status;
+
+        private RollupKey(LocalDate month, TransactionType type, String category, TransactionStatus status) {
+            this.month = month;
+            this.type = type;
+            this.category = category;
+            this.status = status;
+        }
+
+        private static RollupKey of(TransactionState state) {
+            return new RollupKey(state.getDate().withDayOfMonth(1), state.getType(), state.getCategory(), state.getStatus());
+        }
+
+        @Override
+        public int compareTo(RollupKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    private static final class Delta {
+        private BigDecimal amount = BigDecimal.ZERO;
+        private long count;
+
+        private void add(BigDecimal amount, long count) {
+            this.amount = this.amount.add(amount);
+            this.count += count;
+        }
+
+        private boolean isZero() {
+            return count == 0 && amount.signum() == 0;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.edusync.finance.service;
+
+import com.edusync.finance.cache.FinanceStatsCache;
+import com.edusync.finance.dto.PeriodSnapshot;
+import com.edusync.finance.entity.FinancePeriod;
+import com.edusync.finance.event.TransactionChangeEvent;
+import com.edusync.finance.event.TransactionState;
+import com.edusync.finance.repository.FinancePeriodRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Closes accounting months. Months are closed in order, so the closed range is always every
+ * month up to the latest closed one. Closing freezes the month's totals into the snapshot
+ * tables and removes it from the ledger rollup, which then only covers open months; aggregate
+ * reads add the two together. Any write that would touch a transaction dated in a closed month
+ * is rolled back with an IllegalStateException.
+ */
+@Service
+@Transactional
+public class PeriodCloseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PeriodCloseService.class);
+
+    private final FinancePeriodRepository financePeriodRepository;
+    private final FinanceStatsCache financeStatsCache;
+    private final EntityManager entityManager;
+    private final TransactionPartitionService transactionPartitionService;
+
+    @Autowired
+    public PeriodCloseService(
+            FinancePeriodRepository financePeriodRepository,
+            FinanceStatsCache financeStatsCache,
+            EntityManager entityManager,
+            TransactionPartitionService transactionPartitionService) {
+        this.financePeriodRepository = financePeriodRepository;
+        this.financeStatsCache = financeStatsCache;
+        this.entityManager = entityManager;
+        this.transactionPartitionService = transactionPartitionService;
+    }
+
+    /**
+     * Closes every open month up to and including {@code through}. Only past months can be
+     * closed. Returns the newly closed periods, oldest first.
+     */
+    public List<FinancePeriod> closeThrough(YearMonth through) {
+        if (!through.isBefore(YearMonth.now())) {
+            throw new IllegalArgumentException("Only past months can be closed: " + through);
+        }
+
+        financePeriodRepository.lockTransactionsForClose();
+        Optional<LocalDate> latestClosed = financePeriodRepository.findLatestClosedMonth();
+        YearMonth from;
+        if (latestClosed.isPresent()) {
+            from = YearMonth.from(latestClosed.get()).plusMonths(1);
+        } else {
+            // The first close also covers everything before it, so no open month is left behind
+            from = financePeriodRepository.findEarliestTransactionDate()
+                .map(YearMonth::from)
+                .filter(earliest -> earliest.isBefore(through))
+                .orElse(through);
+        }
+        if (from.isAfter(through)) {
+            throw new IllegalStateException("Period " + through + " is already closed");
+        }
+
+        long started = System.currentTimeMillis();
+        LocalDate fromMonth = from.atDay(1);
+        LocalDate throughMonth = through.atDay(1);
+        LocalDate endExclusive = through.plusMonths(1).atDay(1);
+        financePeriodRepository.insertCategoryTotals(fromMonth, endExclusive);
+        int periods = financePeriodRepository.insertPeriods(fromMonth, throughMonth);
+        financePeriodRepository.insertAccountTotals(fromMonth, endExclusive);
+        financePeriodRepository.deleteRollups(fromMonth, throughMonth);
+        logger.info("Closed {} period(s) {} to {} in {} ms", periods, from, through, System.currentTimeMillis() - started);
+
+        // Snapshots come from raw transactions, so they also correct any rollup drift in those months
+        financeStatsCache.invalidate();
+        return financePeriodRepository.findByPeriodMonthGreaterThanEqualOrderByPeriodMonth(fromMonth);
+    }
+
+    // Only the latest closed month can be reopened, so the closed range stays contiguous; archived years stay closed
+    public void reopen(YearMonth month) {
+        financePeriodRepository.lockTransactionsForClose();
+        LocalDate periodMonth = month.atDay(1);
+        if (financePeriodRepository.findByPeriodMonth(periodMonth).isEmpty()) {
+            throw new RuntimeException("Period not closed: " + month);
+        }
+        LocalDate latest = financePeriodRepository.findLatestClosedMonth().orElseThrow();
+        if (!latest.equals(periodMonth)) {
+            throw new IllegalStateException("Only the latest closed period (" + YearMonth.from(latest) + ") can be reopened");
+        }
+        if (transactionPartitionService.isArchived(month.getYear())) {
+            throw new IllegalStateException("Year " + month.getYear() + " is archived; period " + month + " cannot be reopened");
+        }
+
+        financePeriodRepository.restoreRollups(periodMonth);
+        financePeriodRepository.deleteCategoryTotals(periodMonth);
+        financePeriodRepository.deleteAccountTotals(periodMonth);
+        financePeriodRepository.deletePeriod(periodMonth);
+        logger.info("Reopened period {}", month);
+        financeStatsCache.invalidate();
+    }
+
+    @Transactional(readOnly = true)
+    public List<FinancePeriod> getClosedPeriods() {
+        return financePeriodRepository.findAllByOrderByPeriodMonthDesc();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<PeriodSnapshot> getSnapshot(YearMonth month) {
+        LocalDate periodMonth = month.atDay(1);
+        return financePeriodRepository.findByPeriodMonth(periodMonth)
+            .map(period -> new PeriodSnapshot(
+                period,
+                financePeriodRepository.findCategoryTotals(periodMonth),
+                financePeriodRepository.findAccountTotals(periodMonth)));
+    }
+
+    /**
+     * Runs first among the listeners in the writer's transaction. Flushing takes the writer's
+     * lock on transactions before the check: a close that is already running makes it wait and
+     * then see the closed month, and a close that starts later waits for this write to commit
+     * and includes it in the snapshot.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onTransactionChange(TransactionChangeEvent event) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.flush();
+        }
+        Optional<LocalDate> latestClosed = financePeriodRepository.findLatestClosedMonth();
+        if (latestClosed.isEmpty()) {
+            return;
+        }
+        LocalDate openFrom = latestClosed.get().plusMonths(1);
+        for (TransactionChangeEvent.Change change : event.getChanges()) {
+            checkOpen(change.getBefore(), openFrom);
+            checkOpen(change.getAfter(), openFrom);
+        }
+    }
+
+    // First day that is still open, or null when nothing has been closed yet
+    @Transactional(readOnly = true)
+    public LocalDate getOpenFrom() {
+        return financePeriodRepository.findLatestClosedMonth().map(month -> month.plusMonths(1)).orElse(null);
+    }
+
+    private void checkOpen(TransactionState state, LocalDate openFrom) {
+        if (state != null && state.getDate().isBefore(openFrom)) {
+            throw new IllegalStateException("Period " + YearMonth.from(state.getDate()) + " is closed; transaction "
+                + state.getTransactionId() + " cannot be changed");
+        }
+    }
+}
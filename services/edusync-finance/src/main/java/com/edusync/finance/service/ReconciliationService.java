@@ -0,0 +1,754 @@
+package com.edusync.finance.service;
+
+import com.edusync.finance.entity.ReconciliationLine;
+import com.edusync.finance.entity.ReconciliationLine.Outcome;
+import com.edusync.finance.entity.ReconciliationRun;
+import com.edusync.finance.entity.ReconciliationRun.Phase;
+import com.edusync.finance.entity.ReconciliationRun.RunStatus;
+import com.edusync.finance.entity.ReconciliationRun.StatementFormat;
+import com.edusync.finance.repository.ReconciliationLineRepository;
+import com.edusync.finance.repository.ReconciliationRunRepository;
+import com.edusync.finance.util.Money;
+import com.edusync.finance.util.StatementParser;
+import com.edusync.finance.util.StatementParser.StatementLines;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Reconciles a bank statement against the transactions table. The statement is parsed from a
+ * memory-mapped copy of the upload; every transaction in its date range (widened by the date
+ * window) is loaded once and hashed by signed amount, with each bucket in date order. Lines are
+ * then scored in parallel on a fork/join pool: a candidate must have the same amount and fall
+ * inside the window, and is ranked by how well its reference or transaction ID agrees with the
+ * line's reference (exact, or trigram similarity for typos) and by how close the dates are.
+ *
+ * One transaction can only reconcile one line, so the best-scoring lines claim their candidates
+ * first, sequentially. A line keeps its top few candidates; when all of them were claimed by
+ * better lines it ends up unmatched. Results are written in JDBC batches and each batch
+ * advances the run's progress.
+ *
+ * Runs execute one at a time on a background thread. A run belongs to the instance that started
+ * it, which refreshes its heartbeat; any instance marks a RUNNING run interrupted once its
+ * heartbeat is older than {@code finance.reconciliation.stale-after}, and the owner stops writing
+ * to it from then on. An interrupted run cannot be resumed because the uploaded file is gone;
+ * upload the statement again.
+ */
+@Service
+public class ReconciliationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReconciliationService.class);
+
+    public static final int MAX_DATE_WINDOW_DAYS = 31;
+    public static final int MAX_LINE_PAGE = 1000;
+
+    // Candidates kept per line for the claiming pass
+    private static final int TOP_CANDIDATES = 3;
+    // Share of the score that comes from the reference; the rest is date proximity
+    private static final double REFERENCE_WEIGHT = 0.7;
+    // Lines scored per fork/join leaf task
+    private static final int MATCH_SPLIT = 2048;
+    // Shorter references are too likely to turn up by chance in a description
+    private static final int MIN_DESCRIPTION_REFERENCE = 5;
+    // Repeated characters can give two different references the same trigrams; keep such a match below an exact one
+    private static final double MAX_FUZZY_REFERENCE_SCORE = 0.95;
+
+    private static final String CANDIDATES_SQL = """
+        SELECT id, transaction_id, reference, type, amount, date
+        FROM transactions
+        WHERE date BETWEEN ? AND ? AND status <> 'CANCELLED' AND (CAST(? AS bigint) IS NULL OR account_id = ?)
+        ORDER BY date, id
+        """;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO finance_reconciliation_lines (run_id, position, date, amount, reference, description, outcome,
+            transaction_id, score, error)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private static final String CHECKPOINT_SQL = "UPDATE finance_reconciliation_runs"
+        + " SET lines_saved = lines_saved + ?, updated_at = CURRENT_TIMESTAMP, heartbeat_at = CURRENT_TIMESTAMP"
+        + " WHERE id = ? AND owner = ? AND status = 'RUNNING'";
+
+    private static final String RUNNING_INDEX_SQL = "CREATE UNIQUE INDEX IF NOT EXISTS uk_reconciliation_running"
+        + " ON finance_reconciliation_runs ((true)) WHERE status = 'RUNNING'";
+
+    private final ReconciliationRunRepository runRepository;
+    private final ReconciliationLineRepository lineRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate scanTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ForkJoinPool matchPool;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "statement-reconciliation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${finance.reconciliation.date-window-days:3}")
+    private int defaultDateWindowDays;
+
+    @Value("${finance.reconciliation.reference-threshold:0.6}")
+    private double referenceThreshold;
+
+    @Value("${finance.reconciliation.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${finance.reconciliation.stale-after:PT1M}")
+    private Duration staleAfter;
+
+    @Autowired
+    public ReconciliationService(
+            ReconciliationRunRepository runRepository,
+            ReconciliationLineRepository lineRepository,
+            JdbcTemplate jdbcTemplate,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            @Value("${finance.export.fetch-size:1000}") int fetchSize,
+            @Value("${finance.reconciliation.parallelism:0}") int parallelism) {
+        this.runRepository = runRepository;
+        this.lineRepository = lineRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.scanTemplate = new JdbcTemplate(dataSource);
+        this.scanTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.matchPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    // Copies the upload to a temporary file for the background run, which maps and then deletes it
+    public ReconciliationRun start(InputStream input, String fileName, StatementFormat format,
+                                   Long accountId, Integer dateWindowDays) throws IOException {
+        int window = dateWindowDays != null ? dateWindowDays : defaultDateWindowDays;
+        if (format == null) {
+            throw new IllegalArgumentException("Statement format is required");
+        }
+        if (window < 0 || window > MAX_DATE_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Date window must be between 0 and " + MAX_DATE_WINDOW_DAYS + " days");
+        }
+        if (runRepository.existsByStatus(RunStatus.RUNNING)) {
+            throw new IllegalStateException("A reconciliation is already running");
+        }
+
+        Path file = Files.createTempFile("statement-", "." + format.name().toLowerCase(Locale.ROOT));
+        // The run deletes it when done; this covers a shutdown part way through
+        file.toFile().deleteOnExit();
+        try {
+            Files.copy(input, file, StandardCopyOption.REPLACE_EXISTING);
+            ReconciliationRun run = new ReconciliationRun();
+            run.setFileName(fileName);
+            run.setFormat(format);
+            run.setAccountId(accountId);
+            run.setDateWindowDays(window);
+            run.setOwner(instanceId);
+            try {
+                run = runRepository.save(run);
+            } catch (DataIntegrityViolationException e) {
+                throw new IllegalStateException("A reconciliation is already running");
+            }
+            Long runId = run.getId();
+            executor.submit(() -> run(runId, file));
+            return run;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    public Optional<ReconciliationRun> getRun(Long runId) {
+        return runRepository.findById(runId);
+    }
+
+    public List<ReconciliationRun> getRuns() {
+        return runRepository.findAllByOrderByIdDesc();
+    }
+
+    // Lines in statement order after the given position, optionally only one outcome
+    public List<ReconciliationLine> getLines(Long runId, Outcome outcome, long afterPosition, int limit) {
+        if (limit < 1 || limit > MAX_LINE_PAGE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LINE_PAGE);
+        }
+        if (!runRepository.existsById(runId)) {
+            throw new RuntimeException("Reconciliation run not found with id: " + runId);
+        }
+        PageRequest page = PageRequest.of(0, limit);
+        return outcome != null
+            ? lineRepository.findByRunIdAndOutcomeAndPositionGreaterThanOrderByPosition(runId, outcome, afterPosition, page)
+            : lineRepository.findByRunIdAndPositionGreaterThanOrderByPosition(runId, afterPosition, page);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        // Stale runs first, so RUNNING duplicates left from before the index cannot block it
+        heartbeat();
+        try {
+            jdbcTemplate.execute(RUNNING_INDEX_SQL);
+        } catch (DataAccessException e) {
+            logger.warn("Could not create the one-running-reconciliation index: {}", e.getMessage());
+        }
+    }
+
+    // Keeps this instance's run alive and marks runs whose worker stopped reporting, on any instance
+    @Scheduled(fixedDelayString = "${finance.reconciliation.heartbeat:PT10S}")
+    public void heartbeat() {
+        Integer interrupted = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            runRepository.updateHeartbeat(RunStatus.RUNNING, instanceId, now);
+            return runRepository.updateStatusHeartbeatBefore(RunStatus.RUNNING, RunStatus.INTERRUPTED,
+                "Interrupted: its instance stopped reporting; upload the statement again", now.minus(staleAfter));
+        });
+        if (interrupted != null && interrupted > 0) {
+            logger.warn("Marked {} reconciliation run(s) as interrupted", interrupted);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        matchPool.shutdownNow();
+    }
+
+    private void run(Long runId, Path file) {
+        long started = System.nanoTime();
+        try {
+            ReconciliationRun run = runRepository.findById(runId).orElseThrow();
+            int window = run.getDateWindowDays();
+
+            StatementLines lines = run.getFormat() == StatementFormat.OFX
+                ? StatementParser.parseOfx(file) : StatementParser.parseCsv(file);
+            long parsed = System.nanoTime();
+            update(runId, r -> {
+                r.setTotalLines(lines.size());
+                r.setInvalidLines(lines.getInvalid());
+                r.setPhase(Phase.LOADING);
+            });
+
+            Candidates candidates = loadCandidates(lines, run.getAccountId(), window);
+            long loaded = System.nanoTime();
+            update(runId, r -> {
+                r.setCandidates(candidates.size);
+                r.setPhase(Phase.MATCHING);
+            });
+
+            Matches matches = match(lines, candidates, window);
+            long matched = System.nanoTime();
+            update(runId, r -> {
+                r.setMatched(matches.count(Outcome.MATCHED));
+                r.setSuggested(matches.count(Outcome.SUGGESTED));
+                r.setUnmatched(matches.count(Outcome.UNMATCHED));
+                r.setPhase(Phase.SAVING);
+            });
+
+            boolean complete = save(runId, lines, candidates, matches);
+            long elapsed = (System.nanoTime() - started) / 1_000_000;
+            update(runId, r -> {
+                r.setElapsedMillis(elapsed);
+                if (complete) {
+                    r.setStatus(RunStatus.COMPLETED);
+                    r.setPhase(Phase.DONE);
+                    r.setCompletedAt(LocalDateTime.now());
+                } else {
+                    r.setStatus(RunStatus.INTERRUPTED);
+                }
+            });
+            logger.info("Reconciled {} statement lines against {} transactions in {} ms "
+                    + "(parse {} ms, load {} ms, match {} ms, save {} ms)",
+                lines.size(), candidates.size, elapsed, (parsed - started) / 1_000_000, (loaded - parsed) / 1_000_000,
+                (matched - loaded) / 1_000_000, (System.nanoTime() - matched) / 1_000_000);
+        } catch (LostRunException e) {
+            logger.warn(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Reconciliation run {} failed", runId, e);
+            try {
+                update(runId, r -> {
+                    r.setStatus(RunStatus.FAILED);
+                    r.setError(e.getMessage());
+                });
+            } catch (LostRunException lost) {
+                logger.warn(lost.getMessage());
+            }
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("Could not delete statement file {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    // ============ CANDIDATES ============
+
+    private Candidates loadCandidates(StatementLines lines, Long accountId, int window) {
+        int first = Integer.MAX_VALUE;
+        int last = Integer.MIN_VALUE;
+        for (int i = 0; i < lines.size(); i++) {
+            if (lines.error(i) == null) {
+                first = Math.min(first, lines.epochDay(i));
+                last = Math.max(last, lines.epochDay(i));
+            }
+        }
+        Candidates candidates = new Candidates();
+        if (first > last) {
+            return candidates;
+        }
+
+        LocalDate from = LocalDate.ofEpochDay(first - window);
+        LocalDate to = LocalDate.ofEpochDay(last + window);
+        // Read-only so the cursor streams with the fetch size instead of loading the whole range at once
+        readOnlyTransaction.executeWithoutResult(status -> scanTemplate.query(CANDIDATES_SQL, rs -> {
+            long cents = Money.toMinor(rs.getBigDecimal(5), Money.DEFAULT_CURRENCY);
+            // Statements show money out as negative
+            candidates.add(rs.getLong(1), normalize(rs.getString(2)), normalize(rs.getString(3)),
+                "EXPENSE".equals(rs.getString(4)) ? -cents : cents, (int) rs.getDate(6).toLocalDate().toEpochDay());
+        }, Date.valueOf(from), Date.valueOf(to), accountId, accountId));
+        candidates.index();
+        return candidates;
+    }
+
+    // Parallel arrays in date order, plus the indexes of each amount's candidates (also in date order)
+    private static final class Candidates {
+        private int size;
+        private long[] ids = new long[1024];
+        private String[] transactionIds = new String[1024];
+        private String[] references = new String[1024];
+        private long[] cents = new long[1024];
+        private int[] days = new int[1024];
+        private Map<Long, int[]> byAmount = Map.of();
+        // Computed once here rather than for every line the candidate is compared with
+        private long[][] transactionIdTrigrams = new long[0][];
+        private long[][] referenceTrigrams = new long[0][];
+
+        private void add(long id, String transactionId, String reference, long amount, int day) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                transactionIds = Arrays.copyOf(transactionIds, capacity);
+                references = Arrays.copyOf(references, capacity);
+                cents = Arrays.copyOf(cents, capacity);
+                days = Arrays.copyOf(days, capacity);
+            }
+            ids[size] = id;
+            transactionIds[size] = transactionId;
+            references[size] = reference;
+            cents[size] = amount;
+            days[size] = day;
+            size++;
+        }
+
+        private void index() {
+            // [bucket size, filled so far]
+            Map<Long, int[]> counts = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                counts.computeIfAbsent(cents[i], amount -> new int[2])[0]++;
+            }
+            Map<Long, int[]> buckets = new HashMap<>(counts.size() * 2);
+            counts.forEach((amount, count) -> buckets.put(amount, new int[count[0]]));
+            for (int i = 0; i < size; i++) {
+                buckets.get(cents[i])[counts.get(cents[i])[1]++] = i;
+            }
+            byAmount = buckets;
+
+            transactionIdTrigrams = new long[size][];
+            referenceTrigrams = new long[size][];
+            for (int i = 0; i < size; i++) {
+                transactionIdTrigrams[i] = transactionIds[i] != null ? trigrams(transactionIds[i]) : null;
+                referenceTrigrams[i] = references[i] != null ? trigrams(references[i]) : null;
+            }
+        }
+
+        // First position in the bucket whose date is on or after the given day
+        private int firstOnOrAfter(int[] bucket, int day) {
+            int low = 0;
+            int high = bucket.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (days[bucket[mid]] < day) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    // ============ MATCHING ============
+
+    private Matches match(StatementLines lines, Candidates candidates, int window) {
+        int n = lines.size();
+        int[] top = new int[n * TOP_CANDIDATES];
+        double[] scores = new double[n * TOP_CANDIDATES];
+        double[] referenceScores = new double[n * TOP_CANDIDATES];
+        Arrays.fill(top, -1);
+        LineScorer scorer = new LineScorer(lines, candidates, window);
+        matchPool.invoke(new ScoreTask(scorer, top, scores, referenceScores, 0, n));
+
+        // Best lines claim first; ties go to the earlier line so a rerun gives the same result
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (top[i * TOP_CANDIDATES] >= 0) {
+                order.add(i);
+            }
+        }
+        order.sort((a, b) -> {
+            int byScore = Double.compare(scores[b * TOP_CANDIDATES], scores[a * TOP_CANDIDATES]);
+            return byScore != 0 ? byScore : Integer.compare(a, b);
+        });
+
+        Matches matches = new Matches(n);
+        boolean[] claimed = new boolean[candidates.size];
+        for (int line : order) {
+            for (int k = line * TOP_CANDIDATES; k < (line + 1) * TOP_CANDIDATES && top[k] >= 0; k++) {
+                if (!claimed[top[k]]) {
+                    matches.assign(line, top[k], scores[k], referenceScores[k] >= referenceThreshold);
+                    break;
+                }
+            }
+            if (matches.candidate[line] < 0) {
+                // Better lines took every kept candidate; look again at the rest of the window
+                double[] best = {-1, 0};
+                int[] bestCandidate = {-1};
+                scorer.scan(line, claimed, (candidate, score, referenceScore) -> {
+                    if (score > best[0]) {
+                        best[0] = score;
+                        best[1] = referenceScore;
+                        bestCandidate[0] = candidate;
+                    }
+                });
+                if (bestCandidate[0] >= 0) {
+                    matches.assign(line, bestCandidate[0], best[0], best[1] >= referenceThreshold);
+                }
+            }
+            if (matches.candidate[line] >= 0) {
+                claimed[matches.candidate[line]] = true;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            if (matches.outcome[i] == null) {
+                matches.outcome[i] = lines.error(i) != null ? Outcome.INVALID : Outcome.UNMATCHED;
+            }
+        }
+        return matches;
+    }
+
+    private static final class Matches {
+        private final Outcome[] outcome;
+        private final int[] candidate;
+        private final double[] score;
+
+        private Matches(int size) {
+            outcome = new Outcome[size];
+            candidate = new int[size];
+            score = new double[size];
+            Arrays.fill(candidate, -1);
+        }
+
+        private void assign(int line, int candidate, double score, boolean referenceAgrees) {
+            this.candidate[line] = candidate;
+            this.score[line] = score;
+            this.outcome[line] = referenceAgrees ? Outcome.MATCHED : Outcome.SUGGESTED;
+        }
+
+        private long count(Outcome wanted) {
+            return Arrays.stream(outcome).filter(o -> o == wanted).count();
+        }
+    }
+
+    private interface CandidateSink {
+        void accept(int candidate, double score, double referenceScore);
+    }
+
+    // Probes the line's amount bucket and scores every candidate inside the date window
+    private static final class LineScorer {
+        private final StatementLines lines;
+        private final Candidates candidates;
+        private final int window;
+
+        private LineScorer(StatementLines lines, Candidates candidates, int window) {
+            this.lines = lines;
+            this.candidates = candidates;
+            this.window = window;
+        }
+
+        // Candidates marked in skip are left out; skip may be null
+        private void scan(int line, boolean[] skip, CandidateSink sink) {
+            if (lines.error(line) != null) {
+                return;
+            }
+            int[] bucket = candidates.byAmount.get(lines.amountCents(line));
+            if (bucket == null) {
+                return;
+            }
+            int day = lines.epochDay(line);
+            String reference = normalize(lines.reference(line));
+            long[] trigrams = reference != null ? trigrams(reference) : null;
+            String[] words = words(lines.description(line));
+
+            for (int b = candidates.firstOnOrAfter(bucket, day - window); b < bucket.length; b++) {
+                int candidate = bucket[b];
+                if (candidates.days[candidate] > day + window) {
+                    break;
+                }
+                if (skip != null && skip[candidate]) {
+                    continue;
+                }
+                double referenceScore = Math.max(
+                    referenceScore(reference, trigrams, words, candidates.references[candidate],
+                        candidates.referenceTrigrams[candidate]),
+                    referenceScore(reference, trigrams, words, candidates.transactionIds[candidate],
+                        candidates.transactionIdTrigrams[candidate]));
+                double dateScore = 1.0 - Math.abs(candidates.days[candidate] - day) / (window + 1.0);
+                sink.accept(candidate, REFERENCE_WEIGHT * referenceScore + (1 - REFERENCE_WEIGHT) * dateScore,
+                    referenceScore);
+            }
+        }
+    }
+
+    // Scores a range of lines; each line writes only its own slots, so the tasks share the arrays without locking
+    private static final class ScoreTask extends RecursiveAction {
+        private final LineScorer scorer;
+        private final int[] top;
+        private final double[] scores;
+        private final double[] referenceScores;
+        private final int from;
+        private final int to;
+
+        private ScoreTask(LineScorer scorer, int[] top, double[] scores, double[] referenceScores, int from, int to) {
+            this.scorer = scorer;
+            this.top = top;
+            this.scores = scores;
+            this.referenceScores = referenceScores;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > MATCH_SPLIT) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ScoreTask(scorer, top, scores, referenceScores, from, mid),
+                    new ScoreTask(scorer, top, scores, referenceScores, mid, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                int line = i;
+                scorer.scan(line, null, (candidate, score, referenceScore) -> offer(line, candidate, score, referenceScore));
+            }
+        }
+
+        // Keeps the line's slots sorted by score, best first
+        private void offer(int line, int candidate, double score, double referenceScore) {
+            int base = line * TOP_CANDIDATES;
+            int slot = TOP_CANDIDATES;
+            while (slot > 0 && (top[base + slot - 1] < 0 || scores[base + slot - 1] < score)) {
+                slot--;
+            }
+            if (slot == TOP_CANDIDATES) {
+                return;
+            }
+            for (int k = TOP_CANDIDATES - 1; k > slot; k--) {
+                top[base + k] = top[base + k - 1];
+                scores[base + k] = scores[base + k - 1];
+                referenceScores[base + k] = referenceScores[base + k - 1];
+            }
+            top[base + slot] = candidate;
+            scores[base + slot] = score;
+            referenceScores[base + slot] = referenceScore;
+        }
+    }
+
+    // 1 for the same reference or for the key appearing as a word of the description, otherwise trigram similarity
+    private static double referenceScore(String reference, long[] trigrams, String[] words, String key, long[] keyTrigrams) {
+        if (key == null) {
+            return 0;
+        }
+        if (key.equals(reference)) {
+            return 1;
+        }
+        if (key.length() >= MIN_DESCRIPTION_REFERENCE) {
+            for (String word : words) {
+                if (key.equals(word)) {
+                    return 1;
+                }
+            }
+        }
+        return trigrams != null ? Math.min(similarity(trigrams, keyTrigrams), MAX_FUZZY_REFERENCE_SCORE) : 0;
+    }
+
+    // Upper case, letters and digits only, so "INV-2024/001" and "inv 2024 001" compare equal
+    private static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder normalized = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toUpperCase(c));
+            }
+        }
+        return normalized.length() > 0 ? normalized.toString() : null;
+    }
+
+    private static String[] words(String description) {
+        if (description == null) {
+            return new String[0];
+        }
+        return Arrays.stream(description.split("\\s+"))
+            .map(ReconciliationService::normalize)
+            .filter(word -> word != null && word.length() >= MIN_DESCRIPTION_REFERENCE)
+            .toArray(String[]::new);
+    }
+
+    // Sorted distinct trigrams of the value padded as pg_trgm does: two spaces before, one after
+    private static long[] trigrams(String value) {
+        String padded = "  " + value + " ";
+        long[] grams = new long[padded.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    // Shared trigrams over all distinct trigrams of the two values
+    private static double similarity(long[] a, long[] b) {
+        int shared = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) shared / (a.length + b.length - shared);
+    }
+
+    // ============ PERSISTENCE ============
+
+    // Returns false when the run was interrupted part way
+    private boolean save(Long runId, StatementLines lines, Candidates candidates, Matches matches) {
+        for (int start = 0; start < lines.size(); start += chunkSize) {
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            int from = start;
+            int to = Math.min(lines.size(), start + chunkSize);
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bind(ps, runId, lines, candidates, matches, from + i);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return to - from;
+                    }
+                });
+                if (jdbcTemplate.update(CHECKPOINT_SQL, to - from, runId, instanceId) == 0) {
+                    // Rolls the batch back
+                    throw new LostRunException(runId);
+                }
+            });
+        }
+        return true;
+    }
+
+    private void bind(PreparedStatement ps, Long runId, StatementLines lines, Candidates candidates, Matches matches,
+                      int line) throws SQLException {
+        boolean valid = lines.error(line) == null;
+        int candidate = matches.candidate[line];
+        ps.setLong(1, runId);
+        ps.setLong(2, lines.position(line));
+        ps.setObject(3, valid ? LocalDate.ofEpochDay(lines.epochDay(line)) : null, Types.DATE);
+        ps.setBigDecimal(4, valid ? BigDecimal.valueOf(lines.amountCents(line), 2) : null);
+        ps.setString(5, truncate(lines.reference(line), 255));
+        ps.setString(6, truncate(lines.description(line), 1000));
+        ps.setString(7, matches.outcome[line].name());
+        if (candidate >= 0) {
+            ps.setLong(8, candidates.ids[candidate]);
+            ps.setDouble(9, matches.score[line]);
+        } else {
+            ps.setNull(8, Types.BIGINT);
+            ps.setNull(9, Types.DOUBLE);
+        }
+        ps.setString(10, truncate(lines.error(line), 255));
+    }
+
+    // Only while this instance still owns the run; one marked interrupted stays that way
+    private void update(Long runId, Consumer<ReconciliationRun> change) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            ReconciliationRun run = runRepository.findByIdAndStatusAndOwner(runId, RunStatus.RUNNING, instanceId)
+                .orElseThrow(() -> new LostRunException(runId));
+            change.accept(run);
+            runRepository.save(run);
+        });
+    }
+
+    private static final class LostRunException extends IllegalStateException {
+        private LostRunException(Long runId) {
+            super("Reconciliation run " + runId + " was marked interrupted; this instance stopped working on it");
+        }
+    }
+
+    private static String truncate(String value, int length) {
+        return value != null && value.length() > length ? value.substring(0, length) : value;
+    }
+}
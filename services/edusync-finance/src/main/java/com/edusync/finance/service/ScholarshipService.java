@@ -1,5 +1,6 @@
 package com.edusync.finance.service;
 
+import com.edusync.finance.cache.StudentLedgerCache;
 import com.edusync.finance.entity.Scholarship;
 import com.edusync.finance.entity.Scholarship.ScholarshipStatus;
 import com.edusync.finance.repository.ScholarshipRepository;
@@ -17,10 +18,12 @@ import java.util.Optional;
 public class ScholarshipService {
 
     private final ScholarshipRepository scholarshipRepository;
+    private final StudentLedgerCache studentLedgerCache;
 
     @Autowired
-    public ScholarshipService(ScholarshipRepository scholarshipRepository) {
+    public ScholarshipService(ScholarshipRepository scholarshipRepository, StudentLedgerCache studentLedgerCache) {
         this.scholarshipRepository = scholarshipRepository;
+        this.studentLedgerCache = studentLedgerCache;
     }
 
     public List<Scholarship> getAllScholarships() {
@@ -49,6 +52,7 @@ public class ScholarshipService {
             scholarship.setStatus(ScholarshipStatus.ACTIVE);
         }
 
+        studentLedgerCache.invalidate(scholarship.getStudentId());
         return scholarshipRepository.save(scholarship);
     }
 
@@ -56,6 +60,8 @@ public class ScholarshipService {
         Scholarship scholarship = scholarshipRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Scholarship not found with id: " + id));
 
+        // Both the old and the new student's ledgers change if the scholarship is reassigned
+        studentLedgerCache.invalidate(scholarship.getStudentId(), scholarshipDetails.getStudentId());
         scholarship.setStudentId(scholarshipDetails.getStudentId());
         scholarship.setScholarshipType(scholarshipDetails.getScholarshipType());
         scholarship.setAmount(scholarshipDetails.getAmount());
@@ -72,14 +78,15 @@ public class ScholarshipService {
                 .orElseThrow(() -> new RuntimeException("Scholarship not found with id: " + id));
 
         scholarship.setStatus(status);
+        studentLedgerCache.invalidate(scholarship.getStudentId());
         return scholarshipRepository.save(scholarship);
     }
 
     public void deleteScholarship(Long id) {
-        if (!scholarshipRepository.existsById(id)) {
-            throw new RuntimeException("Scholarship not found with id: " + id);
-        }
-        scholarshipRepository.deleteById(id);
+        Scholarship scholarship = scholarshipRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Scholarship not found with id: " + id));
+        studentLedgerCache.invalidate(scholarship.getStudentId());
+        scholarshipRepository.delete(scholarship);
     }
 
     // Statistics methods
@@ -0,0 +1,281 @@
+package com.edusync.finance.service;
+
+import com.edusync.finance.dto.StatusTransitionRequest;
+import com.edusync.finance.dto.StatusTransitionResult;
+import com.edusync.finance.dto.StatusTransitionResult.Outcome;
+import com.edusync.finance.entity.Transaction;
+import com.edusync.finance.entity.Transaction.TransactionStatus;
+import com.edusync.finance.entity.Transaction.TransactionType;
+import com.edusync.finance.event.TransactionChangeEvent;
+import com.edusync.finance.event.TransactionState;
+import com.edusync.finance.repository.LedgerRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk status changes as one UPDATE per call instead of a load and save per transaction.
+ * Candidate rows are locked in id order, so concurrent runs cannot deadlock, and the UPDATE
+ * only touches rows still in the expected status (and version, when the caller sent one).
+ * Each change bumps the row's version, so JPA writers holding an older copy fail their
+ * optimistic check. Transactions in closed periods are left alone. The usual
+ * TransactionChangeEvent is published, so rollups, balances and budgets follow.
+ */
+@Service
+@Transactional
+public class StatusTransitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatusTransitionService.class);
+
+    public static final int MAX_TRANSITION_SIZE = 10000;
+
+    private static final String BY_IDS_SQL = """
+        WITH requested AS (
+            SELECT * FROM unnest(CAST(? AS bigint[]), CAST(? AS bigint[])) AS r(id, expected_version)
+        ), locked AS (
+            SELECT t.id FROM transactions t JOIN requested r ON r.id = t.id
+            WHERE t.status = ?
+              AND (r.expected_version IS NULL OR t.version = r.expected_version)
+              AND t.date >= """ + LedgerRollupRepository.OPEN_FROM + """
+            ORDER BY t.id
+            FOR UPDATE OF t
+        )
+        """;
+
+    private static final String UPDATE_LOCKED_SQL = """
+        UPDATE transactions t
+        SET status = ?, version = t.version + 1, updated_at = CURRENT_TIMESTAMP
+        FROM locked l
+        WHERE t.id = l.id AND t.status = ?
+        RETURNING t.id, t.transaction_id, t.type, t.amount, t.category, t.sub_category, t.date,
+                  t.account_id, t.student_id, t.payment_method, t.version
+        """;
+
+    private static final String CURRENT_STATE_SQL = """
+        SELECT t.id, t.status, t.version, t.date < """ + LedgerRollupRepository.OPEN_FROM + """
+               AS period_closed
+        FROM transactions t WHERE t.id = ANY (?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public StatusTransitionService(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public StatusTransitionResult transition(StatusTransitionRequest request) {
+        TransactionStatus from = request.getFrom();
+        TransactionStatus to = request.getTo();
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Both from and to statuses are required");
+        }
+        if (from == to) {
+            throw new IllegalArgumentException("From and to statuses must differ");
+        }
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (byIds == request.hasFilter()) {
+            throw new IllegalArgumentException("Give either a list of ids or at least one filter field");
+        }
+
+        long started = System.currentTimeMillis();
+        StatusTransitionResult result = new StatusTransitionResult(from, to);
+        if (byIds) {
+            transitionIds(request, result);
+        } else {
+            transitionFiltered(request, result);
+        }
+        result.setElapsedMillis(System.currentTimeMillis() - started);
+        logger.info("Moved {} transactions from {} to {} ({} skipped) in {} ms",
+            result.getUpdated(), from, to, result.getSkipped(), result.getElapsedMillis());
+        return result;
+    }
+
+    private void transitionIds(StatusTransitionRequest request, StatusTransitionResult result) {
+        Set<Long> ids = new LinkedHashSet<>(request.getIds());
+        ids.remove(null);
+        if (ids.size() > MAX_TRANSITION_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_TRANSITION_SIZE + " ids per call");
+        }
+        Map<Long, Long> versions = request.getVersions() != null ? request.getVersions() : Map.of();
+        Long[] idArray = ids.toArray(new Long[0]);
+        Long[] versionArray = new Long[idArray.length];
+        for (int i = 0; i < idArray.length; i++) {
+            versionArray[i] = versions.get(idArray[i]);
+        }
+
+        Map<Long, Transaction> updated = update(BY_IDS_SQL, request.getTo(), request.getFrom(), connection -> List.of(
+            connection.createArrayOf("bigint", idArray),
+            connection.createArrayOf("bigint", versionArray),
+            request.getFrom().name()));
+
+        // Work out why the rest were skipped; rows locked by the UPDATE are settled by now
+        List<Long> skipped = ids.stream().filter(id -> !updated.containsKey(id)).toList();
+        Map<Long, Object[]> current = currentState(skipped);
+        for (Long id : ids) {
+            Transaction transaction = updated.get(id);
+            if (transaction != null) {
+                result.add(new StatusTransitionResult.Item(id, Outcome.UPDATED, request.getTo(), transaction.getVersion()));
+                continue;
+            }
+            Object[] state = current.get(id);
+            if (state == null) {
+                result.add(new StatusTransitionResult.Item(id, Outcome.NOT_FOUND, null, null));
+                continue;
+            }
+            TransactionStatus status = (TransactionStatus) state[0];
+            Long version = (Long) state[1];
+            Long expected = versions.get(id);
+            Outcome outcome;
+            if (expected != null && !expected.equals(version)) {
+                outcome = Outcome.VERSION_CONFLICT;
+            } else if (status != request.getFrom()) {
+                outcome = Outcome.STATUS_MISMATCH;
+            } else {
+                outcome = (Boolean) state[2] ? Outcome.PERIOD_CLOSED : Outcome.STATUS_MISMATCH;
+            }
+            result.add(new StatusTransitionResult.Item(id, outcome, status, version));
+        }
+    }
+
+    private void transitionFiltered(StatusTransitionRequest request, StatusTransitionResult result) {
+        int limit = request.getLimit() != null ? request.getLimit() : MAX_TRANSITION_SIZE;
+        if (limit < 1 || limit > MAX_TRANSITION_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_TRANSITION_SIZE);
+        }
+
+        StringBuilder where = new StringBuilder("status = ? AND date >= ").append(LedgerRollupRepository.OPEN_FROM);
+        List<Object> params = new ArrayList<>();
+        params.add(request.getFrom().name());
+        if (request.getStartDate() != null) {
+            where.append(" AND date >= ?");
+            params.add(request.getStartDate());
+        }
+        if (request.getEndDate() != null) {
+            where.append(" AND date <= ?");
+            params.add(request.getEndDate());
+        }
+        if (request.getAccountId() != null) {
+            where.append(" AND account_id = ?");
+            params.add(request.getAccountId());
+        }
+        if (request.getType() != null) {
+            where.append(" AND type = ?");
+            params.add(request.getType().name());
+        }
+        if (request.getCategory() != null) {
+            where.append(" AND category = ?");
+            params.add(request.getCategory());
+        }
+
+        String lockedSql = "WITH locked AS (SELECT id FROM transactions WHERE " + where
+            + " ORDER BY id LIMIT ? FOR UPDATE)\n";
+        List<Object> lockedParams = new ArrayList<>(params);
+        lockedParams.add(limit);
+        Map<Long, Transaction> updated = update(lockedSql, request.getTo(), request.getFrom(), connection -> lockedParams);
+        updated.values().stream()
+            .sorted((a, b) -> a.getId().compareTo(b.getId()))
+            .forEach(transaction -> result.add(new StatusTransitionResult.Item(
+                transaction.getId(), Outcome.UPDATED, request.getTo(), transaction.getVersion())));
+
+        // Updated rows have left the from status, so anything still matching is left over
+        if (updated.size() == limit) {
+            result.setHasMore(Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM transactions WHERE " + where + ")", Boolean.class, params.toArray())));
+        }
+    }
+
+    private Map<Long, Transaction> update(String lockedSql, TransactionStatus to, TransactionStatus from,
+                                          ParamSource params) {
+        Map<Long, Transaction> updated = new HashMap<>();
+        List<TransactionChangeEvent.Change> changes = new ArrayList<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(lockedSql + UPDATE_LOCKED_SQL);
+            int index = 1;
+            for (Object param : params.values(connection)) {
+                ps.setObject(index++, param);
+            }
+            ps.setString(index++, to.name());
+            ps.setString(index, from.name());
+            return ps;
+        }, (ResultSet rs) -> {
+            Transaction transaction = mapRow(rs, to);
+            updated.put(transaction.getId(), transaction);
+            TransactionState after = TransactionState.of(transaction);
+            transaction.setStatus(from);
+            transaction.setVersion(transaction.getVersion() - 1);
+            TransactionState before = TransactionState.of(transaction);
+            transaction.setStatus(to);
+            transaction.setVersion(transaction.getVersion() + 1);
+            changes.add(new TransactionChangeEvent.Change(before, after));
+        });
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new TransactionChangeEvent(changes));
+        }
+        return updated;
+    }
+
+    private Map<Long, Object[]> currentState(List<Long> ids) {
+        Map<Long, Object[]> current = new HashMap<>();
+        if (ids.isEmpty()) {
+            return current;
+        }
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(CURRENT_STATE_SQL);
+            ps.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            return ps;
+        }, (ResultSet rs) -> {
+            current.put(rs.getLong("id"), new Object[] {
+                TransactionStatus.valueOf(rs.getString("status")),
+                rs.getLong("version"),
+                rs.getBoolean("period_closed")
+            });
+        });
+        return current;
+    }
+
+    private static Transaction mapRow(ResultSet rs, TransactionStatus status) throws SQLException {
+        Transaction transaction = new Transaction();
+        transaction.setId(rs.getLong("id"));
+        transaction.setTransactionId(rs.getString("transaction_id"));
+        transaction.setType(TransactionType.valueOf(rs.getString("type")));
+        transaction.setAmount(rs.getBigDecimal("amount"));
+        transaction.setCategory(rs.getString("category"));
+        transaction.setSubCategory(rs.getString("sub_category"));
+        transaction.setDate(rs.getObject("date", LocalDate.class));
+        transaction.setAccountId(getLong(rs, "account_id"));
+        transaction.setStudentId(getLong(rs, "student_id"));
+        transaction.setPaymentMethod(rs.getString("payment_method"));
+        transaction.setStatus(status);
+        transaction.setVersion(rs.getLong("version"));
+        return transaction;
+    }
+
+    private static Long getLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    @FunctionalInterface
+    private interface ParamSource {
+        List<Object> values(Connection connection) throws SQLException;
+    }
+}
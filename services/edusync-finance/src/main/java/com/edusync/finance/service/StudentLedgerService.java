@@ -0,0 +1,366 @@
+package com.edusync.finance.service;
+
+import com.edusync.finance.cache.StudentLedgerCache;
+import com.edusync.finance.client.StudentClient;
+import com.edusync.finance.config.ReplicaRoutingDataSource;
+import com.edusync.finance.dto.LedgerSummary;
+import com.edusync.finance.dto.StudentLedger;
+import com.edusync.finance.util.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Per-student ledger across tuition fees, scholarships and transactions. Tuition fees and
+ * scholarships store the student as a string that may be either the numeric ID or the student
+ * code, while transactions store the numeric ID; a reference in either form is resolved to
+ * both through the student service before querying, and the three tables are then read in a
+ * single statement. The student service is called before the read-only transaction opens, so
+ * a slow call holds no database connection. Reads go to the primary because their results are
+ * cached: a lagging replica would cache a balance from before a write that was just evicted.
+ */
+@Service
+public class StudentLedgerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentLedgerService.class);
+
+    private static final String ACTIVE = "ACTIVE";
+    private static final String COMPLETED = "COMPLETED";
+
+    private static final String LEDGER_SQL = """
+        SELECT 'TUITION' AS source, id, academic_year AS reference, CAST(created_at AS date) AS entry_date,
+               program AS description, net_amount AS amount, status
+        FROM finance_tuition_fees WHERE student_id = ANY (?)
+        UNION ALL
+        SELECT 'SCHOLARSHIP', id, academic_year, CAST(created_at AS date), scholarship_type, amount, status
+        FROM finance_scholarships WHERE student_id = ANY (?)
+        UNION ALL
+        SELECT CASE WHEN type = 'INCOME' THEN 'PAYMENT' ELSE 'REFUND' END, id, transaction_id, date,
+               description, amount, status
+        FROM transactions WHERE student_id = ANY (?)
+        ORDER BY entry_date, source, id
+        """;
+
+    private static final String SUMMARY_SQL = """
+        SELECT 'TUITION' AS source, student_id AS ref, SUM(net_amount) AS total
+        FROM finance_tuition_fees WHERE status = 'ACTIVE' AND student_id = ANY (?) GROUP BY student_id
+        UNION ALL
+        SELECT 'SCHOLARSHIP', student_id, SUM(amount)
+        FROM finance_scholarships WHERE status = 'ACTIVE' AND student_id = ANY (?) GROUP BY student_id
+        UNION ALL
+        SELECT 'PAYMENT', CAST(student_id AS varchar), SUM(CASE WHEN type = 'INCOME' THEN amount ELSE -amount END)
+        FROM transactions WHERE status = 'COMPLETED' AND student_id = ANY (?) GROUP BY student_id
+        """;
+
+    private static final String ACADEMIC_YEAR_STUDENTS_SQL = """
+        SELECT student_id FROM finance_tuition_fees WHERE academic_year = ?
+        UNION
+        SELECT student_id FROM finance_scholarships WHERE academic_year = ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StudentClient studentClient;
+    private final StudentLedgerCache studentLedgerCache;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Autowired
+    public StudentLedgerService(
+            JdbcTemplate jdbcTemplate,
+            StudentClient studentClient,
+            StudentLedgerCache studentLedgerCache,
+            PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.studentClient = studentClient;
+        this.studentLedgerCache = studentLedgerCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Every entry plus the summary; empty when the student is unknown and has no entries
+    public Optional<StudentLedger> getLedger(String studentRef) {
+        long loadGeneration = studentLedgerCache.generation();
+        Identity student = resolve(List.of(studentRef)).get(studentRef);
+        List<Identity> students = List.of(student);
+
+        List<StudentLedger.Entry> entries = read(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(LEDGER_SQL);
+            statement.setArray(1, refArray(connection, students));
+            statement.setArray(2, refArray(connection, students));
+            statement.setArray(3, idArray(connection, students));
+            return statement;
+        }, (rs, rowNum) -> new StudentLedger.Entry(
+            StudentLedger.Source.valueOf(rs.getString("source")),
+            rs.getLong("id"),
+            rs.getString("reference"),
+            rs.getDate("entry_date") != null ? rs.getDate("entry_date").toLocalDate() : null,
+            rs.getString("description"),
+            rs.getBigDecimal("amount"),
+            rs.getString("status"))));
+
+        if (entries.isEmpty() && !student.known) {
+            return Optional.empty();
+        }
+
+        Totals totals = new Totals();
+        for (StudentLedger.Entry entry : entries) {
+            totals.add(entry);
+        }
+        LedgerSummary summary = totals.toSummary(student);
+        studentLedgerCache.put(summary, loadGeneration);
+        return Optional.of(new StudentLedger(summary, entries));
+    }
+
+    public Optional<LedgerSummary> getSummary(String studentRef) {
+        LedgerSummary cached = studentLedgerCache.get(studentRef);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long loadGeneration = studentLedgerCache.generation();
+        Identity student = resolve(List.of(studentRef)).get(studentRef);
+        Map<Identity, Totals> totals = read(status -> summarize(List.of(student)));
+        if (totals.isEmpty() && !student.known) {
+            return Optional.empty();
+        }
+        LedgerSummary summary = totals.getOrDefault(student, new Totals()).toSummary(student);
+        studentLedgerCache.put(summary, loadGeneration);
+        return Optional.of(summary);
+    }
+
+    /**
+     * Summaries for every student with a tuition fee or scholarship in the academic year. The
+     * figures are the students' overall balances, the same as getSummary, and refresh the cache.
+     */
+    public List<LedgerSummary> getSummariesForAcademicYear(String academicYear) {
+        long loadGeneration = studentLedgerCache.generation();
+        List<String> refs = read(status ->
+            jdbcTemplate.queryForList(ACADEMIC_YEAR_STUDENTS_SQL, String.class, academicYear, academicYear));
+        Map<String, Identity> resolved = resolve(refs);
+
+        // Two refs (numeric ID and code) can resolve to the same student
+        List<Identity> students = new ArrayList<>(new LinkedHashSet<>(resolved.values()));
+        List<LedgerSummary> summaries = read(status -> {
+            List<LedgerSummary> computed = new ArrayList<>(students.size());
+            for (int from = 0; from < students.size(); from += StudentClient.MAX_BATCH_SIZE) {
+                List<Identity> batch = students.subList(from, Math.min(from + StudentClient.MAX_BATCH_SIZE, students.size()));
+                Map<Identity, Totals> totals = summarize(batch);
+                for (Identity student : batch) {
+                    computed.add(totals.getOrDefault(student, new Totals()).toSummary(student));
+                }
+            }
+            return computed;
+        });
+        summaries.forEach(summary -> studentLedgerCache.put(summary, loadGeneration));
+        return summaries;
+    }
+
+    private <T> T read(TransactionCallback<T> action) {
+        return ReplicaRoutingDataSource.onPrimary(() -> readOnlyTransaction.execute(action));
+    }
+
+    private Map<Identity, Totals> summarize(List<Identity> students) {
+        Map<String, Identity> byRef = new HashMap<>();
+        for (Identity student : students) {
+            student.refs().forEach(ref -> byRef.put(ref, student));
+        }
+
+        Map<Identity, Totals> totals = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SUMMARY_SQL);
+            statement.setArray(1, refArray(connection, students));
+            statement.setArray(2, refArray(connection, students));
+            statement.setArray(3, idArray(connection, students));
+            return statement;
+        }, rs -> {
+            Identity student = byRef.get(rs.getString("ref"));
+            if (student == null) {
+                return;
+            }
+            BigDecimal total = rs.getBigDecimal("total");
+            if (total == null) {
+                return;
+            }
+            Totals studentTotals = totals.computeIfAbsent(student, key -> new Totals());
+            switch (rs.getString("source")) {
+                case "TUITION" -> studentTotals.tuition.add(total);
+                case "SCHOLARSHIP" -> studentTotals.scholarships.add(total);
+                default -> studentTotals.payments.add(total);
+            }
+        });
+        return totals;
+    }
+
+    /**
+     * Maps each reference to the student's numeric ID and code. Numeric references are looked
+     * up as IDs and anything else as a student code. When the student service does not know a
+     * reference, or cannot be reached, the reference is used on its own.
+     */
+    private Map<String, Identity> resolve(Collection<String> studentRefs) {
+        List<Long> ids = new ArrayList<>();
+        List<String> codes = new ArrayList<>();
+        for (String ref : new LinkedHashSet<>(studentRefs)) {
+            Long id = parseId(ref);
+            if (id != null) {
+                ids.add(id);
+            } else {
+                codes.add(ref);
+            }
+        }
+
+        Map<String, Identity> known = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += StudentClient.MAX_BATCH_SIZE) {
+            fetch(StudentClient.BatchRequest.ofIds(ids.subList(from, Math.min(from + StudentClient.MAX_BATCH_SIZE, ids.size()))), known);
+        }
+        for (int from = 0; from < codes.size(); from += StudentClient.MAX_BATCH_SIZE) {
+            fetch(StudentClient.BatchRequest.ofStudentIds(codes.subList(from, Math.min(from + StudentClient.MAX_BATCH_SIZE, codes.size()))), known);
+        }
+
+        Map<String, Identity> resolved = new LinkedHashMap<>();
+        for (String ref : studentRefs) {
+            Identity identity = known.get(ref);
+            if (identity == null) {
+                Long id = parseId(ref);
+                identity = id != null ? new Identity(id, null, false) : new Identity(null, ref, false);
+            }
+            resolved.put(ref, identity);
+        }
+        return resolved;
+    }
+
+    private void fetch(StudentClient.BatchRequest request, Map<String, Identity> known) {
+        List<StudentClient.StudentResponse> students;
+        try {
+            students = studentClient.getStudentsBatch(request);
+        } catch (Exception e) {
+            logger.warn("Could not resolve student IDs for ledger, using them as given: {}", e.getMessage());
+            return;
+        }
+        if (students == null) {
+            return;
+        }
+        for (StudentClient.StudentResponse student : students) {
+            Identity identity = new Identity(student.getId(), student.getStudentId(), true);
+            identity.refs().forEach(ref -> known.put(ref, identity));
+        }
+    }
+
+    private static Array refArray(Connection connection, List<Identity> students) throws SQLException {
+        List<String> refs = new ArrayList<>();
+        students.forEach(student -> refs.addAll(student.refs()));
+        return connection.createArrayOf("varchar", refs.toArray());
+    }
+
+    private static Array idArray(Connection connection, List<Identity> students) throws SQLException {
+        return connection.createArrayOf("bigint", students.stream()
+            .filter(student -> student.id != null)
+            .map(student -> student.id)
+            .toArray());
+    }
+
+    private static Long parseId(String ref) {
+        if (ref == null || ref.isEmpty() || !ref.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(ref);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static final class Identity {
+        private final Long id;
+        private final String code;
+        // Confirmed by the student service
+        private final boolean known;
+
+        private Identity(Long id, String code, boolean known) {
+            this.id = id;
+            this.code = code;
+            this.known = known;
+        }
+
+        private List<String> refs() {
+            List<String> refs = new ArrayList<>(2);
+            if (id != null) {
+                refs.add(id.toString());
+            }
+            if (code != null) {
+                refs.add(code);
+            }
+            return refs;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Identity)) {
+                return false;
+            }
+            Identity that = (Identity) other;
+            return id != null || that.id != null ? Objects.equals(id, that.id) : Objects.equals(code, that.code);
+        }
+
+        @Override
+        public int hashCode() {
+            return id != null ? id.hashCode() : Objects.hashCode(code);
+        }
+    }
+
+    private static final class Totals {
+        private final Money.Sum tuition = new Money.Sum();
+        private final Money.Sum scholarships = new Money.Sum();
+        private final Money.Sum payments = new Money.Sum();
+
+        private void add(StudentLedger.Entry entry) {
+            if (entry.getAmount() == null) {
+                return;
+            }
+            switch (entry.getSource()) {
+                case TUITION -> {
+                    if (ACTIVE.equals(entry.getStatus())) {
+                        tuition.add(entry.getAmount());
+                    }
+                }
+                case SCHOLARSHIP -> {
+                    if (ACTIVE.equals(entry.getStatus())) {
+                        scholarships.add(entry.getAmount());
+                    }
+                }
+                case PAYMENT -> {
+                    if (COMPLETED.equals(entry.getStatus())) {
+                        payments.add(entry.getAmount());
+                    }
+                }
+                case REFUND -> {
+                    if (COMPLETED.equals(entry.getStatus())) {
+                        payments.subtract(entry.getAmount());
+                    }
+                }
+            }
+        }
+
+        private LedgerSummary toSummary(Identity student) {
+            return new LedgerSummary(student.id, student.code, tuition.toMoney().toBigDecimal(),
+                scholarships.toMoney().toBigDecimal(), payments.toMoney().toBigDecimal());
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.edusync.finance.service;
+
+import com.edusync.finance.cache.StudentStatusCache;
+import com.edusync.finance.client.StudentClient;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks that students referenced by transactions exist and are active. Answers come from
+ * StudentStatusCache where possible; only misses go to the student service.
+ */
+@Service
+public class StudentValidationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentValidationService.class);
+
+    private final StudentClient studentClient;
+    private final StudentStatusCache studentStatusCache;
+    private final Timer foundTimer;
+    private final Timer notFoundTimer;
+    private final Timer errorTimer;
+    private final Timer batchTimer;
+
+    @Autowired
+    public StudentValidationService(
+            StudentClient studentClient,
+            StudentStatusCache studentStatusCache,
+            MeterRegistry meterRegistry) {
+        this.studentClient = studentClient;
+        this.studentStatusCache = studentStatusCache;
+        this.foundTimer = lookupTimer(meterRegistry, "found");
+        this.notFoundTimer = lookupTimer(meterRegistry, "not-found");
+        this.errorTimer = lookupTimer(meterRegistry, "error");
+        this.batchTimer = lookupTimer(meterRegistry, "batch");
+    }
+
+    // Throws IllegalArgumentException when the student is unknown, inactive or cannot be checked
+    public void validateStudent(Long studentId) {
+        String error = check(studentId);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+    }
+
+    /**
+     * Validates every distinct ID once and returns an error message per invalid student;
+     * students missing from the result are valid. Cache misses are fetched with batch-get,
+     * up to StudentClient.MAX_BATCH_SIZE IDs per call.
+     */
+    public Map<Long, String> validateStudents(Collection<Long> studentIds) {
+        Set<Long> distinct = new LinkedHashSet<>(studentIds);
+        distinct.remove(null);
+
+        Map<Long, StudentStatusCache.Entry> known = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long studentId : distinct) {
+            StudentStatusCache.Entry entry = studentStatusCache.getFresh(studentId);
+            if (entry != null) {
+                known.put(studentId, entry);
+            } else {
+                missing.add(studentId);
+            }
+        }
+        for (int from = 0; from < missing.size(); from += StudentClient.MAX_BATCH_SIZE) {
+            List<Long> batch = missing.subList(from, Math.min(from + StudentClient.MAX_BATCH_SIZE, missing.size()));
+            try {
+                known.putAll(fetchBatch(batch));
+            } catch (Exception e) {
+                logger.warn("Batch student lookup failed for {} students: {}", batch.size(), e.getMessage());
+            }
+        }
+
+        Map<Long, String> errors = new HashMap<>();
+        for (Long studentId : distinct) {
+            StudentStatusCache.Entry entry = known.get(studentId);
+            // Anything the batch could not resolve falls back to the single-student path
+            String error = entry != null ? errorFor(studentId, entry) : check(studentId);
+            if (error != null) {
+                errors.put(studentId, error);
+            }
+        }
+        return errors;
+    }
+
+    private String check(Long studentId) {
+        StudentStatusCache.Entry entry = studentStatusCache.getFresh(studentId);
+        if (entry == null) {
+            try {
+                entry = fetch(studentId);
+            } catch (Exception e) {
+                StudentStatusCache.Entry stale = studentStatusCache.getStale(studentId);
+                if (stale == null) {
+                    return "Failed to validate student with ID " + studentId + ": " + e.getMessage();
+                }
+                logger.warn("Student service unavailable, using cached status for student {}: {}", studentId, e.getMessage());
+                entry = stale;
+            }
+        }
+        return errorFor(studentId, entry);
+    }
+
+    private String errorFor(Long studentId, StudentStatusCache.Entry entry) {
+        return entry.isActive() ? null : "Student with ID " + studentId + " not found or not active";
+    }
+
+    private Map<Long, StudentStatusCache.Entry> fetchBatch(List<Long> studentIds) {
+        long started = System.nanoTime();
+        List<StudentClient.StudentResponse> students;
+        try {
+            students = studentClient.getStudentsBatch(StudentClient.BatchRequest.ofIds(studentIds));
+        } catch (RuntimeException e) {
+            record(errorTimer, started);
+            throw e;
+        }
+        record(batchTimer, started);
+
+        Map<Long, StudentStatusCache.Entry> entries = new HashMap<>();
+        if (students != null) {
+            for (StudentClient.StudentResponse student : students) {
+                entries.put(student.getId(), studentStatusCache.put(student.getId(), student.getStatus()));
+            }
+        }
+        for (Long studentId : studentIds) {
+            if (!entries.containsKey(studentId)) {
+                entries.put(studentId, studentStatusCache.put(studentId, null));
+            }
+        }
+        return entries;
+    }
+
+    private StudentStatusCache.Entry fetch(Long studentId) {
+        long started = System.nanoTime();
+        try {
+            StudentClient.StudentResponse student = studentClient.getStudentById(studentId);
+            record(student != null ? foundTimer : notFoundTimer, started);
+            return studentStatusCache.put(studentId, student != null ? student.getStatus() : null);
+        } catch (FeignException.NotFound e) {
+            record(notFoundTimer, started);
+            return studentStatusCache.put(studentId, null);
+        } catch (RuntimeException e) {
+            record(errorTimer, started);
+            throw e;
+        }
+    }
+
+    private void record(Timer timer, long started) {
+        timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer lookupTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("finance.student.lookup")
+            .description("Round trips to the student service")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
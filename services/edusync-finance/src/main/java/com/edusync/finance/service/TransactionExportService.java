@@ -0,0 +1,167 @@
+package com.edusync.finance.service;
+
+import com.edusync.finance.dto.TransactionFilter;
+import com.edusync.finance.entity.Transaction;
+import com.edusync.finance.repository.TransactionSpecifications;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams transactions from a forward-only JDBC cursor straight into the response. Each row is
+ * detached once written, so the persistence context (and the heap) stays the same size
+ * regardless of how many rows the export covers.
+ */
+@Service
+public class TransactionExportService {
+
+    public enum ExportFormat {
+        CSV, NDJSON
+    }
+
+    private static final String[] CSV_HEADER = {
+        "id", "transactionId", "type", "amount", "category", "subCategory", "date", "description",
+        "reference", "accountId", "studentId", "staffId", "status", "paymentMethod", "createdBy",
+        "notes", "createdAt", "updatedAt"
+    };
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${finance.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Autowired
+    public TransactionExportService(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Runs on the response-writing thread, so it opens its own read-only transaction for the cursor
+    public long export(TransactionFilter filter, ExportFormat format, boolean gzip, OutputStream target) {
+        Long written = readOnlyTransaction.execute(status -> {
+            try (Stream<Transaction> rows = openCursor(filter)) {
+                OutputStream out = gzip ? new GZIPOutputStream(target, 64 * 1024) : target;
+                long count = format == ExportFormat.CSV ? writeCsv(rows, out) : writeNdjson(rows, out);
+                if (out instanceof GZIPOutputStream) {
+                    ((GZIPOutputStream) out).finish();
+                }
+                out.flush();
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return written != null ? written : 0L;
+    }
+
+    private Stream<Transaction> openCursor(TransactionFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Transaction> query = cb.createQuery(Transaction.class);
+        Root<Transaction> root = query.from(Transaction.class);
+        query.where(TransactionSpecifications.matching(filter).toPredicate(root, query, cb));
+        query.orderBy(cb.asc(root.get("date")), cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .setHint(HibernateHints.HINT_CACHEABLE, false)
+            .getResultStream();
+    }
+
+    private long writeCsv(Stream<Transaction> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writeCsvRow(writer, CSV_HEADER);
+
+        long count = 0;
+        Iterator<Transaction> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            Transaction t = iterator.next();
+            writeCsvRow(writer,
+                str(t.getId()), t.getTransactionId(), str(t.getType()), str(t.getAmount()), t.getCategory(),
+                t.getSubCategory(), str(t.getDate()), t.getDescription(), t.getReference(), str(t.getAccountId()),
+                str(t.getStudentId()), str(t.getStaffId()), str(t.getStatus()), t.getPaymentMethod(),
+                t.getCreatedBy(), t.getNotes(), str(t.getCreatedAt()), str(t.getUpdatedAt()));
+            entityManager.detach(t);
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private long writeNdjson(Stream<Transaction> rows, OutputStream out) throws IOException {
+        long count = 0;
+        try (SequenceWriter writer = objectMapper.writerFor(Transaction.class)
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValues(out)) {
+            Iterator<Transaction> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Transaction t = iterator.next();
+                writer.write(t);
+                entityManager.detach(t);
+                count++;
+            }
+            writer.flush();
+        }
+        if (count > 0) {
+            out.write('\n');
+        }
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvField(writer, values[i]);
+        }
+        writer.write('\n');
+    }
+
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+            || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private String str(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
@@ -0,0 +1,444 @@
+package com.edusync.finance.service;
+
+import com.edusync.finance.dto.ImportResult;
+import com.edusync.finance.entity.Transaction;
+import com.edusync.finance.entity.Transaction.TransactionStatus;
+import com.edusync.finance.entity.Transaction.TransactionType;
+import com.edusync.finance.event.TransactionChangeEvent;
+import com.edusync.finance.event.TransactionState;
+import com.edusync.finance.repository.TransactionRepository;
+import com.edusync.finance.util.CsvReader;
+import com.edusync.finance.util.IdGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk transaction import. The file is read as a stream and handled in chunks: each chunk is
+ * validated, deduplicated against the database with one IN query, has its students checked with
+ * one batch lookup, and is written with a single COPY in its own transaction.
+ * Bad rows are reported and skipped; they never abort the rest of the file.
+ */
+@Service
+public class TransactionImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionImportService.class);
+
+    public enum ImportFormat {
+        CSV, JSON
+    }
+
+    private static final String COPY_SQL =
+        "COPY transactions (id, transaction_id, type, amount, category, sub_category, date, description, " +
+        "reference, account_id, student_id, staff_id, status, payment_method, created_by, notes, created_at, updated_at) " +
+        "FROM STDIN";
+
+    private static final String ID_SQL =
+        "SELECT nextval(pg_get_serial_sequence('transactions', 'id')) FROM generate_series(1, ?)";
+
+    private final TransactionRepository transactionRepository;
+    private final StudentValidationService studentValidationService;
+    private final PeriodCloseService periodCloseService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate chunkTransaction;
+    private final IdGenerator idGenerator;
+    private final TransactionPartitionService transactionPartitionService;
+
+    @Value("${finance.import.chunk-size:5000}")
+    private int chunkSize;
+
+    @Autowired
+    public TransactionImportService(
+            TransactionRepository transactionRepository,
+            StudentValidationService studentValidationService,
+            PeriodCloseService periodCloseService,
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            Validator validator,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            IdGenerator idGenerator,
+            TransactionPartitionService transactionPartitionService) {
+        this.transactionRepository = transactionRepository;
+        this.studentValidationService = studentValidationService;
+        this.periodCloseService = periodCloseService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.idGenerator = idGenerator;
+        this.transactionPartitionService = transactionPartitionService;
+    }
+
+    public ImportResult importTransactions(InputStream input, ImportFormat format) throws IOException {
+        ImportResult result = new ImportResult();
+        long started = System.currentTimeMillis();
+
+        RowSource source = format == ImportFormat.CSV ? new CsvRowSource(input) : new JsonRowSource(input);
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        try {
+            ImportRow row;
+            while ((row = source.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() >= chunkSize) {
+                    processChunk(chunk, result);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            // Malformed input past this point cannot be split into rows; keep what was read so far
+            result.addError(source.position(), null, "Unreadable input, import stopped: " + e.getMessage());
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, result);
+        }
+
+        result.setElapsedMillis(System.currentTimeMillis() - started);
+        logger.info("Imported {} of {} transactions in {} ms ({} failed)",
+            result.getImported(), result.getTotalRows(), result.getElapsedMillis(), result.getFailed());
+        return result;
+    }
+
+    private void processChunk(List<ImportRow> rows, ImportResult result) {
+        List<ImportRow> candidates = new ArrayList<>(rows.size());
+        Set<String> chunkIds = new HashSet<>();
+
+        for (ImportRow row : rows) {
+            if (row.error != null) {
+                result.addError(row.position, row.rawTransactionId, row.error);
+                continue;
+            }
+            Transaction transaction = row.transaction;
+            if (transaction.getStatus() == null) {
+                transaction.setStatus(TransactionStatus.PENDING);
+            }
+            if (transaction.getTransactionId() == null || transaction.getTransactionId().isEmpty()) {
+                transaction.setTransactionId(idGenerator.nextId(TransactionService.TRANSACTION_ID_PREFIX));
+            }
+
+            Set<ConstraintViolation<Transaction>> violations = validator.validate(transaction);
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+                result.addError(row.position, transaction.getTransactionId(), message);
+                continue;
+            }
+            if (!chunkIds.add(transaction.getTransactionId())) {
+                result.addError(row.position, transaction.getTransactionId(), "Duplicate transaction ID in file");
+                continue;
+            }
+            candidates.add(row);
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // Earlier chunks are already committed, so this also catches duplicates across chunks
+        Set<String> existing = new HashSet<>(transactionPartitionService.hasIdLookup()
+            ? transactionPartitionService.findExistingTransactionIds(chunkIds)
+            : transactionRepository.findExistingTransactionIds(chunkIds));
+        Map<Long, String> studentErrors = studentValidationService.validateStudents(
+            candidates.stream().map(row -> row.transaction.getStudentId()).toList());
+        LocalDate openFrom = periodCloseService.getOpenFrom();
+
+        List<ImportRow> accepted = new ArrayList<>(candidates.size());
+        for (ImportRow row : candidates) {
+            Transaction transaction = row.transaction;
+            if (existing.contains(transaction.getTransactionId())) {
+                result.addError(row.position, transaction.getTransactionId(),
+                    "Transaction ID already exists: " + transaction.getTransactionId());
+            } else if (transaction.getStudentId() != null && studentErrors.containsKey(transaction.getStudentId())) {
+                result.addError(row.position, transaction.getTransactionId(), studentErrors.get(transaction.getStudentId()));
+            } else if (openFrom != null && transaction.getDate().isBefore(openFrom)) {
+                result.addError(row.position, transaction.getTransactionId(),
+                    "Period " + YearMonth.from(transaction.getDate()) + " is closed");
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        try {
+            chunkTransaction.executeWithoutResult(status -> insertBatch(accepted));
+            result.addImported(accepted.size());
+        } catch (DataAccessException | IllegalStateException e) {
+            // IllegalStateException: a period was closed after the check above
+            String message = "Batch insert failed: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            logger.warn("Import chunk of {} rows rejected: {}", accepted.size(), message);
+            for (ImportRow row : accepted) {
+                result.addError(row.position, row.transaction.getTransactionId(), message);
+            }
+        }
+    }
+
+    private void insertBatch(List<ImportRow> rows) {
+        LocalDateTime now = LocalDateTime.now();
+        String createdAt = now.toString();
+        // Taken up front so COPY can write them; asking the insert for generated keys instead
+        // stops the driver from sending the batch as multi-row statements
+        List<Long> ids = jdbcTemplate.queryForList(ID_SQL, Long.class, rows.size());
+
+        StringBuilder data = new StringBuilder(rows.size() * 160);
+        for (int i = 0; i < rows.size(); i++) {
+            Transaction t = rows.get(i).transaction;
+            t.setId(ids.get(i));
+            data.append(t.getId());
+            field(data, t.getTransactionId());
+            field(data, t.getType().name());
+            field(data, t.getAmount().toPlainString());
+            field(data, t.getCategory());
+            field(data, t.getSubCategory());
+            field(data, t.getDate().toString());
+            field(data, t.getDescription());
+            field(data, t.getReference());
+            field(data, t.getAccountId());
+            field(data, t.getStudentId());
+            field(data, t.getStaffId());
+            field(data, t.getStatus().name());
+            field(data, t.getPaymentMethod());
+            field(data, t.getCreatedBy());
+            field(data, t.getNotes());
+            field(data, createdAt);
+            field(data, createdAt);
+            data.append('\n');
+        }
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection ->
+            copyIn(connection.unwrap(PGConnection.class).getCopyAPI(), new StringReader(data.toString())));
+
+        List<TransactionChangeEvent.Change> changes = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            Transaction transaction = row.transaction;
+            transaction.setCreatedAt(now);
+            transaction.setUpdatedAt(now);
+            transaction.setVersion(0L);
+            changes.add(new TransactionChangeEvent.Change(null, TransactionState.of(transaction)));
+        }
+        eventPublisher.publishEvent(new TransactionChangeEvent(changes));
+    }
+
+    private static long copyIn(CopyManager copyManager, StringReader data) throws SQLException {
+        try {
+            return copyManager.copyIn(COPY_SQL, data);
+        } catch (IOException e) {
+            // Reading a string cannot fail
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // A tab and the value in COPY's text format: \N for null, with backslashes and separators escaped
+    private static void field(StringBuilder data, Object value) {
+        data.append('\t');
+        if (value == null) {
+            data.append("\\N");
+            return;
+        }
+        String text = value.toString();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> data.append("\\\\");
+                case '\t' -> data.append("\\t");
+                case '\n' -> data.append("\\n");
+                case '\r' -> data.append("\\r");
+                default -> data.append(c);
+            }
+        }
+    }
+
+    // ============ ROW SOURCES ============
+
+    private interface RowSource {
+        ImportRow next() throws IOException;
+
+        long position();
+    }
+
+    private static final class ImportRow {
+        private final long position;
+        private final Transaction transaction;
+        private final String rawTransactionId;
+        private final String error;
+
+        private ImportRow(long position, Transaction transaction, String rawTransactionId, String error) {
+            this.position = position;
+            this.transaction = transaction;
+            this.rawTransactionId = rawTransactionId;
+            this.error = error;
+        }
+
+        private static ImportRow valid(long position, Transaction transaction) {
+            return new ImportRow(position, transaction, transaction.getTransactionId(), null);
+        }
+
+        private static ImportRow invalid(long position, String rawTransactionId, String error) {
+            return new ImportRow(position, null, rawTransactionId, error);
+        }
+    }
+
+    // Header row names the columns, in camelCase or snake_case, matching the Transaction fields
+    private static final class CsvRowSource implements RowSource {
+        private final CsvReader reader;
+        private Map<String, Integer> columns;
+
+        private CsvRowSource(InputStream input) {
+            this.reader = new CsvReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024));
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            if (columns == null) {
+                List<String> header = reader.readRecord();
+                if (header == null) {
+                    return null;
+                }
+                columns = new HashMap<>();
+                for (int i = 0; i < header.size(); i++) {
+                    columns.put(normalize(header.get(i)), i);
+                }
+            }
+
+            List<String> record = reader.readRecord();
+            if (record == null) {
+                return null;
+            }
+            long line = reader.getRecordLine();
+            String transactionId = field(record, "transactionid");
+            try {
+                Transaction t = new Transaction();
+                t.setTransactionId(transactionId);
+                t.setType(enumField(record, "type", TransactionType.class));
+                t.setAmount(decimalField(record, "amount"));
+                t.setCategory(field(record, "category"));
+                t.setSubCategory(field(record, "subcategory"));
+                t.setDate(dateField(record, "date"));
+                t.setDescription(field(record, "description"));
+                t.setReference(field(record, "reference"));
+                t.setAccountId(longField(record, "accountid"));
+                t.setStudentId(longField(record, "studentid"));
+                t.setStaffId(longField(record, "staffid"));
+                t.setStatus(enumField(record, "status", TransactionStatus.class));
+                t.setPaymentMethod(field(record, "paymentmethod"));
+                t.setCreatedBy(field(record, "createdby"));
+                t.setNotes(field(record, "notes"));
+                return ImportRow.valid(line, t);
+            } catch (IllegalArgumentException | DateTimeException e) {
+                return ImportRow.invalid(line, transactionId, "Invalid value: " + e.getMessage());
+            }
+        }
+
+        @Override
+        public long position() {
+            return reader.getRecordLine();
+        }
+
+        private String field(List<String> record, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= record.size()) {
+                return null;
+            }
+            String value = record.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private <E extends Enum<E>> E enumField(List<String> record, String column, Class<E> type) {
+            String value = field(record, column);
+            return value != null ? Enum.valueOf(type, value.toUpperCase(Locale.ROOT)) : null;
+        }
+
+        private BigDecimal decimalField(List<String> record, String column) {
+            String value = field(record, column);
+            return value != null ? new BigDecimal(value) : null;
+        }
+
+        private LocalDate dateField(List<String> record, String column) {
+            String value = field(record, column);
+            return value != null ? LocalDate.parse(value) : null;
+        }
+
+        private Long longField(List<String> record, String column) {
+            String value = field(record, column);
+            return value != null ? Long.valueOf(value) : null;
+        }
+
+        private static String normalize(String header) {
+            return header.trim().replace("_", "").toLowerCase(Locale.ROOT);
+        }
+    }
+
+    // Accepts a top-level JSON array or newline-delimited JSON objects
+    private final class JsonRowSource implements RowSource {
+        private final MappingIterator<JsonNode> iterator;
+        private long index;
+
+        private JsonRowSource(InputStream input) throws IOException {
+            this.iterator = objectMapper.readerFor(JsonNode.class).readValues(input);
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            if (!iterator.hasNextValue()) {
+                return null;
+            }
+            JsonNode node = iterator.nextValue();
+            index++;
+            String transactionId = node.hasNonNull("transactionId") ? node.get("transactionId").asText() : null;
+            try {
+                return ImportRow.valid(index, objectMapper.treeToValue(node, Transaction.class));
+            } catch (JsonProcessingException e) {
+                return ImportRow.invalid(index, transactionId, "Invalid value: " + e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public long position() {
+            return index + 1;
+        }
+    }
+}
@@ -0,0 +1,485 @@
+package com.edusync.finance.service;
+
+import com.edusync.finance.repository.FinancePeriodRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps transactions range-partitioned on date, one partition per month, so queries over a
+ * date range only touch the months they cover. The conversion locks the table for minutes,
+ * so it runs only when asked for through {@link #partition()}, or on startup when
+ * {@code finance.partitioning.enabled} is set. Once partitioned, partitions are kept
+ * {@code finance.partitioning.months-ahead} months ahead of today. Rows outside every
+ * partition land in transactions_default.
+ *
+ * A unique index on a partitioned table has to include the partition key, so uniqueness of
+ * transaction_id is enforced through the transaction_ids table, which a row trigger on
+ * transactions keeps in step. The table also records each row's id and date, so a lookup by
+ * id can be pruned to a single partition, and it answers lookups by transaction_id, which the
+ * partitions do not index.
+ *
+ * Fully closed years can be archived: their twelve months are rewritten, sorted and frozen,
+ * into a single read-only partition. Archived rows are read through the same queries as any
+ * other, and their period can no longer be reopened.
+ */
+@Service
+public class TransactionPartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionPartitionService.class);
+
+    public static final String DEFAULT_PARTITION = "transactions_default";
+    public static final String ARCHIVE_PREFIX = "transactions_archive_";
+
+    private static final String UNPARTITIONED = "transactions_unpartitioned";
+
+    private static final Pattern RANGE_BOUND = Pattern.compile("FROM \\('([0-9-]+)'\\) TO \\('([0-9-]+)'\\)");
+
+    private static final String PARTITIONS_SQL = """
+        SELECT c.relname AS name, pg_get_expr(c.relpartbound, c.oid) AS bound,
+               c.reltuples::bigint AS estimated_rows, pg_total_relation_size(c.oid) AS total_bytes
+        FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'transactions'::regclass
+        ORDER BY c.relname
+        """;
+
+    private static final String BOUNDS_SQL = "SELECT pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i"
+        + " JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = 'transactions'::regclass";
+
+    // Indexes backing constraints are recreated with the constraints themselves; unique ones
+    // cannot be recreated without the partition key, and transaction_ids takes their place
+    private static final String INDEX_DEFINITIONS_SQL = """
+        SELECT i.indexdef FROM pg_indexes i
+        JOIN pg_index x ON x.indexrelid = format('%I.%I', i.schemaname, i.indexname)::regclass
+        WHERE i.schemaname = current_schema() AND i.tablename = 'transactions' AND NOT x.indisunique
+          AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = x.indexrelid)
+        """;
+
+    // Any unique index on transaction_id alone, such as the constraint an older schema declared
+    private static final String UNIQUE_TRANSACTION_ID_SQL = """
+        SELECT EXISTS (SELECT 1 FROM pg_index x JOIN pg_attribute a ON a.attrelid = x.indrelid AND a.attnum = x.indkey[0]
+                       WHERE x.indrelid = 'transactions'::regclass AND x.indisunique AND x.indnatts = 1
+                         AND a.attname = 'transaction_id')
+        """;
+
+    private static final String ID_LOOKUP_SQL = """
+        SELECT EXISTS (SELECT 1 FROM pg_attribute
+                       WHERE attrelid = to_regclass('transaction_ids') AND attname = 'date' AND NOT attisdropped)
+        """;
+
+    private static final String CLAIM_FUNCTION_SQL = """
+        CREATE OR REPLACE FUNCTION transactions_claim_transaction_id() RETURNS trigger AS $$
+        BEGIN
+            IF TG_OP <> 'INSERT' AND (TG_OP = 'DELETE' OR NEW.transaction_id IS DISTINCT FROM OLD.transaction_id) THEN
+                DELETE FROM transaction_ids WHERE transaction_id = OLD.transaction_id;
+            END IF;
+            IF TG_OP = 'INSERT' OR (TG_OP = 'UPDATE' AND NEW.transaction_id IS DISTINCT FROM OLD.transaction_id) THEN
+                INSERT INTO transaction_ids (transaction_id, id, date) VALUES (NEW.transaction_id, NEW.id, NEW.date);
+            ELSIF TG_OP = 'UPDATE' AND NEW.date IS DISTINCT FROM OLD.date THEN
+                UPDATE transaction_ids SET date = NEW.date WHERE transaction_id = NEW.transaction_id;
+            END IF;
+            RETURN NULL;
+        END
+        $$ LANGUAGE plpgsql
+        """;
+
+    private static final String READ_ONLY_FUNCTION_SQL = """
+        CREATE OR REPLACE FUNCTION transactions_archive_read_only() RETURNS trigger AS $$
+        BEGIN
+            RAISE EXCEPTION 'Transactions in % are archived and read-only', TG_TABLE_NAME;
+        END
+        $$ LANGUAGE plpgsql
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final FinancePeriodRepository financePeriodRepository;
+
+    @Value("${finance.partitioning.enabled:false}")
+    private boolean enabled;
+
+    @Value("${finance.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    // Whether transaction_ids records dates; tables partitioned before it did go on without the lookup
+    private volatile boolean idLookup;
+
+    @Autowired
+    public TransactionPartitionService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            FinancePeriodRepository financePeriodRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.financePeriodRepository = financePeriodRepository;
+    }
+
+    // Ahead of the other startup listeners, which scan transactions or build indexes on it
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void initialize() {
+        if (enabled && !isPartitioned()) {
+            migrate();
+        }
+        // Not declared on the entity: Hibernate cannot see a partitioned table's indexes and would recreate it on every start
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_transactions_date_id ON transactions (date, id)");
+        if (isPartitioned()) {
+            ensurePartitions();
+        } else if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(UNIQUE_TRANSACTION_ID_SQL, Boolean.class))) {
+            jdbcTemplate.execute("CREATE UNIQUE INDEX transactions_transaction_id_key ON transactions (transaction_id)");
+        }
+        idLookup = Boolean.TRUE.equals(jdbcTemplate.queryForObject(ID_LOOKUP_SQL, Boolean.class));
+    }
+
+    // Also picks up a migration run through another instance
+    @Scheduled(cron = "${finance.partitioning.maintain-cron:0 15 1 * * *}")
+    public void scheduledMaintain() {
+        if (isPartitioned()) {
+            ensurePartitions();
+            idLookup = Boolean.TRUE.equals(jdbcTemplate.queryForObject(ID_LOOKUP_SQL, Boolean.class));
+        }
+    }
+
+    /**
+     * Partitions the plain table, or on a table partitioned before transaction_ids recorded
+     * dates, rebuilds transaction_ids with them. Either way writers wait until it commits, and
+     * for the first readers too.
+     */
+    public Map<String, Object> partition() {
+        long started = System.currentTimeMillis();
+        Map<String, Object> result = new HashMap<>();
+        if (!isPartitioned()) {
+            result.put("rows", migrate());
+        } else if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(ID_LOOKUP_SQL, Boolean.class))) {
+            result.put("rows", transactionTemplate.execute(status -> {
+                jdbcTemplate.execute("LOCK TABLE transactions IN SHARE ROW EXCLUSIVE MODE");
+                jdbcTemplate.execute("DROP TABLE transaction_ids");
+                return createTransactionIds("transactions");
+            }));
+            logger.info("Rebuilt transaction_ids with {} rows", result.get("rows"));
+        } else {
+            throw new IllegalStateException("Transactions are already partitioned");
+        }
+        ensurePartitions();
+        idLookup = true;
+        result.put("partitions", listPartitions().size());
+        result.put("elapsedMillis", System.currentTimeMillis() - started);
+        return result;
+    }
+
+    public boolean hasIdLookup() {
+        return idLookup;
+    }
+
+    // Only meaningful when hasIdLookup(); empty when there is no such transaction
+    public Optional<LocalDate> findDate(long id) {
+        return jdbcTemplate.queryForList("SELECT date FROM transaction_ids WHERE id = ?", LocalDate.class, id)
+            .stream()
+            .findFirst();
+    }
+
+    // Only meaningful when hasIdLookup()
+    public Optional<Long> findId(String transactionId) {
+        return jdbcTemplate.queryForList("SELECT id FROM transaction_ids WHERE transaction_id = ?", Long.class, transactionId)
+            .stream()
+            .findFirst();
+    }
+
+    // Only meaningful when hasIdLookup(); the given IDs that are taken
+    public List<String> findExistingTransactionIds(Collection<String> transactionIds) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                "SELECT transaction_id FROM transaction_ids WHERE transaction_id = ANY (?)");
+            statement.setArray(1, connection.createArrayOf("varchar", transactionIds.toArray()));
+            return statement;
+        }, (rs, rowNum) -> rs.getString(1));
+    }
+
+    public boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM pg_class WHERE oid = to_regclass('transactions') AND relkind = 'p')", Boolean.class));
+    }
+
+    public boolean isArchived(int year) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT to_regclass(?) IS NOT NULL", Boolean.class, ARCHIVE_PREFIX + year));
+    }
+
+    /**
+     * The dates the range partitions cover, from the start of the first to the end of the last;
+     * empty when the table is not partitioned or the partitions leave a gap. Outside the span
+     * only the default partition holds rows.
+     */
+    public Optional<DateSpan> findPartitionedSpan() {
+        List<DateSpan> ranges = new ArrayList<>();
+        for (String bound : jdbcTemplate.queryForList(BOUNDS_SQL, String.class)) {
+            Matcher range = RANGE_BOUND.matcher(bound);
+            if (range.find()) {
+                ranges.add(new DateSpan(LocalDate.parse(range.group(1)), LocalDate.parse(range.group(2))));
+            }
+        }
+        if (ranges.isEmpty()) {
+            return Optional.empty();
+        }
+        ranges.sort(Comparator.comparing(DateSpan::from));
+        for (int i = 1; i < ranges.size(); i++) {
+            if (!ranges.get(i).from().equals(ranges.get(i - 1).to())) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(new DateSpan(ranges.get(0).from(), ranges.get(ranges.size() - 1).to()));
+    }
+
+    // Creates the month partitions from the current month through months-ahead that do not exist yet
+    public int ensurePartitions() {
+        return transactionTemplate.execute(status -> {
+            List<Partition> partitions = listPartitions();
+            YearMonth last = YearMonth.now().plusMonths(monthsAhead);
+            int created = 0;
+            for (YearMonth month = YearMonth.now(); !month.isAfter(last); month = month.plusMonths(1)) {
+                LocalDate from = month.atDay(1);
+                LocalDate to = month.plusMonths(1).atDay(1);
+                if (partitions.stream().noneMatch(p -> p.overlaps(from, to))) {
+                    createPartition(monthName(month), from, to);
+                    created++;
+                }
+            }
+            if (created > 0) {
+                logger.info("Created {} transaction partition(s) through {}", created, last);
+            }
+            return created;
+        });
+    }
+
+    /**
+     * Rewrites every month of {@code year} into one archive partition. The year must be closed
+     * through December, and archiving cannot be undone through the service. Writers wait for
+     * the copy; readers only for the final swap.
+     */
+    public Map<String, Object> archiveYear(int year) {
+        if (year >= Year.now().getValue()) {
+            throw new IllegalArgumentException("Only past years can be archived: " + year);
+        }
+        if (!isPartitioned()) {
+            throw new IllegalStateException("Transactions are not partitioned");
+        }
+        LocalDate from = LocalDate.of(year, 1, 1);
+        LocalDate to = from.plusYears(1);
+        String archive = ARCHIVE_PREFIX + year;
+
+        long started = System.currentTimeMillis();
+        Map<String, Object> result = transactionTemplate.execute(status -> {
+            // Same lock as a period close, so a reopen cannot slip in between the check and the copy
+            jdbcTemplate.execute("LOCK TABLE transactions IN SHARE ROW EXCLUSIVE MODE");
+            if (isArchived(year)) {
+                throw new IllegalStateException("Year " + year + " is already archived");
+            }
+            LocalDate latestClosed = financePeriodRepository.findLatestClosedMonth().orElse(null);
+            if (latestClosed == null || latestClosed.isBefore(LocalDate.of(year, 12, 1))) {
+                throw new IllegalStateException("Year " + year + " is not closed through December");
+            }
+
+            long bytesBefore = listPartitions().stream()
+                .filter(p -> p.overlaps(from, to))
+                .mapToLong(Partition::totalBytes)
+                .sum();
+            long rows = movePartition(archive, from, to, " WITH (fillfactor = 100)");
+            jdbcTemplate.execute(READ_ONLY_FUNCTION_SQL);
+            jdbcTemplate.execute("CREATE TRIGGER " + archive + "_read_only BEFORE INSERT OR UPDATE OR DELETE ON "
+                + archive + " FOR EACH ROW EXECUTE FUNCTION transactions_archive_read_only()");
+            jdbcTemplate.execute("CREATE TRIGGER " + archive + "_no_truncate BEFORE TRUNCATE ON "
+                + archive + " FOR EACH STATEMENT EXECUTE FUNCTION transactions_archive_read_only()");
+
+            Map<String, Object> archived = new HashMap<>();
+            archived.put("year", year);
+            archived.put("partition", archive);
+            archived.put("rows", rows);
+            archived.put("bytesBefore", bytesBefore);
+            return archived;
+        });
+
+        // Outside the transaction: VACUUM cannot run inside one. Freezing now means the rows are never rewritten again
+        jdbcTemplate.execute("VACUUM (FREEZE, ANALYZE) " + archive);
+        result.put("bytesAfter", jdbcTemplate.queryForObject("SELECT pg_total_relation_size(?::regclass)", Long.class, archive));
+        result.put("elapsedMillis", System.currentTimeMillis() - started);
+        logger.info("Archived {} transactions of {} into {}: {} bytes down to {} in {} ms", result.get("rows"), year,
+            archive, result.get("bytesBefore"), result.get("bytesAfter"), result.get("elapsedMillis"));
+        return result;
+    }
+
+    public List<Map<String, Object>> getPartitions() {
+        List<Map<String, Object>> partitions = new ArrayList<>();
+        for (Partition partition : listPartitions()) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("name", partition.name());
+            row.put("from", partition.from());
+            row.put("to", partition.to());
+            row.put("archived", partition.name().startsWith(ARCHIVE_PREFIX));
+            row.put("estimatedRows", Math.max(partition.estimatedRows(), 0));
+            row.put("totalBytes", partition.totalBytes());
+            partitions.add(row);
+        }
+        return partitions;
+    }
+
+    /**
+     * Converts the plain table in one transaction: the rows are copied into month partitions
+     * covering every existing date through months-ahead, then the indexes are rebuilt. Reads and
+     * writes wait until it commits, which on a few million rows takes minutes.
+     */
+    private long migrate() {
+        long started = System.currentTimeMillis();
+        logger.info("Partitioning the transactions table by month");
+        long rows = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("LOCK TABLE transactions IN ACCESS EXCLUSIVE MODE");
+            List<String> indexes = jdbcTemplate.queryForList(INDEX_DEFINITIONS_SQL, String.class);
+            String sequence = jdbcTemplate.queryForObject("SELECT pg_get_serial_sequence('transactions', 'id')", String.class);
+
+            jdbcTemplate.execute("ALTER TABLE transactions RENAME TO " + UNPARTITIONED);
+            jdbcTemplate.execute("CREATE TABLE transactions (LIKE " + UNPARTITIONED
+                + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING STORAGE) PARTITION BY RANGE (date)");
+            if (sequence != null) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " OWNED BY transactions.id");
+            }
+            jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF transactions DEFAULT");
+
+            YearMonth last = YearMonth.now().plusMonths(monthsAhead);
+            LocalDate latest = jdbcTemplate.queryForObject("SELECT max(date) FROM " + UNPARTITIONED, LocalDate.class);
+            if (latest != null && YearMonth.from(latest).isAfter(last)) {
+                last = YearMonth.from(latest);
+            }
+            LocalDate earliest = jdbcTemplate.queryForObject("SELECT min(date) FROM " + UNPARTITIONED, LocalDate.class);
+            YearMonth first = earliest != null ? YearMonth.from(earliest) : YearMonth.now();
+            for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+                createPartition(monthName(month), month.atDay(1), month.plusMonths(1).atDay(1));
+            }
+
+            // Indexes and the uniqueness trigger come after the copy; building them once is far cheaper
+            int copied = jdbcTemplate.update("INSERT INTO transactions SELECT * FROM " + UNPARTITIONED);
+            createTransactionIds(UNPARTITIONED);
+            // Dropped first so the new key and indexes get the old names back
+            jdbcTemplate.execute("DROP TABLE " + UNPARTITIONED);
+            jdbcTemplate.execute("ALTER TABLE transactions ADD CONSTRAINT transactions_pkey PRIMARY KEY (id, date)");
+            for (String index : indexes) {
+                jdbcTemplate.execute(index);
+            }
+            jdbcTemplate.execute("ANALYZE transactions");
+            return (long) copied;
+        });
+        logger.info("Partitioned {} transactions in {} ms", rows, System.currentTimeMillis() - started);
+        return rows;
+    }
+
+    // Fills transaction_ids from source and (re)creates the trigger that keeps it in step with transactions
+    private long createTransactionIds(String source) {
+        jdbcTemplate.execute("CREATE TABLE transaction_ids (transaction_id varchar(255) PRIMARY KEY,"
+            + " id bigint NOT NULL, date date NOT NULL)");
+        long rows = jdbcTemplate.update("INSERT INTO transaction_ids SELECT transaction_id, id, date FROM " + source
+            + " WHERE transaction_id IS NOT NULL");
+        // Covering, so the date comes from the index alone
+        jdbcTemplate.execute("CREATE INDEX transaction_ids_id ON transaction_ids (id) INCLUDE (date)");
+        jdbcTemplate.execute(CLAIM_FUNCTION_SQL);
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS transactions_unique_transaction_id ON transactions");
+        jdbcTemplate.execute("CREATE TRIGGER transactions_unique_transaction_id"
+            + " AFTER INSERT OR UPDATE OF transaction_id, date OR DELETE ON transactions"
+            + " FOR EACH ROW EXECUTE FUNCTION transactions_claim_transaction_id()");
+        return rows;
+    }
+
+    private void createPartition(String name, LocalDate from, LocalDate to) {
+        Boolean inDefault = jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + " WHERE date >= ? AND date < ?)", Boolean.class, from, to);
+        if (Boolean.TRUE.equals(inDefault)) {
+            // The default partition has rows for the range, which a new partition would overlap
+            movePartition(name, from, to, "");
+            return;
+        }
+        jdbcTemplate.execute("CREATE TABLE " + name + " PARTITION OF transactions FOR VALUES FROM ('"
+            + from + "') TO ('" + to + "')");
+    }
+
+    /**
+     * Builds {@code name} as a standalone table holding every row in [from, to), sorted by date,
+     * drops the partitions and default rows it replaces and attaches it for the range. The range
+     * check lets the attach skip scanning it. Returns the number of rows moved.
+     */
+    private long movePartition(String name, LocalDate from, LocalDate to, String storage) {
+        jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE transactions INCLUDING DEFAULTS INCLUDING CONSTRAINTS"
+            + " INCLUDING STORAGE)" + storage);
+        jdbcTemplate.execute("ALTER TABLE " + name + " ADD CONSTRAINT " + name + "_date_range CHECK (date >= '"
+            + from + "' AND date < '" + to + "')");
+        long rows = jdbcTemplate.update("INSERT INTO " + name
+            + " SELECT * FROM transactions WHERE date >= ? AND date < ? ORDER BY date, id", from, to);
+
+        // Dropping a partition fires no row triggers, so those rows keep their claimed transaction ids
+        for (Partition partition : listPartitions()) {
+            if (partition.overlaps(from, to)) {
+                jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION " + partition.name());
+                jdbcTemplate.execute("DROP TABLE " + partition.name());
+            }
+        }
+        int fromDefault = jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE date >= ? AND date < ?", from, to);
+        jdbcTemplate.execute("ALTER TABLE transactions ATTACH PARTITION " + name + " FOR VALUES FROM ('"
+            + from + "') TO ('" + to + "')");
+        if (fromDefault > 0) {
+            // The delete released the moved rows' transaction ids
+            jdbcTemplate.update((idLookup
+                ? "INSERT INTO transaction_ids SELECT transaction_id, id, date FROM "
+                : "INSERT INTO transaction_ids SELECT transaction_id FROM ")
+                + name + " WHERE transaction_id IS NOT NULL ON CONFLICT DO NOTHING");
+        }
+        return rows;
+    }
+
+    private List<Partition> listPartitions() {
+        return jdbcTemplate.query(PARTITIONS_SQL, (rs, row) -> {
+            Matcher bound = RANGE_BOUND.matcher(rs.getString("bound"));
+            boolean range = bound.find();
+            return new Partition(
+                rs.getString("name"),
+                range ? LocalDate.parse(bound.group(1)) : null,
+                range ? LocalDate.parse(bound.group(2)) : null,
+                rs.getLong("estimated_rows"),
+                rs.getLong("total_bytes"));
+        });
+    }
+
+    private static String monthName(YearMonth month) {
+        return String.format("transactions_%d_%02d", month.getYear(), month.getMonthValue());
+    }
+
+    // Dates from from up to, but not including, to
+    public record DateSpan(LocalDate from, LocalDate to) {
+    }
+
+    // from and to are null for the default partition, which overlaps no range
+    private record Partition(String name, LocalDate from, LocalDate to, long estimatedRows, long totalBytes) {
+        boolean overlaps(LocalDate start, LocalDate end) {
+            return from != null && from.isBefore(end) && to.isAfter(start);
+        }
+    }
+}
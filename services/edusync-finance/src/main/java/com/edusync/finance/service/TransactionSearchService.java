@@ -0,0 +1,257 @@
+package com.edusync.finance.service;
+
+import com.edusync.finance.dto.TransactionSearchResult;
+import com.edusync.finance.entity.Transaction;
+import com.edusync.finance.repository.TransactionRepository;
+import com.edusync.finance.service.TransactionPartitionService.DateSpan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Free-text search over description, reference and notes, backed by a pg_trgm GIN index on
+ * the three fields joined together. Hits are texts containing the query, ignoring case; only
+ * when there are none does the search fall back to texts with words close to the query, which
+ * is what catches typos. Hits are ordered by trigram word similarity to the query.
+ *
+ * Broad queries can match millions of rows, so a search ranks at most the newest
+ * {@code finance.search.max-candidates} matches and stops paging there. Taking the newest
+ * rather than whichever the index returns first keeps the same query giving the same hits.
+ */
+@Service
+public class TransactionSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionSearchService.class);
+
+    public static final int MIN_QUERY_LENGTH = 3;
+    public static final int MAX_QUERY_LENGTH = 200;
+
+    // Must stay identical to the indexed expression for the planner to use the index
+    public static final String DOCUMENT =
+        "(coalesce(description, '') || ' ' || coalesce(reference, '') || ' ' || coalesce(notes, ''))";
+
+    private static final String INDEX_SQL = "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_search_trgm"
+        + " ON transactions USING gin (" + DOCUMENT + " gin_trgm_ops)";
+
+    // Newest first within the window, so that the same query always ranks the same candidates.
+    // Parameters: query, pattern or query, limit
+    private static final String WINDOW_SQL = """
+        SELECT id, date, strict_word_similarity(?, document) AS score
+        FROM (SELECT id, date, %1$s AS document FROM transactions WHERE %%s%%s
+              ORDER BY date DESC, id DESC LIMIT ?) candidates
+        """.formatted(DOCUMENT);
+
+    public static final String EXACT_MATCH = DOCUMENT + " ILIKE ?";
+
+    public static final String FUZZY_MATCH = "? <<% " + DOCUMENT;
+
+    private static final String DATE_SPAN_SQL = "SELECT min(date), max(date) + 1 FROM transactions";
+
+    // Null when there is no such index; false when a failed concurrent build left it invalid
+    private static final String INDEX_VALID_SQL = "SELECT i.indisvalid FROM pg_index i"
+        + " JOIN pg_class c ON c.oid = i.indexrelid WHERE c.relname = 'idx_transactions_search_trgm'";
+
+    private static final RowMapper<Match> MATCH_MAPPER =
+        (rs, row) -> new Match(rs.getLong("id"), rs.getDate("date").toLocalDate(), rs.getDouble("score"));
+
+    private static final Comparator<Match> NEWEST_FIRST =
+        Comparator.comparing(Match::date).thenComparingLong(Match::id).reversed();
+
+    private static final Comparator<Match> BEST_FIRST =
+        Comparator.comparingDouble(Match::score).thenComparing(Match::date).thenComparingLong(Match::id).reversed();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionRepository transactionRepository;
+    private final TransactionPartitionService transactionPartitionService;
+
+    @Value("${finance.search.create-index:true}")
+    private boolean createIndex;
+
+    @Value("${finance.search.fuzzy-threshold:0.5}")
+    private double fuzzyThreshold;
+
+    @Value("${finance.search.max-candidates:10000}")
+    private int maxCandidates;
+
+    @Value("${finance.search.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${finance.search.timeout:PT3S}")
+    private Duration timeout;
+
+    @Autowired
+    public TransactionSearchService(JdbcTemplate jdbcTemplate, TransactionRepository transactionRepository,
+                                    TransactionPartitionService transactionPartitionService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionRepository = transactionRepository;
+        this.transactionPartitionService = transactionPartitionService;
+    }
+
+    // Outside any transaction: CREATE INDEX CONCURRENTLY cannot run inside one, and it does not block writers
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndex() {
+        if (!createIndex) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        try {
+            List<Boolean> valid = jdbcTemplate.queryForList(INDEX_VALID_SQL, Boolean.class);
+            if (valid.contains(Boolean.TRUE)) {
+                return;
+            }
+            // A partitioned table cannot be indexed concurrently; the plain build blocks writers meanwhile
+            boolean concurrently = !transactionPartitionService.isPartitioned();
+            if (!valid.isEmpty()) {
+                // IF NOT EXISTS would keep the broken index, which the planner never uses
+                logger.warn("Transaction search index is invalid; rebuilding it");
+                jdbcTemplate.execute(concurrently
+                    ? "DROP INDEX CONCURRENTLY idx_transactions_search_trgm"
+                    : "DROP INDEX idx_transactions_search_trgm");
+            }
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbcTemplate.execute(concurrently ? INDEX_SQL : INDEX_SQL.replace(" CONCURRENTLY", ""));
+            // Statistics on the indexed expression let the planner scan the table for very common terms
+            jdbcTemplate.execute("ANALYZE transactions");
+            logger.info("Transaction search index created in {} ms", System.currentTimeMillis() - started);
+        } catch (DataAccessException e) {
+            logger.warn("Could not create the transaction search index; search will scan the table", e);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public TransactionSearchResult search(String text, int page, int size, boolean fuzzy) {
+        String query = text != null ? text.trim().replaceAll("\\s+", " ") : "";
+        if (query.length() < MIN_QUERY_LENGTH || query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Query must be " + MIN_QUERY_LENGTH + " to " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (page < 0 || size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("Page must be at least 0 and size between 1 and " + maxPageSize);
+        }
+
+        long started = System.currentTimeMillis();
+        TransactionSearchResult result = new TransactionSearchResult(query, page, size);
+        long offset = (long) page * size;
+
+        List<Match> matches;
+        // A cancelled statement aborts the transaction; rolling back to the savepoint keeps it usable
+        jdbcTemplate.execute("SAVEPOINT transaction_search");
+        try {
+            long deadline = started + timeout.toMillis();
+            matches = rank(query, false, deadline);
+
+            // Similar words are only worth the wider scan when nothing contains the query at all
+            if (matches.isEmpty() && fuzzy) {
+                jdbcTemplate.queryForObject("SELECT set_config('pg_trgm.strict_word_similarity_threshold', ?, true)",
+                    String.class, Double.toString(fuzzyThreshold));
+                matches = rank(query, true, deadline);
+                result.setFuzzy(true);
+            }
+            jdbcTemplate.execute("RELEASE SAVEPOINT transaction_search");
+        } catch (DataAccessException e) {
+            if (!isTimeout(e)) {
+                throw e;
+            }
+            // Near-misses on very common words can make the index recheck most of the table
+            jdbcTemplate.execute("ROLLBACK TO SAVEPOINT transaction_search");
+            logger.warn("Search for '{}' gave up after {}", query, timeout);
+            result.setTimedOut(true);
+            matches = List.of();
+        }
+
+        result.setHasMore(matches.size() > offset + size);
+        matches = matches.subList((int) Math.min(offset, matches.size()), (int) Math.min(offset + size, matches.size()));
+        Map<Long, Transaction> transactions = new HashMap<>();
+        for (Transaction transaction : transactionRepository.findAllById(matches.stream().map(match -> match.id).toList())) {
+            transactions.put(transaction.getId(), transaction);
+        }
+        for (Match match : matches) {
+            Transaction transaction = transactions.get(match.id);
+            if (transaction != null) {
+                result.add(new TransactionSearchResult.Hit(transaction, match.score));
+            }
+        }
+        result.setElapsedMillis(System.currentTimeMillis() - started);
+        return result;
+    }
+
+    /**
+     * The newest {@code finance.search.max-candidates} transactions containing the query, or with
+     * words close to it when {@code fuzzy}, best match first. They are read newest first in date
+     * windows that double in length, each planned on its own: a single plan over the whole table
+     * either walks the date index through every row a rare query misses, or fetches and sorts
+     * every row a common one matches. Each statement only gets the time left until
+     * {@code deadline} ({@code Long.MAX_VALUE} for no limit).
+     */
+    public List<Match> rank(String query, boolean fuzzy, long deadline) {
+        String match = fuzzy ? FUZZY_MATCH : EXACT_MATCH;
+        String argument = fuzzy ? query : "%" + escapeLike(query) + "%";
+        Optional<DateSpan> partitioned = transactionPartitionService.findPartitionedSpan();
+        DateSpan span = partitioned.orElseGet(() -> jdbcTemplate.queryForObject(DATE_SPAN_SQL,
+            (rs, row) -> rs.getDate(1) != null ? new DateSpan(rs.getDate(1).toLocalDate(), rs.getDate(2).toLocalDate()) : null));
+        List<Match> candidates = new ArrayList<>();
+        if (span == null) {
+            return candidates;
+        }
+        if (partitioned.isPresent()) {
+            // Only the default partition holds rows outside the span; leaving it out of the windows lets them skip it
+            candidates.addAll(window(match, " AND (date < '" + span.from() + "' OR date >= '" + span.to() + "')",
+                query, argument, maxCandidates, deadline));
+        }
+        int found = 0;
+        LocalDate end = span.to();
+        for (int months = 1; found < maxCandidates && end.isAfter(span.from()); months *= 2) {
+            LocalDate start = end.minusMonths(months).isAfter(span.from()) ? end.minusMonths(months) : span.from();
+            List<Match> matches = window(match, " AND date >= '" + start + "' AND date < '" + end + "'",
+                query, argument, maxCandidates - found, deadline);
+            candidates.addAll(matches);
+            found += matches.size();
+            end = start;
+        }
+        candidates.sort(NEWEST_FIRST);
+        List<Match> newest = new ArrayList<>(candidates.subList(0, Math.min(candidates.size(), maxCandidates)));
+        newest.sort(BEST_FIRST);
+        return newest;
+    }
+
+    private List<Match> window(String match, String dates, String query, String argument, int limit, long deadline) {
+        if (deadline != Long.MAX_VALUE) {
+            long left = deadline - System.currentTimeMillis();
+            if (left <= 0) {
+                throw new QueryTimeoutException("Transaction search ran out of time");
+            }
+            jdbcTemplate.queryForObject("SELECT set_config('statement_timeout', ?, true)", String.class, left + "ms");
+        }
+        return jdbcTemplate.query(WINDOW_SQL.formatted(match, dates), MATCH_MAPPER, query, argument, limit);
+    }
+
+    // Postgres reports a cancelled statement as query_canceled, which Spring does not map to QueryTimeoutException
+    private static boolean isTimeout(DataAccessException e) {
+        return e instanceof QueryTimeoutException || e.getMostSpecificCause() instanceof SQLException sql && "57014".equals(sql.getSQLState());
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    public record Match(long id, LocalDate date, double score) {
+    }
+}
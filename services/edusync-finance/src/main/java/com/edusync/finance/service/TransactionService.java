@@ -1,12 +1,22 @@
 package com.edusync.finance.service;
 
-import com.edusync.finance.client.StudentClient;
+import com.edusync.finance.dto.TransactionCursor;
+import com.edusync.finance.dto.TransactionFilter;
+import com.edusync.finance.dto.TransactionPage;
 import com.edusync.finance.entity.Transaction;
 import com.edusync.finance.entity.Transaction.TransactionStatus;
 import com.edusync.finance.entity.Transaction.TransactionType;
+import com.edusync.finance.event.TransactionChangeEvent;
+import com.edusync.finance.event.TransactionState;
 import com.edusync.finance.repository.TransactionRepository;
+import com.edusync.finance.repository.TransactionSpecifications;
+import com.edusync.finance.util.IdGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.lang.NonNull;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,83 +29,127 @@ import java.util.Optional;
 @Transactional
 public class TransactionService {
     
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int DEFAULT_RECENT_LIMIT = 20;
+    public static final int MAX_RECENT_LIMIT = 200;
+    public static final String TRANSACTION_ID_PREFIX = "TXN";
+    
     private final TransactionRepository transactionRepository;
-    private final StudentClient studentClient;
+    private final StudentValidationService studentValidationService;
+    private final LedgerRollupService ledgerRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IdGenerator idGenerator;
+    private final TransactionPartitionService transactionPartitionService;
     
     @Autowired
     public TransactionService(
             TransactionRepository transactionRepository,
-            StudentClient studentClient) {
+            StudentValidationService studentValidationService,
+            LedgerRollupService ledgerRollupService,
+            ApplicationEventPublisher eventPublisher,
+            IdGenerator idGenerator,
+            TransactionPartitionService transactionPartitionService) {
         this.transactionRepository = transactionRepository;
-        this.studentClient = studentClient;
+        this.studentValidationService = studentValidationService;
+        this.ledgerRollupService = ledgerRollupService;
+        this.eventPublisher = eventPublisher;
+        this.idGenerator = idGenerator;
+        this.transactionPartitionService = transactionPartitionService;
     }
     
+    @Transactional(readOnly = true)
     public List<Transaction> getAllTransactions() {
         return transactionRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
     public Optional<Transaction> getTransactionById(@NonNull Long id) {
-        return transactionRepository.findById(id);
+        return findTransaction(id);
     }
     
+    @Transactional(readOnly = true)
     public Optional<Transaction> getTransactionByTransactionId(String transactionId) {
-        return transactionRepository.findByTransactionId(transactionId);
+        if (!transactionPartitionService.hasIdLookup()) {
+            return transactionRepository.findByTransactionId(transactionId);
+        }
+        return transactionPartitionService.findId(transactionId).flatMap(this::findTransaction);
     }
     
+    @Transactional(readOnly = true)
     public List<Transaction> getTransactionsByType(TransactionType type) {
         return transactionRepository.findByType(type);
     }
     
+    @Transactional(readOnly = true)
     public List<Transaction> getTransactionsByStatus(TransactionStatus status) {
         return transactionRepository.findByStatus(status);
     }
     
+    @Transactional(readOnly = true)
     public List<Transaction> getTransactionsByCategory(String category) {
         return transactionRepository.findByCategory(category);
     }
     
+    @Transactional(readOnly = true)
     public List<Transaction> getTransactionsByDateRange(LocalDate startDate, LocalDate endDate) {
         return transactionRepository.findByDateBetween(startDate, endDate);
     }
     
+    @Transactional(readOnly = true)
     public List<Transaction> getTransactionsByTypeAndDateRange(
             TransactionType type, LocalDate startDate, LocalDate endDate) {
         return transactionRepository.findByTypeAndDateBetween(type, startDate, endDate);
     }
     
+    @Transactional(readOnly = true)
     public List<Transaction> getTransactionsByStudentId(@NonNull Long studentId) {
         return transactionRepository.findByStudentId(studentId);
     }
     
+    @Transactional(readOnly = true)
     public List<Transaction> getTransactionsByStaffId(@NonNull Long staffId) {
         return transactionRepository.findByStaffId(staffId);
     }
     
-    public List<Transaction> getRecentTransactions() {
-        return transactionRepository.findRecentTransactions();
+    @Transactional(readOnly = true)
+    public List<Transaction> getRecentTransactions(int limit) {
+        int bounded = Math.min(Math.max(limit, 1), MAX_RECENT_LIMIT);
+        return transactionRepository.findByStatusOrderByDateDescIdDesc(TransactionStatus.COMPLETED, Limit.of(bounded));
+    }
+    
+    // Keyset page in (date DESC, id DESC) order; fetches one extra row to learn whether another page exists
+    @Transactional(readOnly = true)
+    public TransactionPage getTransactionPage(TransactionFilter filter, TransactionCursor cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        
+        Specification<Transaction> spec = TransactionSpecifications.matching(filter);
+        if (cursor != null) {
+            spec = spec.and(TransactionSpecifications.after(cursor));
+        }
+        
+        List<Transaction> rows = transactionRepository.findBy(spec, query -> query
+            .sortBy(TransactionSpecifications.KEYSET_ORDER)
+            .limit(pageSize + 1)
+            .all());
+        
+        if (rows.size() <= pageSize) {
+            return new TransactionPage(rows, null);
+        }
+        List<Transaction> items = rows.subList(0, pageSize);
+        return new TransactionPage(items, TransactionCursor.after(items.get(pageSize - 1)));
     }
     
     public Transaction createTransaction(Transaction transaction) {
-        // Validate transaction
+        // Only caller-supplied IDs need checking; generated ones are unique by construction
         if (transaction.getTransactionId() != null && 
-            transactionRepository.findByTransactionId(transaction.getTransactionId()).isPresent()) {
+            getTransactionByTransactionId(transaction.getTransactionId()).isPresent()) {
             throw new IllegalArgumentException("Transaction ID already exists: " + transaction.getTransactionId());
         }
         
         // Validate student exists if studentId is provided
         if (transaction.getStudentId() != null) {
-            try {
-                StudentClient.StudentResponse student = studentClient.getStudentById(transaction.getStudentId());
-                if (student == null || !"ACTIVE".equals(student.getStatus())) {
-                    throw new IllegalArgumentException(
-                        "Student with ID " + transaction.getStudentId() + " not found or not active"
-                    );
-                }
-            } catch (Exception e) {
-                throw new IllegalArgumentException(
-                    "Failed to validate student with ID " + transaction.getStudentId() + ": " + e.getMessage()
-                );
-            }
+            studentValidationService.validateStudent(transaction.getStudentId());
         }
         
         // Generate transaction ID if not provided
@@ -108,12 +162,20 @@ public class TransactionService {
             transaction.setStatus(TransactionStatus.PENDING);
         }
         
-        return transactionRepository.save(transaction);
+        // A version in the request body would make save() treat this as an existing row
+        transaction.setVersion(null);
+        
+        Transaction saved = transactionRepository.save(transaction);
+        eventPublisher.publishEvent(TransactionChangeEvent.created(TransactionState.of(saved)));
+        return saved;
     }
     
+    // A version in the details must match the stored one, so edits made from a stale copy are refused
     public Transaction updateTransaction(@NonNull Long id, Transaction transactionDetails) {
-        Transaction transaction = transactionRepository.findById(id)
+        Transaction transaction = findTransaction(id)
             .orElseThrow(() -> new RuntimeException("Transaction not found with id: " + id));
+        checkVersion(transaction, transactionDetails.getVersion());
+        TransactionState before = TransactionState.of(transaction);
         
         transaction.setType(transactionDetails.getType());
         transaction.setAmount(transactionDetails.getAmount());
@@ -129,53 +191,83 @@ public class TransactionService {
         transaction.setPaymentMethod(transactionDetails.getPaymentMethod());
         transaction.setNotes(transactionDetails.getNotes());
         
-        return transactionRepository.save(transaction);
+        Transaction saved = transactionRepository.save(transaction);
+        eventPublisher.publishEvent(TransactionChangeEvent.updated(before, TransactionState.of(saved)));
+        return saved;
     }
     
-    public Transaction updateTransactionStatus(@NonNull Long id, TransactionStatus status) {
-        Transaction transaction = transactionRepository.findById(id)
+    public Transaction updateTransactionStatus(@NonNull Long id, TransactionStatus status, Long expectedVersion) {
+        Transaction transaction = findTransaction(id)
             .orElseThrow(() -> new RuntimeException("Transaction not found with id: " + id));
+        checkVersion(transaction, expectedVersion);
+        
+        TransactionState before = TransactionState.of(transaction);
         
         transaction.setStatus(status);
-        return transactionRepository.save(transaction);
+        Transaction saved = transactionRepository.save(transaction);
+        eventPublisher.publishEvent(TransactionChangeEvent.updated(before, TransactionState.of(saved)));
+        return saved;
     }
     
     public void deleteTransaction(@NonNull Long id) {
-        if (!transactionRepository.existsById(id)) {
-            throw new RuntimeException("Transaction not found with id: " + id);
+        Transaction transaction = findTransaction(id)
+            .orElseThrow(() -> new RuntimeException("Transaction not found with id: " + id));
+        
+        TransactionState before = TransactionState.of(transaction);
+        transactionRepository.delete(transaction);
+        eventPublisher.publishEvent(TransactionChangeEvent.deleted(before));
+    }
+    
+    // By id alone a partitioned table probes every partition's key; the row's date narrows it to one
+    private Optional<Transaction> findTransaction(Long id) {
+        if (!transactionPartitionService.hasIdLookup()) {
+            return transactionRepository.findById(id);
         }
-        transactionRepository.deleteById(id);
+        Optional<LocalDate> date = transactionPartitionService.findDate(id);
+        if (date.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<Transaction> transaction = transactionRepository.findByIdAndDate(id, date.get());
+        // The date changed between the two reads
+        return transaction.isPresent() ? transaction : transactionRepository.findById(id);
     }
     
     // Statistics methods
+    @Transactional(readOnly = true)
     public long getTotalTransactionCount() {
         return transactionRepository.count();
     }
     
+    @Transactional(readOnly = true)
     public long getTransactionCountByType(TransactionType type) {
         return transactionRepository.countByType(type);
     }
     
+    @Transactional(readOnly = true)
     public BigDecimal getTotalAmountByType(TransactionType type) {
-        BigDecimal total = transactionRepository.sumAmountByType(type);
-        return total != null ? total : BigDecimal.ZERO;
+        return ledgerRollupService.getTotalAmountByType(type);
     }
     
+    @Transactional(readOnly = true)
     public BigDecimal getTotalAmountByTypeAndDateRange(
             TransactionType type, LocalDate startDate, LocalDate endDate) {
-        BigDecimal total = transactionRepository.sumAmountByTypeAndDateBetween(type, startDate, endDate);
-        return total != null ? total : BigDecimal.ZERO;
+        return ledgerRollupService.getTotalAmountByTypeAndDateRange(type, startDate, endDate);
     }
     
+    @Transactional(readOnly = true)
     public List<Object[]> getCategoryBreakdownByType(TransactionType type) {
-        return transactionRepository.sumAmountByTypeGroupByCategory(type);
+        return ledgerRollupService.getCategoryBreakdownByType(type);
     }
     
     // Helper methods
+    private void checkVersion(Transaction transaction, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(transaction.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Transaction.class, transaction.getId());
+        }
+    }
+    
     private String generateTransactionId() {
-        String prefix = "TXN";
-        long timestamp = System.currentTimeMillis();
-        return prefix + timestamp;
+        return idGenerator.nextId(TRANSACTION_ID_PREFIX);
     }
 }
 
@@ -1,9 +1,11 @@
 package com.edusync.finance.service;
 
+import com.edusync.finance.cache.StudentLedgerCache;
 import com.edusync.finance.entity.TuitionFee;
 import com.edusync.finance.entity.TuitionFee.TuitionFeeStatus;
 import com.edusync.finance.repository.TuitionFeeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,10 +19,12 @@ import java.util.Optional;
 public class TuitionFeeService {
 
     private final TuitionFeeRepository tuitionFeeRepository;
+    private final StudentLedgerCache studentLedgerCache;
 
     @Autowired
-    public TuitionFeeService(TuitionFeeRepository tuitionFeeRepository) {
+    public TuitionFeeService(TuitionFeeRepository tuitionFeeRepository, StudentLedgerCache studentLedgerCache) {
         this.tuitionFeeRepository = tuitionFeeRepository;
+        this.studentLedgerCache = studentLedgerCache;
     }
 
     public List<TuitionFee> getAllTuitionFees() {
@@ -59,13 +63,23 @@ public class TuitionFeeService {
             tuitionFee.setStatus(TuitionFeeStatus.ACTIVE);
         }
 
-        return tuitionFeeRepository.save(tuitionFee);
+        studentLedgerCache.invalidate(tuitionFee.getStudentId());
+        try {
+            return tuitionFeeRepository.save(tuitionFee);
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently, e.g. by a tuition generation job
+            throw new IllegalArgumentException(
+                    "Tuition fee already exists for student " + tuitionFee.getStudentId() +
+                    " in academic year " + tuitionFee.getAcademicYear());
+        }
     }
 
     public TuitionFee updateTuitionFee(Long id, TuitionFee tuitionFeeDetails) {
         TuitionFee tuitionFee = tuitionFeeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Tuition fee not found with id: " + id));
 
+        // Both the old and the new student's ledgers change if the fee is reassigned
+        studentLedgerCache.invalidate(tuitionFee.getStudentId(), tuitionFeeDetails.getStudentId());
         tuitionFee.setStudentId(tuitionFeeDetails.getStudentId());
         tuitionFee.setAcademicYear(tuitionFeeDetails.getAcademicYear());
         tuitionFee.setProgram(tuitionFeeDetails.getProgram());
@@ -83,14 +97,15 @@ public class TuitionFeeService {
                 .orElseThrow(() -> new RuntimeException("Tuition fee not found with id: " + id));
 
         tuitionFee.setStatus(status);
+        studentLedgerCache.invalidate(tuitionFee.getStudentId());
         return tuitionFeeRepository.save(tuitionFee);
     }
 
     public void deleteTuitionFee(Long id) {
-        if (!tuitionFeeRepository.existsById(id)) {
-            throw new RuntimeException("Tuition fee not found with id: " + id);
-        }
-        tuitionFeeRepository.deleteById(id);
+        TuitionFee tuitionFee = tuitionFeeRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Tuition fee not found with id: " + id));
+        studentLedgerCache.invalidate(tuitionFee.getStudentId());
+        tuitionFeeRepository.delete(tuitionFee);
     }
 
     // Statistics methods
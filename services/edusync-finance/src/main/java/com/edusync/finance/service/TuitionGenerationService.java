@@ -0,0 +1,352 @@
+package com.edusync.finance.service;
+
+import com.edusync.finance.cache.StudentLedgerCache;
+import com.edusync.finance.client.StudentClient;
+import com.edusync.finance.dto.TuitionGenerationRequest;
+import com.edusync.finance.dto.TuitionGenerationRequest.FeeSchedule;
+import com.edusync.finance.entity.TuitionGenerationJob;
+import com.edusync.finance.entity.TuitionGenerationJob.JobStatus;
+import com.edusync.finance.repository.TuitionGenerationJobRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates one ACTIVE tuition fee per active student for an academic year. Students are paged
+ * from the student service in id order; each page is checked against existing fees with one
+ * query, inserted as one JDBC batch and committed together with the job's checkpoint, so a
+ * failed or interrupted job resumes after the last committed page without creating duplicates.
+ * A unique (student_id, academic_year) backs that up against fees created meanwhile.
+ *
+ * Jobs run one at a time on a background thread; progress is read from the job row. A job
+ * belongs to the instance that started or resumed it, which refreshes its heartbeat; any
+ * instance marks a RUNNING job interrupted once its heartbeat is older than
+ * {@code finance.tuition-generation.stale-after}. A partial unique index allows one RUNNING
+ * job per academic year.
+ */
+@Service
+public class TuitionGenerationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TuitionGenerationService.class);
+
+    private static final String ACTIVE_STATUS = "ACTIVE";
+
+    // Existing fees may name the student by code or by numeric id
+    private static final String EXISTING_SQL =
+        "SELECT student_id FROM finance_tuition_fees WHERE academic_year = ? AND student_id = ANY (?)";
+
+    private static final String INSERT_SQL = """
+        INSERT INTO finance_tuition_fees (student_id, academic_year, program, base_tuition, additional_fees,
+            total_amount, discount_amount, net_amount, payment_plan, status, created_at, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 'ACTIVE', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+        ON CONFLICT (student_id, academic_year) DO NOTHING
+        """;
+
+    // Rows written by INSERT_SQL in the current transaction: both use its start time. Batched
+    // inserts are rewritten into multi-row statements, so batchUpdate cannot report per-row counts.
+    private static final String CREATED_SQL = """
+        SELECT count(*) FROM finance_tuition_fees
+        WHERE academic_year = ? AND student_id = ANY(?) AND created_at = LOCALTIMESTAMP
+        """;
+
+    private static final String CHECKPOINT_SQL = """
+        UPDATE finance_tuition_generation_jobs SET
+            last_student_id = ?,
+            students_scanned = students_scanned + ?,
+            fees_created = fees_created + ?,
+            duplicates_skipped = duplicates_skipped + ?,
+            unscheduled_skipped = unscheduled_skipped + ?,
+            updated_at = CURRENT_TIMESTAMP,
+            heartbeat_at = CURRENT_TIMESTAMP
+        WHERE id = ? AND owner = ? AND status = 'RUNNING'
+        """;
+
+    private static final String RESUME_SQL = """
+        UPDATE finance_tuition_generation_jobs SET
+            status = 'RUNNING', error = NULL, owner = ?, heartbeat_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP
+        WHERE id = ? AND status IN ('FAILED', 'INTERRUPTED')
+        """;
+
+    private static final String FINISH_SQL = """
+        UPDATE finance_tuition_generation_jobs SET status = ?, error = ?, completed_at = ?, updated_at = CURRENT_TIMESTAMP
+        WHERE id = ? AND owner = ? AND status = 'RUNNING'
+        """;
+
+    private static final String RUNNING_INDEX_SQL = "CREATE UNIQUE INDEX IF NOT EXISTS uk_tuition_generation_running"
+        + " ON finance_tuition_generation_jobs (academic_year) WHERE status = 'RUNNING'";
+
+    private final TuitionGenerationJobRepository jobRepository;
+    private final StudentClient studentClient;
+    private final StudentLedgerCache studentLedgerCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "tuition-generation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${finance.tuition-generation.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${finance.tuition-generation.stale-after:PT1M}")
+    private Duration staleAfter;
+
+    @Autowired
+    public TuitionGenerationService(
+            TuitionGenerationJobRepository jobRepository,
+            StudentClient studentClient,
+            StudentLedgerCache studentLedgerCache,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper) {
+        this.jobRepository = jobRepository;
+        this.studentClient = studentClient;
+        this.studentLedgerCache = studentLedgerCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+    }
+
+    public TuitionGenerationJob start(TuitionGenerationRequest request) {
+        validate(request);
+
+        TuitionGenerationJob job = new TuitionGenerationJob();
+        job.setAcademicYear(request.getAcademicYear());
+        job.setOwner(instanceId);
+        job.setPaymentPlan(request.getPaymentPlan());
+        try {
+            job.setSchedules(objectMapper.writeValueAsString(request.getSchedules()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid fee schedules: " + e.getOriginalMessage());
+        }
+        job.setExpectedStudents(countActiveStudents());
+        try {
+            job = jobRepository.save(job);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("A tuition generation job is already running for " + request.getAcademicYear());
+        }
+        submit(job.getId());
+        return job;
+    }
+
+    // Continues a failed or interrupted job from its checkpoint
+    public TuitionGenerationJob resume(Long jobId) {
+        TuitionGenerationJob job = jobRepository.findById(jobId)
+            .orElseThrow(() -> new RuntimeException("Tuition generation job not found with id: " + jobId));
+        int resumed;
+        try {
+            // Conditional, so two resumes of the same job cannot both take it
+            resumed = jdbcTemplate.update(RESUME_SQL, instanceId, jobId);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("A tuition generation job is already running for " + job.getAcademicYear());
+        }
+        if (resumed == 0) {
+            throw new IllegalStateException("Only failed or interrupted jobs can be resumed; job " + jobId + " is " + job.getStatus());
+        }
+        submit(jobId);
+        return jobRepository.findById(jobId).orElseThrow();
+    }
+
+    public Optional<TuitionGenerationJob> getJob(Long jobId) {
+        return jobRepository.findById(jobId);
+    }
+
+    public List<TuitionGenerationJob> getJobs() {
+        return jobRepository.findAllByOrderByIdDesc();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        // Stale jobs first, so RUNNING duplicates left from before the index cannot block it
+        heartbeat();
+        try {
+            jdbcTemplate.execute(RUNNING_INDEX_SQL);
+        } catch (DataAccessException e) {
+            logger.warn("Could not create the one-running-job-per-year index: {}", e.getMessage());
+        }
+        // Superseded by the unique constraint on the same columns, once that exists
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass('uk_tuition_fee_student_year') IS NOT NULL", Boolean.class))) {
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_tuition_fee_student_year");
+        }
+    }
+
+    // Keeps this instance's job alive and marks jobs whose worker stopped reporting, on any instance
+    @Scheduled(fixedDelayString = "${finance.tuition-generation.heartbeat:PT10S}")
+    public void heartbeat() {
+        Integer interrupted = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            jobRepository.updateHeartbeat(JobStatus.RUNNING, instanceId, now);
+            return jobRepository.updateStatusHeartbeatBefore(JobStatus.RUNNING, JobStatus.INTERRUPTED, now.minus(staleAfter));
+        });
+        if (interrupted != null && interrupted > 0) {
+            logger.warn("Marked {} tuition generation job(s) as interrupted; resume them to continue", interrupted);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void submit(Long jobId) {
+        executor.submit(() -> run(jobId));
+    }
+
+    private void run(Long jobId) {
+        TuitionGenerationJob job = jobRepository.findById(jobId).orElseThrow();
+        long started = System.nanoTime();
+        try {
+            Map<String, FeeSchedule> schedules = objectMapper.readValue(job.getSchedules(),
+                new TypeReference<Map<String, FeeSchedule>>() {});
+            long afterId = job.getLastStudentId();
+            while (!Thread.currentThread().isInterrupted()) {
+                List<StudentClient.StudentResponse> page = studentClient.getStudentsByStatus(ACTIVE_STATUS, afterId, chunkSize);
+                if (page == null || page.isEmpty()) {
+                    break;
+                }
+                processChunk(job, schedules, page);
+                afterId = page.get(page.size() - 1).getId();
+                if (page.size() < chunkSize) {
+                    break;
+                }
+            }
+            finish(jobId, Thread.currentThread().isInterrupted() ? JobStatus.INTERRUPTED : JobStatus.COMPLETED, null);
+            logger.info("Tuition generation job {} for {} finished in {} ms", jobId, job.getAcademicYear(),
+                (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            logger.error("Tuition generation job {} failed; it can be resumed from its checkpoint", jobId, e);
+            finish(jobId, JobStatus.FAILED, e.getMessage());
+        }
+    }
+
+    private void processChunk(TuitionGenerationJob job, Map<String, FeeSchedule> schedules,
+                              List<StudentClient.StudentResponse> page) {
+        List<String> refs = new ArrayList<>(page.size() * 2);
+        for (StudentClient.StudentResponse student : page) {
+            refs.add(student.getStudentId());
+            refs.add(student.getId().toString());
+        }
+
+        List<StudentClient.StudentResponse> toCreate = new ArrayList<>(page.size());
+        long lastStudentId = page.get(page.size() - 1).getId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<String> existing = new HashSet<>(jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXISTING_SQL);
+                statement.setString(1, job.getAcademicYear());
+                statement.setArray(2, connection.createArrayOf("varchar", refs.toArray()));
+                return statement;
+            }, (rs, rowNum) -> rs.getString(1)));
+
+            long duplicates = 0;
+            long unscheduled = 0;
+            for (StudentClient.StudentResponse student : page) {
+                if (existing.contains(student.getStudentId()) || existing.contains(student.getId().toString())) {
+                    duplicates++;
+                } else if (!schedules.containsKey(student.getProgram())) {
+                    unscheduled++;
+                } else {
+                    toCreate.add(student);
+                }
+            }
+
+            List<Object[]> rows = new ArrayList<>(toCreate.size());
+            for (StudentClient.StudentResponse student : toCreate) {
+                FeeSchedule schedule = schedules.get(student.getProgram());
+                rows.add(new Object[] {
+                    student.getStudentId(), job.getAcademicYear(), student.getProgram(),
+                    schedule.getBaseTuition(), orZero(schedule.getAdditionalFees()), schedule.getTotalAmount(),
+                    orZero(schedule.getDiscountAmount()), schedule.getNetAmount(), job.getPaymentPlan()
+                });
+            }
+            long created = 0;
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+                // Fewer when fees were created since the check above; those count as duplicates
+                created = jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(CREATED_SQL);
+                    statement.setString(1, job.getAcademicYear());
+                    statement.setArray(2, connection.createArrayOf("varchar",
+                        toCreate.stream().map(StudentClient.StudentResponse::getStudentId).toArray()));
+                    return statement;
+                }, rs -> rs.next() ? rs.getLong(1) : 0L);
+            }
+            if (jdbcTemplate.update(CHECKPOINT_SQL, lastStudentId, page.size(), created,
+                    duplicates + rows.size() - created, unscheduled, job.getId(), instanceId) == 0) {
+                // Rolls the chunk back; the job was marked interrupted and may run elsewhere now
+                throw new IllegalStateException("Tuition generation job " + job.getId() + " is no longer owned by this instance");
+            }
+            studentLedgerCache.invalidate(toCreate.stream().map(StudentClient.StudentResponse::getStudentId).toArray(String[]::new));
+        });
+    }
+
+    // Leaves a job that was marked interrupted, and perhaps resumed elsewhere, as it is
+    private void finish(Long jobId, JobStatus status, String error) {
+        jdbcTemplate.update(FINISH_SQL, status.name(), error,
+            status == JobStatus.COMPLETED ? Timestamp.valueOf(LocalDateTime.now()) : null, jobId, instanceId);
+    }
+
+    private Long countActiveStudents() {
+        try {
+            Object active = studentClient.getStudentStats().get("activeStudents");
+            return active instanceof Number ? ((Number) active).longValue() : null;
+        } catch (Exception e) {
+            logger.warn("Could not count active students for progress reporting: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void validate(TuitionGenerationRequest request) {
+        if (request.getAcademicYear() == null || request.getAcademicYear().isBlank()) {
+            throw new IllegalArgumentException("Academic year is required");
+        }
+        if (request.getSchedules() == null || request.getSchedules().isEmpty()) {
+            throw new IllegalArgumentException("At least one program fee schedule is required");
+        }
+        request.getSchedules().forEach((program, schedule) -> {
+            if (schedule == null || schedule.getBaseTuition() == null || schedule.getBaseTuition().signum() < 0) {
+                throw new IllegalArgumentException("Program " + program + " needs a non-negative base tuition");
+            }
+            if (schedule.getNetAmount().signum() < 0) {
+                throw new IllegalArgumentException("Discount exceeds the total for program " + program);
+            }
+        });
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,98 @@
+package com.edusync.finance.util;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered 64-bit IDs: 41 bits of milliseconds since 2024-01-01, 10 bits of node ID and a
+ * 12-bit per-millisecond sequence. The timestamp and sequence live in one AtomicLong and are
+ * advanced with a single CAS, so callers never block and never need a uniqueness check against
+ * the database.
+ *
+ * When a millisecond's 4096 sequence values are used up, or the wall clock steps backwards, the
+ * generator keeps counting into the next millisecond instead of waiting. IDs stay unique and
+ * increasing; the embedded timestamp just runs slightly ahead until the clock catches up.
+ *
+ * This class is duplicated in edusync-sales; keep the two bit layouts identical.
+ */
+@Component
+public class IdGenerator {
+
+    public static final long EPOCH_MILLIS = 1704067200000L; // 2024-01-01T00:00:00Z
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // Zero-padded so business IDs with the same prefix sort like the numbers behind them
+    private static final int DECIMAL_WIDTH = 19;
+
+    private final long nodeBits;
+
+    // (millis since EPOCH_MILLIS << SEQUENCE_BITS) | sequence of the last ID handed out
+    private final AtomicLong state = new AtomicLong();
+
+    @Autowired
+    public IdGenerator(@Value("${finance.id.node-id:-1}") int nodeId) {
+        int node = nodeId >= 0 ? nodeId : defaultNodeId();
+        if (node > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID + ": " + node);
+        }
+        this.nodeBits = (long) node << SEQUENCE_BITS;
+    }
+
+    public long nextId() {
+        while (true) {
+            long last = state.get();
+            long now = System.currentTimeMillis() - EPOCH_MILLIS;
+            // A sequence overflow carries into the timestamp bits, i.e. borrows the next millisecond
+            long next = now > (last >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : last + 1;
+            if (state.compareAndSet(last, next)) {
+                return ((next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS))
+                    | nodeBits
+                    | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    // e.g. TXN0112345678901234567; sortable within a prefix
+    public String nextId(String prefix) {
+        String digits = Long.toString(nextId());
+        StringBuilder id = new StringBuilder(prefix.length() + DECIMAL_WIDTH).append(prefix);
+        for (int i = digits.length(); i < DECIMAL_WIDTH; i++) {
+            id.append('0');
+        }
+        return id.append(digits).toString();
+    }
+
+    public int getNodeId() {
+        return (int) (nodeBits >>> SEQUENCE_BITS);
+    }
+
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    public static int nodeIdOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+
+    // Best effort when no node ID is configured; set one explicitly when running several replicas
+    private static int defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "";
+        }
+        String identity = host + "/" + ManagementFactory.getRuntimeMXBean().getName();
+        return (identity.hashCode() & Integer.MAX_VALUE) % (MAX_NODE_ID + 1);
+    }
+}
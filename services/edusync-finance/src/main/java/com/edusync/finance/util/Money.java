@@ -0,0 +1,246 @@
+package com.edusync.finance.util;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * An exact amount of money: a long count of minor units (cents for USD) tagged with its
+ * currency. Arithmetic never rounds silently and throws ArithmeticException on overflow
+ * instead of wrapping; combining two currencies throws IllegalArgumentException.
+ *
+ * Loops that total many amounts should use {@link Sum}, which keeps a running long,
+ * rather than adding Money or BigDecimal values together.
+ * Serialized to JSON as a plain decimal number, like the BigDecimal fields it stands in for.
+ */
+public final class Money implements Comparable<Money> {
+
+    // Matches the Account.currency default
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("USD");
+
+    private final long minorUnits;
+    private final Currency currency;
+
+    private Money(long minorUnits, Currency currency) {
+        this.minorUnits = minorUnits;
+        this.currency = Objects.requireNonNull(currency, "currency");
+    }
+
+    public static Money zero() {
+        return new Money(0, DEFAULT_CURRENCY);
+    }
+
+    public static Money zero(Currency currency) {
+        return new Money(0, currency);
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return new Money(minorUnits, DEFAULT_CURRENCY);
+    }
+
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    // Null is read as zero, the way aggregate queries return an empty sum
+    @JsonCreator
+    public static Money of(BigDecimal amount) {
+        return of(amount, DEFAULT_CURRENCY);
+    }
+
+    public static Money of(BigDecimal amount, Currency currency) {
+        return new Money(amount != null ? toMinor(amount, currency) : 0, currency);
+    }
+
+    /**
+     * Minor units of {@code amount}. Throws ArithmeticException when the amount has more
+     * fraction digits than the currency (other than trailing zeros) or does not fit a long.
+     */
+    public static long toMinor(BigDecimal amount, Currency currency) {
+        // For the usual case (scale equal to the fraction digits) this reads the unscaled long directly
+        return amount.scaleByPowerOfTen(fractionDigits(currency)).longValueExact();
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public Money plus(Money other) {
+        checkCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        checkCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money times(long factor) {
+        return new Money(Math.multiplyExact(minorUnits, factor), currency);
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(minorUnits), currency);
+    }
+
+    // Rounded to whole minor units
+    public Money divide(long divisor, RoundingMode rounding) {
+        if (divisor == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        if (minorUnits % divisor == 0) {
+            return new Money(minorUnits / divisor, currency);
+        }
+        if (rounding == RoundingMode.HALF_UP) {
+            return new Money(divideHalfUp(minorUnits, divisor), currency);
+        }
+        long quotient = BigDecimal.valueOf(minorUnits)
+            .divide(BigDecimal.valueOf(divisor), 0, rounding)
+            .longValueExact();
+        return new Money(quotient, currency);
+    }
+
+    /**
+     * This amount as a percentage of {@code base}, rounded half up to two decimals; the same
+     * figure as {@code this * 100 / base} with BigDecimal at scale 2. Base must not be zero.
+     */
+    public double percentOf(Money base) {
+        checkCurrency(base);
+        if (base.minorUnits == 0) {
+            throw new ArithmeticException("Percentage of zero");
+        }
+        try {
+            return divideHalfUp(Math.multiplyExact(minorUnits, 10_000L), base.minorUnits) / 100.0;
+        } catch (ArithmeticException e) {
+            // Only amounts near the long range get here
+            return toBigDecimal().multiply(BigDecimal.valueOf(100))
+                .divide(base.toBigDecimal(), 2, RoundingMode.HALF_UP)
+                .doubleValue();
+        }
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, fractionDigits(currency));
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        checkCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof Money)) {
+            return false;
+        }
+        Money that = (Money) other;
+        return minorUnits == that.minorUnits && currency.equals(that.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits) * 31 + currency.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency.getCurrencyCode();
+    }
+
+    private void checkCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+    }
+
+    private static int fractionDigits(Currency currency) {
+        // Pseudo-currencies report -1; treat them as whole units
+        return Math.max(currency.getDefaultFractionDigits(), 0);
+    }
+
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) >= Math.abs(divisor) - Math.abs(remainder)) {
+            quotient += Long.signum(dividend) * Long.signum(divisor);
+        }
+        return quotient;
+    }
+
+    /**
+     * Mutable running total for aggregation loops; a Money is created once, when the total is read.
+     * add(Money) and addMinor only touch two longs. The BigDecimal overloads convert each amount
+     * through scaleByPowerOfTen, which creates one short-lived BigDecimal per value. Once the loop
+     * is compiled, escape analysis normally removes that copy; see MoneyBenchmark for both cases.
+     * Not thread-safe.
+     */
+    public static final class Sum {
+        private final Currency currency;
+        private final int fractionDigits;
+        private long minorUnits;
+        private long count;
+
+        public Sum() {
+            this(DEFAULT_CURRENCY);
+        }
+
+        public Sum(Currency currency) {
+            this.currency = currency;
+            this.fractionDigits = fractionDigits(currency);
+        }
+
+        // Null amounts are skipped and not counted
+        public Sum add(BigDecimal amount) {
+            if (amount != null) {
+                addMinor(amount.scaleByPowerOfTen(fractionDigits).longValueExact());
+            }
+            return this;
+        }
+
+        public Sum subtract(BigDecimal amount) {
+            if (amount != null) {
+                addMinor(Math.negateExact(amount.scaleByPowerOfTen(fractionDigits).longValueExact()));
+            }
+            return this;
+        }
+
+        public Sum add(Money amount) {
+            if (!currency.equals(amount.currency)) {
+                throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + amount.currency);
+            }
+            return addMinor(amount.minorUnits);
+        }
+
+        public Sum addMinor(long amount) {
+            minorUnits = Math.addExact(minorUnits, amount);
+            count++;
+            return this;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public Money toMoney() {
+            return new Money(minorUnits, currency);
+        }
+    }
+}
@@ -0,0 +1,497 @@
+package com.edusync.finance.util;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads bank statement files (CSV or OFX) from a memory-mapped file. Amounts and dates are
+ * parsed straight from the mapped bytes into cents and epoch days; only the reference and the
+ * description are decoded into Strings. Lines that cannot be parsed are kept with an error so
+ * they can be reported alongside the rest.
+ */
+public final class StatementParser {
+
+    // Normalized CSV header names (letters and digits, lower case) accepted for each column
+    private static final Map<String, String> CSV_COLUMNS = new HashMap<>();
+
+    static {
+        for (String name : List.of("date", "postingdate", "posteddate", "bookingdate", "transactiondate", "valuedate")) {
+            CSV_COLUMNS.put(name, "date");
+        }
+        for (String name : List.of("amount", "amt", "value")) {
+            CSV_COLUMNS.put(name, "amount");
+        }
+        for (String name : List.of("credit", "moneyin", "paidin", "deposit")) {
+            CSV_COLUMNS.put(name, "credit");
+        }
+        for (String name : List.of("debit", "moneyout", "paidout", "withdrawal")) {
+            CSV_COLUMNS.put(name, "debit");
+        }
+        for (String name : List.of("reference", "ref", "referencenumber", "checknumber", "chequenumber")) {
+            CSV_COLUMNS.put(name, "reference");
+        }
+        for (String name : List.of("description", "memo", "details", "narrative", "payee", "name")) {
+            CSV_COLUMNS.put(name, "description");
+        }
+    }
+
+    private StatementParser() {
+    }
+
+    // Header row required; amount comes from one signed column or from separate credit and debit columns
+    public static StatementLines parseCsv(Path file) throws IOException {
+        MappedByteBuffer buffer = map(file);
+        CsvScanner scanner = new CsvScanner(buffer);
+        StatementLines lines = new StatementLines();
+        if (!scanner.next()) {
+            return lines;
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < scanner.count; i++) {
+            String column = CSV_COLUMNS.get(normalizeHeader(scanner.text(i)));
+            if (column != null) {
+                columns.putIfAbsent(column, i);
+            }
+        }
+        int date = columns.getOrDefault("date", -1);
+        int amount = columns.getOrDefault("amount", -1);
+        int credit = columns.getOrDefault("credit", -1);
+        int debit = columns.getOrDefault("debit", -1);
+        int reference = columns.getOrDefault("reference", -1);
+        int description = columns.getOrDefault("description", -1);
+        if (date < 0 || (amount < 0 && credit < 0 && debit < 0)) {
+            throw new IOException("Statement header needs a date column and an amount or credit/debit columns");
+        }
+
+        while (scanner.next()) {
+            long position = scanner.recordLine;
+            String ref = reference >= 0 ? scanner.textOrNull(reference) : null;
+            String desc = description >= 0 ? scanner.textOrNull(description) : null;
+            try {
+                int day = scanner.parseDate(date);
+                long cents;
+                if (amount >= 0) {
+                    cents = scanner.parseCents(amount);
+                } else {
+                    // Banks fill one of the two; either may be written with or without a sign
+                    long in = credit >= 0 && !scanner.isBlank(credit) ? Math.abs(scanner.parseCents(credit)) : 0;
+                    long out = debit >= 0 && !scanner.isBlank(debit) ? Math.abs(scanner.parseCents(debit)) : 0;
+                    cents = in - out;
+                }
+                lines.add(position, day, cents, ref, desc, null);
+            } catch (IllegalArgumentException | DateTimeException e) {
+                lines.add(position, 0, 0, ref, desc, e.getMessage());
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * OFX 1.x (SGML, leaf elements unclosed) and 2.x (XML). Each STMTTRN block becomes one line;
+     * the reference is REFNUM, else CHECKNUM, else the bank's FITID, and the description is
+     * NAME and MEMO together.
+     */
+    public static StatementLines parseOfx(Path file) throws IOException {
+        MappedByteBuffer buffer = map(file);
+        StatementLines lines = new StatementLines();
+        int limit = buffer.limit();
+        int pos = 0;
+        long number = 0;
+        boolean inTransaction = false;
+        Map<String, int[]> fields = new HashMap<>();
+
+        while (pos < limit) {
+            if (buffer.get(pos) != '<') {
+                pos++;
+                continue;
+            }
+            int nameStart = pos + 1;
+            int nameEnd = nameStart;
+            while (nameEnd < limit && buffer.get(nameEnd) != '>') {
+                nameEnd++;
+            }
+            if (nameEnd >= limit) {
+                break;
+            }
+            String tag = ascii(buffer, nameStart, nameEnd).trim().toUpperCase();
+            pos = nameEnd + 1;
+            // The value runs to the next tag
+            int valueStart = pos;
+            while (pos < limit && buffer.get(pos) != '<') {
+                pos++;
+            }
+            int valueEnd = pos;
+
+            if (tag.equals("STMTTRN")) {
+                inTransaction = true;
+                fields.clear();
+            } else if (tag.equals("/STMTTRN")) {
+                if (inTransaction) {
+                    lines.addOfx(buffer, ++number, fields);
+                }
+                inTransaction = false;
+            } else if (inTransaction && !tag.startsWith("/")) {
+                int[] range = trim(buffer, valueStart, valueEnd);
+                if (range[1] > range[0]) {
+                    fields.put(tag, range);
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Statement files over 2 GB are not supported");
+            }
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    private static String normalizeHeader(String header) {
+        StringBuilder name = new StringBuilder(header.length());
+        for (int i = 0; i < header.length(); i++) {
+            char c = header.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                name.append(Character.toLowerCase(c));
+            }
+        }
+        return name.toString();
+    }
+
+    private static String ascii(MappedByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    private static String utf8(MappedByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int[] trim(MappedByteBuffer buffer, int start, int end) {
+        while (start < end && buffer.get(start) <= ' ') {
+            start++;
+        }
+        while (end > start && buffer.get(end - 1) <= ' ') {
+            end--;
+        }
+        return new int[] {start, end};
+    }
+
+    // Signed decimal with at most two fraction digits; grouping commas and currency symbols are skipped, (x) is negative
+    static long parseCents(MappedByteBuffer buffer, int start, int end) {
+        long cents = 0;
+        boolean negative = false;
+        boolean digits = false;
+        int fraction = -1;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b >= '0' && b <= '9') {
+                if (fraction >= 2) {
+                    if (b != '0') {
+                        throw new IllegalArgumentException("Amount has more than two decimals");
+                    }
+                    continue;
+                }
+                cents = Math.addExact(Math.multiplyExact(cents, 10), b - '0');
+                digits = true;
+                if (fraction >= 0) {
+                    fraction++;
+                }
+            } else if (b == '.') {
+                if (fraction >= 0) {
+                    throw new IllegalArgumentException("Amount has two decimal points");
+                }
+                fraction = 0;
+            } else if (b == '-' || b == '(') {
+                negative = true;
+            } else if (b > ' ' && b != ',' && b != '+' && b != ')' && b != '$') {
+                // Bytes are signed, so UTF-8 currency signs such as the euro or pound fall below ' ' and are skipped too
+                throw new IllegalArgumentException("Amount is not a number");
+            }
+        }
+        if (!digits) {
+            throw new IllegalArgumentException("Amount is missing");
+        }
+        for (int f = Math.max(fraction, 0); f < 2; f++) {
+            cents *= 10;
+        }
+        return negative ? -cents : cents;
+    }
+
+    // yyyy-MM-dd, yyyy/MM/dd or yyyyMMdd (anything after the day, such as an OFX time, is ignored)
+    static int parseDate(MappedByteBuffer buffer, int start, int end) {
+        int[] parts = new int[3];
+        int[] widths = {4, 2, 2};
+        int pos = start;
+        for (int part = 0; part < 3; part++) {
+            if (part > 0 && pos < end && (buffer.get(pos) == '-' || buffer.get(pos) == '/')) {
+                pos++;
+            }
+            for (int i = 0; i < widths[part]; i++, pos++) {
+                byte b = pos < end ? buffer.get(pos) : 0;
+                if (b < '0' || b > '9') {
+                    throw new IllegalArgumentException("Date must be yyyy-MM-dd or yyyyMMdd");
+                }
+                parts[part] = parts[part] * 10 + (b - '0');
+            }
+        }
+        return (int) LocalDate.of(parts[0], parts[1], parts[2]).toEpochDay();
+    }
+
+    // Splits records into field ranges over the mapped bytes; quoted fields may contain commas and line breaks
+    private static final class CsvScanner {
+        private final MappedByteBuffer buffer;
+        private final int limit;
+        private int pos;
+        private long line = 1;
+        private long recordLine;
+        private int count;
+        private int[] starts = new int[16];
+        private int[] ends = new int[16];
+        private boolean[] escaped = new boolean[16];
+
+        private CsvScanner(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+            this.limit = buffer.limit();
+            // UTF-8 byte order mark
+            if (limit >= 3 && buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB && buffer.get(2) == (byte) 0xBF) {
+                pos = 3;
+            }
+        }
+
+        private boolean next() throws IOException {
+            while (pos < limit && (buffer.get(pos) == '\r' || buffer.get(pos) == '\n')) {
+                if (buffer.get(pos) == '\n') {
+                    line++;
+                }
+                pos++;
+            }
+            if (pos >= limit) {
+                return false;
+            }
+            recordLine = line;
+            count = 0;
+            while (true) {
+                int start = pos;
+                int end;
+                boolean quotes = false;
+                if (buffer.get(pos) == '"') {
+                    start = ++pos;
+                    while (true) {
+                        if (pos >= limit) {
+                            throw new IOException("Unterminated quoted field starting on line " + recordLine);
+                        }
+                        byte b = buffer.get(pos);
+                        if (b == '"') {
+                            if (pos + 1 < limit && buffer.get(pos + 1) == '"') {
+                                quotes = true;
+                                pos += 2;
+                                continue;
+                            }
+                            break;
+                        }
+                        if (b == '\n') {
+                            line++;
+                        }
+                        pos++;
+                    }
+                    end = pos++;
+                    while (pos < limit && !isDelimiter(buffer.get(pos))) {
+                        pos++;
+                    }
+                } else {
+                    while (pos < limit && !isDelimiter(buffer.get(pos))) {
+                        pos++;
+                    }
+                    end = pos;
+                }
+                addField(start, end, quotes);
+
+                if (pos < limit && buffer.get(pos) == ',') {
+                    pos++;
+                    if (pos >= limit) {
+                        addField(pos, pos, false);
+                        return true;
+                    }
+                    continue;
+                }
+                if (pos < limit && buffer.get(pos) == '\r') {
+                    pos++;
+                }
+                if (pos < limit && buffer.get(pos) == '\n') {
+                    pos++;
+                }
+                line++;
+                return true;
+            }
+        }
+
+        private static boolean isDelimiter(byte b) {
+            return b == ',' || b == '\n' || b == '\r';
+        }
+
+        private void addField(int start, int end, boolean quotes) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+                escaped = Arrays.copyOf(escaped, count * 2);
+            }
+            starts[count] = start;
+            ends[count] = end;
+            escaped[count] = quotes;
+            count++;
+        }
+
+        private String text(int field) {
+            if (field >= count) {
+                return "";
+            }
+            String value = utf8(buffer, starts[field], ends[field]);
+            return escaped[field] ? value.replace("\"\"", "\"") : value;
+        }
+
+        private String textOrNull(int field) {
+            String value = text(field).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private boolean isBlank(int field) {
+            if (field >= count) {
+                return true;
+            }
+            int[] range = trim(buffer, starts[field], ends[field]);
+            return range[0] == range[1];
+        }
+
+        private long parseCents(int field) {
+            if (field >= count) {
+                throw new IllegalArgumentException("Amount is missing");
+            }
+            return StatementParser.parseCents(buffer, starts[field], ends[field]);
+        }
+
+        private int parseDate(int field) {
+            if (field >= count) {
+                throw new IllegalArgumentException("Date is missing");
+            }
+            int[] range = trim(buffer, starts[field], ends[field]);
+            return StatementParser.parseDate(buffer, range[0], range[1]);
+        }
+    }
+
+    /**
+     * Parsed lines in parallel arrays, indexed 0 to size() - 1 in file order. A line with an
+     * error has no usable date or amount.
+     */
+    public static final class StatementLines {
+        private int size;
+        private long[] positions = new long[1024];
+        private int[] days = new int[1024];
+        private long[] cents = new long[1024];
+        private String[] references = new String[1024];
+        private String[] descriptions = new String[1024];
+        private String[] errors = new String[1024];
+        private int invalid;
+
+        private void add(long position, int day, long amount, String reference, String description, String error) {
+            if (size == positions.length) {
+                int capacity = size * 2;
+                positions = Arrays.copyOf(positions, capacity);
+                days = Arrays.copyOf(days, capacity);
+                cents = Arrays.copyOf(cents, capacity);
+                references = Arrays.copyOf(references, capacity);
+                descriptions = Arrays.copyOf(descriptions, capacity);
+                errors = Arrays.copyOf(errors, capacity);
+            }
+            positions[size] = position;
+            days[size] = day;
+            cents[size] = amount;
+            references[size] = reference;
+            descriptions[size] = description;
+            errors[size] = error;
+            if (error != null) {
+                invalid++;
+            }
+            size++;
+        }
+
+        private void addOfx(MappedByteBuffer buffer, long number, Map<String, int[]> fields) {
+            String reference = firstOf(buffer, fields, "REFNUM", "CHECKNUM", "FITID");
+            String name = firstOf(buffer, fields, "NAME", "PAYEE");
+            String memo = firstOf(buffer, fields, "MEMO");
+            String description = name == null ? memo : memo == null ? name : name + " " + memo;
+            try {
+                int[] date = fields.get("DTPOSTED");
+                int[] amount = fields.get("TRNAMT");
+                if (date == null || amount == null) {
+                    throw new IllegalArgumentException("Transaction has no DTPOSTED or TRNAMT");
+                }
+                add(number, parseDate(buffer, date[0], date[1]), parseCents(buffer, amount[0], amount[1]),
+                    reference, description, null);
+            } catch (IllegalArgumentException | DateTimeException e) {
+                add(number, 0, 0, reference, description, e.getMessage());
+            }
+        }
+
+        private static String firstOf(MappedByteBuffer buffer, Map<String, int[]> fields, String... tags) {
+            for (String tag : tags) {
+                int[] range = fields.get(tag);
+                if (range != null) {
+                    return utf8(buffer, range[0], range[1])
+                        .replace("&lt;", "<").replace("&gt;", ">").replace("&amp;", "&");
+                }
+            }
+            return null;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int getInvalid() {
+            return invalid;
+        }
+
+        public long position(int i) {
+            return positions[i];
+        }
+
+        public int epochDay(int i) {
+            return days[i];
+        }
+
+        public long amountCents(int i) {
+            return cents[i];
+        }
+
+        public String reference(int i) {
+            return references[i];
+        }
+
+        public String description(int i) {
+            return descriptions[i];
+        }
+
+        public String error(int i) {
+            return errors[i];
+        }
+    }
+}
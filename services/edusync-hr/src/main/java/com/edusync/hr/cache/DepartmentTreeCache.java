@@ -0,0 +1,448 @@
+package com.edusync.hr.cache;
+
+import com.edusync.hr.dto.DepartmentStaffTotals;
+import com.edusync.hr.dto.DepartmentTreeNode;
+import com.edusync.hr.entity.Department;
+import com.edusync.hr.entity.Staff;
+import com.edusync.hr.entity.Staff.StaffStatus;
+import com.edusync.hr.repository.DepartmentRepository;
+import com.edusync.hr.repository.StaffRepository;
+import com.edusync.hr.util.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * The department hierarchy with staff totals for every department and every subtree, held
+ * as an immutable snapshot. Readers never touch the database once it is loaded.
+ *
+ * Each change swaps in a new snapshot under a single writer lock. A department change rebuilds
+ * the structure and the subtree rollups from the per-department totals, which is in memory and
+ * proportional to the number of departments. A staff change only adjusts its department and
+ * that department's ancestors. Both are applied after the writing transaction commits.
+ *
+ * A reload replaces everything with two queries. It runs on first use and every
+ * {@code hr.departments.tree.refresh-interval}, which also picks up writes made by other
+ * instances or outside the services.
+ */
+@Component
+public class DepartmentTreeCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(DepartmentTreeCache.class);
+
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private final DepartmentRepository departmentRepository;
+    private final StaffRepository staffRepository;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final Object writeLock = new Object();
+
+    private volatile Tree tree;
+    // Guarded by writeLock; a change applied while a reload is querying makes it query again
+    private boolean loading;
+    private boolean changedWhileLoading;
+
+    @Autowired
+    public DepartmentTreeCache(DepartmentRepository departmentRepository, StaffRepository staffRepository) {
+        this.departmentRepository = departmentRepository;
+        this.staffRepository = staffRepository;
+    }
+
+    // Root departments with their whole subtrees
+    public List<DepartmentTreeNode> getTree() {
+        Tree current = current();
+        List<DepartmentTreeNode> roots = new ArrayList<>(current.roots.size());
+        for (Long root : current.roots) {
+            roots.add(current.toNode(root));
+        }
+        return roots;
+    }
+
+    public Optional<DepartmentTreeNode> getSubtree(Long departmentId) {
+        Tree current = current();
+        return current.departments.containsKey(departmentId)
+            ? Optional.of(current.toNode(departmentId))
+            : Optional.empty();
+    }
+
+    // Staff of the department itself; zero for departments without staff or unknown ids
+    public Totals getOwnTotals(Long departmentId) {
+        return current().own.getOrDefault(departmentId, Totals.ZERO);
+    }
+
+    public Totals getSubtreeTotals(Long departmentId) {
+        Tree current = current();
+        return current.departments.containsKey(departmentId)
+            ? current.subtree.getOrDefault(departmentId, Totals.ZERO)
+            : getOwnTotals(departmentId);
+    }
+
+    // True when descendantId is departmentId itself or sits anywhere below it
+    public boolean isInSubtree(Long descendantId, Long departmentId) {
+        Tree current = current();
+        for (Long id = descendantId; id != null; id = current.parents.get(id)) {
+            if (id.equals(departmentId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void departmentChanged(Department department) {
+        DepartmentInfo info = DepartmentInfo.of(department);
+        afterCommit(() -> apply(tree -> tree.withDepartment(info.id, info)));
+    }
+
+    public void departmentRemoved(Long departmentId) {
+        afterCommit(() -> apply(tree -> tree.withDepartment(departmentId, null)));
+    }
+
+    /**
+     * Records a staff change; before and after are taken with {@link Member#of(Staff)}, null for
+     * a staff member that was created or deleted.
+     */
+    public void staffChanged(Member before, Member after) {
+        afterCommit(() -> apply(tree -> {
+            Tree updated = tree;
+            if (before != null) {
+                updated = updated.withStaffDelta(before.departmentId, before.totals().negate());
+            }
+            if (after != null) {
+                updated = updated.withStaffDelta(after.departmentId, after.totals());
+            }
+            return updated;
+        }));
+    }
+
+    @Scheduled(fixedDelayString = "${hr.departments.tree.refresh-interval:PT5M}")
+    public void refresh() {
+        if (tree != null) {
+            reload();
+        }
+    }
+
+    private Tree current() {
+        Tree current = tree;
+        if (current == null) {
+            reload();
+            current = tree;
+        }
+        return current;
+    }
+
+    private void reload() {
+        reloadLock.lock();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                synchronized (writeLock) {
+                    loading = true;
+                    changedWhileLoading = false;
+                }
+                List<Department> departments;
+                List<DepartmentStaffTotals> staffTotals;
+                try {
+                    departments = departmentRepository.findAll();
+                    staffTotals = staffRepository.sumStaffByDepartment();
+                } catch (RuntimeException e) {
+                    synchronized (writeLock) {
+                        loading = false;
+                    }
+                    throw e;
+                }
+
+                Map<Long, DepartmentInfo> infos = new HashMap<>();
+                departments.forEach(department -> infos.put(department.getId(), DepartmentInfo.of(department)));
+                Map<Long, Totals> own = new HashMap<>();
+                staffTotals.forEach(row -> own.put(row.getDepartmentId(), new Totals(
+                    orZero(row.getTotalStaff()), orZero(row.getActiveStaff()), toMinor(row.getActiveSalaryTotal()))));
+
+                synchronized (writeLock) {
+                    // The queries may or may not have seen a change that committed meanwhile; query again
+                    if (changedWhileLoading && attempt < MAX_LOAD_ATTEMPTS) {
+                        continue;
+                    }
+                    loading = false;
+                    tree = Tree.build(infos, own);
+                    if (changedWhileLoading) {
+                        logger.warn("Department tree loaded while departments or staff kept changing; "
+                            + "totals may be off until the next refresh");
+                    }
+                    return;
+                }
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void apply(UnaryOperator<Tree> change) {
+        synchronized (writeLock) {
+            if (loading) {
+                changedWhileLoading = true;
+            }
+            if (tree != null) {
+                tree = change.apply(tree);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private static long toMinor(BigDecimal amount) {
+        return amount != null ? Money.toMinor(amount, Money.DEFAULT_CURRENCY) : 0L;
+    }
+
+    /** Staff count, active staff count and active salary total, in minor units. */
+    public record Totals(long totalStaff, long activeStaff, long activeSalaryMinor) {
+
+        public static final Totals ZERO = new Totals(0, 0, 0);
+
+        public Totals plus(Totals other) {
+            return new Totals(totalStaff + other.totalStaff, activeStaff + other.activeStaff,
+                Math.addExact(activeSalaryMinor, other.activeSalaryMinor));
+        }
+
+        public Totals negate() {
+            return new Totals(-totalStaff, -activeStaff, -activeSalaryMinor);
+        }
+
+        public Money getActiveSalaryTotal() {
+            return Money.ofMinor(activeSalaryMinor);
+        }
+
+        public Money getAverageSalary() {
+            Money total = getActiveSalaryTotal();
+            return activeStaff > 0 ? total.divide(activeStaff, RoundingMode.HALF_UP) : total;
+        }
+    }
+
+    /** What one staff member adds to their department's totals. */
+    public static final class Member {
+        private final Long departmentId;
+        private final boolean active;
+        private final long salaryMinor;
+
+        private Member(Long departmentId, boolean active, long salaryMinor) {
+            this.departmentId = departmentId;
+            this.active = active;
+            this.salaryMinor = salaryMinor;
+        }
+
+        // Takes the values now, so the entity can be changed afterwards
+        // The salary is rounded as the column stores it, since an entity can hold more decimals than were saved
+        public static Member of(Staff staff) {
+            BigDecimal salary = staff.getSalary() != null ? staff.getSalary().setScale(2, RoundingMode.HALF_UP) : null;
+            return new Member(staff.getDepartmentId(), staff.getStatus() == StaffStatus.ACTIVE, toMinor(salary));
+        }
+
+        private Totals totals() {
+            return new Totals(1, active ? 1 : 0, active ? salaryMinor : 0);
+        }
+    }
+
+    private record DepartmentInfo(Long id, String name, String code, Long parentDepartmentId,
+                                  Long headOfDepartmentId, boolean active) {
+
+        static DepartmentInfo of(Department department) {
+            return new DepartmentInfo(department.getId(), department.getName(), department.getCode(),
+                department.getParentDepartmentId(), department.getHeadOfDepartmentId(),
+                Boolean.TRUE.equals(department.getIsActive()));
+        }
+    }
+
+    private static final class Tree {
+        private final Map<Long, DepartmentInfo> departments;
+        // Effective parent: absent for roots, including departments whose parent is missing or in a cycle
+        private final Map<Long, Long> parents;
+        private final Map<Long, List<Long>> children;
+        private final List<Long> roots;
+        private final Map<Long, Totals> own;
+        private final Map<Long, Totals> subtree;
+
+        private Tree(Map<Long, DepartmentInfo> departments, Map<Long, Long> parents, Map<Long, List<Long>> children,
+                     List<Long> roots, Map<Long, Totals> own, Map<Long, Totals> subtree) {
+            this.departments = departments;
+            this.parents = parents;
+            this.children = children;
+            this.roots = roots;
+            this.own = own;
+            this.subtree = subtree;
+        }
+
+        static Tree build(Map<Long, DepartmentInfo> departments, Map<Long, Totals> own) {
+            Map<Long, Long> parents = new HashMap<>();
+            Map<Long, List<Long>> children = new HashMap<>();
+            List<Long> roots = new ArrayList<>();
+            Set<Long> placed = new HashSet<>();
+            Map<Long, List<Long>> declared = new HashMap<>();
+            departments.values().forEach(info -> {
+                if (info.parentDepartmentId != null) {
+                    declared.computeIfAbsent(info.parentDepartmentId, key -> new ArrayList<>()).add(info.id);
+                }
+            });
+
+            List<Long> ids = new ArrayList<>(departments.keySet());
+            Collections.sort(ids);
+            for (Long id : ids) {
+                Long parent = departments.get(id).parentDepartmentId;
+                if (parent == null || !departments.containsKey(parent)) {
+                    roots.add(id);
+                    place(id, declared, children, parents, placed);
+                }
+            }
+            // Whatever is left hangs off a cycle; cut each cycle at its lowest id
+            for (Long id : ids) {
+                if (!placed.contains(id)) {
+                    roots.add(id);
+                    place(id, declared, children, parents, placed);
+                }
+            }
+
+            Map<Long, Totals> subtree = new HashMap<>();
+            for (Long root : roots) {
+                sumSubtree(root, children, own, subtree);
+            }
+            return new Tree(Map.copyOf(departments), parents, children, List.copyOf(roots), own, subtree);
+        }
+
+        // Links id's descendants that are not yet placed; iterative so deep hierarchies cannot overflow the stack
+        private static void place(Long id, Map<Long, List<Long>> declared, Map<Long, List<Long>> children,
+                                  Map<Long, Long> parents, Set<Long> placed) {
+            List<Long> stack = new ArrayList<>();
+            stack.add(id);
+            placed.add(id);
+            while (!stack.isEmpty()) {
+                Long current = stack.remove(stack.size() - 1);
+                List<Long> kids = new ArrayList<>();
+                for (Long child : declared.getOrDefault(current, List.of())) {
+                    if (placed.add(child)) {
+                        parents.put(child, current);
+                        kids.add(child);
+                        stack.add(child);
+                    }
+                }
+                Collections.sort(kids);
+                children.put(current, List.copyOf(kids));
+            }
+        }
+
+        private static void sumSubtree(Long root, Map<Long, List<Long>> children, Map<Long, Totals> own,
+                                       Map<Long, Totals> subtree) {
+            // Post-order without recursion: a node is summed once all its children are
+            List<Long> order = new ArrayList<>();
+            List<Long> stack = new ArrayList<>();
+            stack.add(root);
+            while (!stack.isEmpty()) {
+                Long current = stack.remove(stack.size() - 1);
+                order.add(current);
+                stack.addAll(children.getOrDefault(current, List.of()));
+            }
+            for (int i = order.size() - 1; i >= 0; i--) {
+                Long current = order.get(i);
+                Totals total = own.getOrDefault(current, Totals.ZERO);
+                for (Long child : children.getOrDefault(current, List.of())) {
+                    total = total.plus(subtree.get(child));
+                }
+                subtree.put(current, total);
+            }
+        }
+
+        Tree withDepartment(Long id, DepartmentInfo info) {
+            Map<Long, DepartmentInfo> updated = new HashMap<>(departments);
+            if (info != null) {
+                updated.put(id, info);
+            } else {
+                updated.remove(id);
+            }
+            return build(updated, own);
+        }
+
+        // Copies the two totals maps and adjusts only the department and its ancestors
+        Tree withStaffDelta(Long departmentId, Totals delta) {
+            if (departmentId == null) {
+                return this;
+            }
+            Map<Long, Totals> newOwn = new HashMap<>(own);
+            newOwn.merge(departmentId, delta, Totals::plus);
+            Map<Long, Totals> newSubtree = subtree;
+            if (departments.containsKey(departmentId)) {
+                newSubtree = new HashMap<>(subtree);
+                for (Long id = departmentId; id != null; id = parents.get(id)) {
+                    newSubtree.merge(id, delta, Totals::plus);
+                }
+            }
+            return new Tree(departments, parents, children, roots, newOwn, newSubtree);
+        }
+
+        DepartmentTreeNode toNode(Long rootId) {
+            Map<Long, DepartmentTreeNode> nodes = new HashMap<>();
+            List<Long> order = new ArrayList<>();
+            List<Long> stack = new ArrayList<>();
+            stack.add(rootId);
+            while (!stack.isEmpty()) {
+                Long current = stack.remove(stack.size() - 1);
+                order.add(current);
+                stack.addAll(children.getOrDefault(current, List.of()));
+            }
+            for (int i = order.size() - 1; i >= 0; i--) {
+                Long id = order.get(i);
+                DepartmentInfo info = departments.get(id);
+                List<DepartmentTreeNode> kids = new ArrayList<>();
+                for (Long child : children.getOrDefault(id, List.of())) {
+                    kids.add(nodes.get(child));
+                }
+                Totals ownTotals = own.getOrDefault(id, Totals.ZERO);
+                Totals subtreeTotals = subtree.getOrDefault(id, Totals.ZERO);
+                DepartmentTreeNode node = new DepartmentTreeNode();
+                node.setId(info.id);
+                node.setName(info.name);
+                node.setCode(info.code);
+                node.setParentDepartmentId(info.parentDepartmentId);
+                node.setHeadOfDepartmentId(info.headOfDepartmentId);
+                node.setIsActive(info.active);
+                node.setTotalStaff(ownTotals.totalStaff());
+                node.setActiveStaff(ownTotals.activeStaff());
+                node.setAverageSalary(ownTotals.getAverageSalary());
+                node.setSubtreeTotalStaff(subtreeTotals.totalStaff());
+                node.setSubtreeActiveStaff(subtreeTotals.activeStaff());
+                node.setSubtreeSalaryTotal(subtreeTotals.getActiveSalaryTotal());
+                node.setSubtreeAverageSalary(subtreeTotals.getAverageSalary());
+                node.setChildren(kids);
+                nodes.put(id, node);
+            }
+            return nodes.get(rootId);
+        }
+    }
+}
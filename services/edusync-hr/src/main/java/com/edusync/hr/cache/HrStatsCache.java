@@ -0,0 +1,111 @@
+package com.edusync.hr.cache;
+
+import com.edusync.hr.config.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Holds the last computed HR dashboard snapshot. Staff, department, leave and payroll writes
+ * invalidate it after their transaction commits; a snapshot loaded before an invalidation is
+ * never served. Reloads read the primary; the TTL bounds staleness for writes that bypass the
+ * services.
+ */
+@Component
+public class HrStatsCache {
+
+    private final Duration ttl;
+    private final AtomicLong generation = new AtomicLong();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public HrStatsCache(
+            MeterRegistry meterRegistry,
+            @Value("${hr.stats.cache.ttl:PT1M}") Duration ttl) {
+        this.ttl = ttl;
+        this.hits = Counter.builder("hr.stats.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("hr.stats.cache").tag("result", "miss").register(meterRegistry);
+        this.invalidations = Counter.builder("hr.stats.cache.invalidations").register(meterRegistry);
+    }
+
+    public Map<String, Object> get(Supplier<Map<String, Object>> loader) {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            hits.increment();
+            return current.stats;
+        }
+
+        // Only one thread recomputes; concurrent dashboard polls wait for its result
+        loadLock.lock();
+        try {
+            current = snapshot;
+            if (isFresh(current)) {
+                hits.increment();
+                return current.stats;
+            }
+            misses.increment();
+            long loadGeneration = generation.get();
+            // From the primary: a lagging replica could return figures from before the write that
+            // bumped the generation, and they would be served as current until the TTL
+            Map<String, Object> stats = Collections.unmodifiableMap(ReplicaRoutingDataSource.onPrimary(loader));
+            snapshot = new Snapshot(stats, loadGeneration, System.nanoTime());
+            return stats;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    // Invalidates once the surrounding transaction commits, or immediately when there is none
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict();
+                }
+            });
+        } else {
+            evict();
+        }
+    }
+
+    private void evict() {
+        generation.incrementAndGet();
+        snapshot = null;
+        invalidations.increment();
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current != null
+            && current.generation == generation.get()
+            && System.nanoTime() - current.loadedAt < ttl.toNanos();
+    }
+
+    private static final class Snapshot {
+        private final Map<String, Object> stats;
+        private final long generation;
+        private final long loadedAt;
+
+        private Snapshot(Map<String, Object> stats, long generation, long loadedAt) {
+            this.stats = stats;
+            this.generation = generation;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.edusync.hr.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections for read-only transactions to a replica, round robin over the replicas
+ * whose last lag check passed, and everything else to the primary. A replica that lags by more
+ * than maxLag, or cannot be reached, is skipped until a later check passes; with none usable,
+ * reads fall back to the primary. A replica whose WAL receiver is not streaming is skipped too:
+ * once disconnected it has replayed everything it received, so it would otherwise look caught up.
+ * Threads pinned by ReadYourWritesFilter or running {@link #onPrimary} always use the primary.
+ *
+ * The routing decision is made when a connection is first used, so this must sit behind a
+ * LazyConnectionDataSourceProxy; otherwise the connection is taken before the transaction's
+ * read-only flag is set.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    public static final String PRIMARY = "primary";
+
+    // Caught-up or not-in-recovery servers report 0, replicas not streaming from the primary null;
+    // otherwise time since the last replayed commit
+    private static final String LAG_SQL = """
+        SELECT CASE
+            WHEN NOT pg_is_in_recovery() THEN 0
+            WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL
+            WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+            ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+        END
+        """;
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final double maxLagSeconds;
+    private final Duration checkInterval;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Counter> routed = new HashMap<>();
+    private final Counter fallbacks;
+    private ScheduledExecutorService checker;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicaDataSources,
+                                    Duration maxLag, Duration checkInterval, MeterRegistry meterRegistry) {
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.checkInterval = checkInterval;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        routed.put(PRIMARY, routedCounter(meterRegistry, PRIMARY));
+        replicaDataSources.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource);
+            replicas.add(replica);
+            targets.put(name, dataSource);
+            routed.put(name, routedCounter(meterRegistry, name));
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+                .description("Replication lag seen by the last check, in seconds")
+                .tag("target", name)
+                .register(meterRegistry);
+            Gauge.builder("datasource.replica.usable", replica, r -> r.usable ? 1 : 0)
+                .tag("target", name)
+                .register(meterRegistry);
+        });
+        this.fallbacks = Counter.builder("datasource.routing.fallbacks")
+            .description("Read-only connections sent to the primary because no replica was usable")
+            .register(meterRegistry);
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    // Routes the current thread's connections to the primary until unpin()
+    public static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED.remove();
+    }
+
+    /**
+     * Runs {@code work} with the current thread's connections on the primary, for reads whose
+     * result outlives them (cache loads). Connections taken before the call keep their target.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        if (PINNED.get() != null) {
+            return work.get();
+        }
+        pin();
+        try {
+            return work.get();
+        } finally {
+            unpin();
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        if (replicas.isEmpty()) {
+            return;
+        }
+        // One task per replica so an unreachable one (waiting out its connection timeout) delays no other
+        checker = Executors.newScheduledThreadPool(replicas.size(), runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = checkInterval.toMillis();
+        for (Replica replica : replicas) {
+            checker.scheduleWithFixedDelay(() -> check(replica), 0, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void shutdown() {
+        if (checker != null) {
+            checker.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    logger.warn("Failed to close replica pool {}: {}", replica.name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String target = chooseTarget();
+        routed.get(target).increment();
+        return target;
+    }
+
+    private String chooseTarget() {
+        if (replicas.isEmpty()
+                || PINNED.get() != null
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.usable) {
+                return replica.name;
+            }
+        }
+        fallbacks.increment();
+        return PRIMARY;
+    }
+
+    private void check(Replica replica) {
+        boolean wasUsable = replica.usable;
+        try {
+            Double lag = new JdbcTemplate(replica.dataSource).queryForObject(LAG_SQL, Double.class);
+            // NaN fails the comparison, and a gauge reports it as no value
+            replica.lagSeconds = lag != null ? lag : Double.NaN;
+            replica.usable = replica.lagSeconds <= maxLagSeconds;
+        } catch (Exception e) {
+            replica.usable = false;
+            if (wasUsable || !replica.checked) {
+                logger.warn("Replica {} failed its lag check: {}", replica.name, e.getMessage());
+            }
+        }
+        if (wasUsable && !replica.usable && Double.isNaN(replica.lagSeconds)) {
+            logger.warn("Replica {} taken out of rotation (not streaming from the primary)", replica.name);
+        } else if (wasUsable && !replica.usable) {
+            logger.warn("Replica {} taken out of rotation (lag {}s)", replica.name, replica.lagSeconds);
+        } else if (!wasUsable && replica.usable) {
+            logger.info("Replica {} in rotation (lag {}s)", replica.name, replica.lagSeconds);
+        }
+        replica.checked = true;
+    }
+
+    private static Counter routedCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.routing")
+            .description("Connections handed out per target")
+            .tag("target", target)
+            .register(meterRegistry);
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        // Starts out of rotation until the first check passes
+        private volatile boolean usable;
+        private volatile boolean checked;
+        private volatile double lagSeconds;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.edusync.hr.controller;
 
 import com.edusync.hr.dto.DepartmentDTO;
+import com.edusync.hr.dto.DepartmentTreeNode;
 import com.edusync.hr.dto.StaffDTO;
 import com.edusync.hr.dto.mapper.DepartmentMapper;
 import com.edusync.hr.dto.mapper.StaffMapper;
@@ -81,6 +82,18 @@ public class HrController {
             .orElse(ResponseEntity.notFound().build());
     }
     
+    @GetMapping("/departments/tree")
+    public ResponseEntity<List<DepartmentTreeNode>> getDepartmentTree() {
+        return ResponseEntity.ok(departmentService.getDepartmentTree());
+    }
+    
+    @GetMapping("/departments/{id}/tree")
+    public ResponseEntity<DepartmentTreeNode> getDepartmentSubtree(@PathVariable @NonNull Long id) {
+        return departmentService.getDepartmentSubtree(id)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
     @GetMapping("/departments/{id}/subdepartments")
     public ResponseEntity<List<Department>> getSubDepartments(@PathVariable @NonNull Long id) {
         return ResponseEntity.ok(departmentService.getSubDepartments(id));
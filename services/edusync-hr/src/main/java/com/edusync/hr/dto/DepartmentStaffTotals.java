@@ -0,0 +1,18 @@
+package com.edusync.hr.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Staff figures of one department, one row per department from a grouped query.
+ * The salary sum is null when the department has no active staff.
+ */
+public interface DepartmentStaffTotals {
+
+    Long getDepartmentId();
+
+    Long getTotalStaff();
+
+    Long getActiveStaff();
+
+    BigDecimal getActiveSalaryTotal();
+}
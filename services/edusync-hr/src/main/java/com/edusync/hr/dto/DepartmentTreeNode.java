@@ -0,0 +1,143 @@
+package com.edusync.hr.dto;
+
+import com.edusync.hr.util.Money;
+
+import java.util.List;
+
+/**
+ * A department with its own staff figures and those of its whole subtree, which includes the
+ * department itself. Salaries cover active staff only.
+ */
+public class DepartmentTreeNode {
+    
+    private Long id;
+    private String name;
+    private String code;
+    private Long parentDepartmentId;
+    private Long headOfDepartmentId;
+    private Boolean isActive;
+    private long totalStaff;
+    private long activeStaff;
+    private Money averageSalary;
+    private long subtreeTotalStaff;
+    private long subtreeActiveStaff;
+    private Money subtreeSalaryTotal;
+    private Money subtreeAverageSalary;
+    private List<DepartmentTreeNode> children;
+    
+    // Constructors
+    public DepartmentTreeNode() {}
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getCode() {
+        return code;
+    }
+    
+    public void setCode(String code) {
+        this.code = code;
+    }
+    
+    public Long getParentDepartmentId() {
+        return parentDepartmentId;
+    }
+    
+    public void setParentDepartmentId(Long parentDepartmentId) {
+        this.parentDepartmentId = parentDepartmentId;
+    }
+    
+    public Long getHeadOfDepartmentId() {
+        return headOfDepartmentId;
+    }
+    
+    public void setHeadOfDepartmentId(Long headOfDepartmentId) {
+        this.headOfDepartmentId = headOfDepartmentId;
+    }
+    
+    public Boolean getIsActive() {
+        return isActive;
+    }
+    
+    public void setIsActive(Boolean isActive) {
+        this.isActive = isActive;
+    }
+    
+    public long getTotalStaff() {
+        return totalStaff;
+    }
+    
+    public void setTotalStaff(long totalStaff) {
+        this.totalStaff = totalStaff;
+    }
+    
+    public long getActiveStaff() {
+        return activeStaff;
+    }
+    
+    public void setActiveStaff(long activeStaff) {
+        this.activeStaff = activeStaff;
+    }
+    
+    public Money getAverageSalary() {
+        return averageSalary;
+    }
+    
+    public void setAverageSalary(Money averageSalary) {
+        this.averageSalary = averageSalary;
+    }
+    
+    public long getSubtreeTotalStaff() {
+        return subtreeTotalStaff;
+    }
+    
+    public void setSubtreeTotalStaff(long subtreeTotalStaff) {
+        this.subtreeTotalStaff = subtreeTotalStaff;
+    }
+    
+    public long getSubtreeActiveStaff() {
+        return subtreeActiveStaff;
+    }
+    
+    public void setSubtreeActiveStaff(long subtreeActiveStaff) {
+        this.subtreeActiveStaff = subtreeActiveStaff;
+    }
+    
+    public Money getSubtreeSalaryTotal() {
+        return subtreeSalaryTotal;
+    }
+    
+    public void setSubtreeSalaryTotal(Money subtreeSalaryTotal) {
+        this.subtreeSalaryTotal = subtreeSalaryTotal;
+    }
+    
+    public Money getSubtreeAverageSalary() {
+        return subtreeAverageSalary;
+    }
+    
+    public void setSubtreeAverageSalary(Money subtreeAverageSalary) {
+        this.subtreeAverageSalary = subtreeAverageSalary;
+    }
+    
+    public List<DepartmentTreeNode> getChildren() {
+        return children;
+    }
+    
+    public void setChildren(List<DepartmentTreeNode> children) {
+        this.children = children;
+    }
+}
@@ -0,0 +1,24 @@
+package com.edusync.hr.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Every figure behind the HR dashboard, produced by a single aggregate query.
+ * The salary sum is null when there is no active staff.
+ */
+public interface HrTotals {
+
+    Long getTotalStaff();
+
+    Long getActiveStaff();
+
+    Long getNewHires();
+
+    BigDecimal getActiveSalaryTotal();
+
+    Long getDepartments();
+
+    Long getPendingLeaveRequests();
+
+    Long getPendingPayrolls();
+}
@@ -3,6 +3,7 @@ package com.edusync.hr.dto;
 import com.edusync.hr.entity.Staff.EmploymentType;
 import com.edusync.hr.entity.Staff.Gender;
 import com.edusync.hr.entity.Staff.StaffStatus;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -47,6 +48,8 @@ public class StaffDTO {
     private String position;
     
     private Long departmentId;
+    
+    @Digits(integer = 8, fraction = 2, message = "Salary must have at most 8 digits and 2 decimal places")
     private BigDecimal salary;
     private StaffStatus status = StaffStatus.ACTIVE;
     private LocalDate terminationDate;
@@ -1,6 +1,7 @@
 package com.edusync.hr.entity;
 
 import jakarta.persistence.*;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -70,6 +71,7 @@ public class Staff {
     @Column(name = "department_id")
     private Long departmentId; // FK -> departments.id
     
+    @Digits(integer = 8, fraction = 2)
     @Column(name = "salary", precision = 10, scale = 2)
     private BigDecimal salary;
     
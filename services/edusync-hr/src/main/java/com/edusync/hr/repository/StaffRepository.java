@@ -1,11 +1,15 @@
 package com.edusync.hr.repository;
 
+import com.edusync.hr.dto.DepartmentStaffTotals;
+import com.edusync.hr.dto.HrTotals;
 import com.edusync.hr.entity.Staff;
 import com.edusync.hr.entity.Staff.StaffStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,5 +33,31 @@ public interface StaffRepository extends JpaRepository<Staff, Long> {
     
     @Query("SELECT COUNT(s) FROM Staff s WHERE s.departmentId = ?1 AND s.status = 'ACTIVE'")
     Long countActiveStaffByDepartment(Long departmentId);
+    
+    // Dashboard figures in one scan of staff; the other tables are only counted
+    @Query(value = """
+        SELECT
+            COUNT(*) AS "totalStaff",
+            COUNT(*) FILTER (WHERE s.status = 'ACTIVE') AS "activeStaff",
+            COUNT(*) FILTER (WHERE s.status = 'ACTIVE' AND s.hire_date > :hiredAfter) AS "newHires",
+            SUM(s.salary) FILTER (WHERE s.status = 'ACTIVE') AS "activeSalaryTotal",
+            (SELECT COUNT(*) FROM departments d WHERE d.is_active) AS "departments",
+            (SELECT COUNT(*) FROM leave_requests lr WHERE lr.status = 'PENDING') AS "pendingLeaveRequests",
+            (SELECT COUNT(*) FROM payroll p WHERE p.status = 'PENDING') AS "pendingPayrolls"
+        FROM staff s
+        """, nativeQuery = true)
+    HrTotals aggregateHrTotals(@Param("hiredAfter") LocalDate hiredAfter);
+    
+    // Per-department figures the department tree rolls up
+    @Query(value = """
+        SELECT
+            s.department_id AS "departmentId",
+            COUNT(*) AS "totalStaff",
+            COUNT(*) FILTER (WHERE s.status = 'ACTIVE') AS "activeStaff",
+            SUM(s.salary) FILTER (WHERE s.status = 'ACTIVE') AS "activeSalaryTotal"
+        FROM staff s
+        WHERE s.department_id IS NOT NULL
+        GROUP BY s.department_id
+        """, nativeQuery = true)
+    List<DepartmentStaffTotals> sumStaffByDepartment();
 }
-
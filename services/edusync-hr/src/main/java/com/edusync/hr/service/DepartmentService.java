@@ -1,5 +1,8 @@
 package com.edusync.hr.service;
 
+import com.edusync.hr.cache.DepartmentTreeCache;
+import com.edusync.hr.cache.HrStatsCache;
+import com.edusync.hr.dto.DepartmentTreeNode;
 import com.edusync.hr.entity.Department;
 import com.edusync.hr.repository.DepartmentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,32 +18,54 @@ import java.util.Optional;
 public class DepartmentService {
     
     private final DepartmentRepository departmentRepository;
+    private final HrStatsCache hrStatsCache;
+    private final DepartmentTreeCache departmentTreeCache;
     
     @Autowired
-    public DepartmentService(DepartmentRepository departmentRepository) {
+    public DepartmentService(DepartmentRepository departmentRepository, HrStatsCache hrStatsCache,
+                             DepartmentTreeCache departmentTreeCache) {
         this.departmentRepository = departmentRepository;
+        this.hrStatsCache = hrStatsCache;
+        this.departmentTreeCache = departmentTreeCache;
     }
     
+    @Transactional(readOnly = true)
     public List<Department> getAllDepartments() {
         return departmentRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
     public List<Department> getActiveDepartments() {
         return departmentRepository.findByIsActiveTrue();
     }
     
+    @Transactional(readOnly = true)
     public Optional<Department> getDepartmentById(@NonNull Long id) {
         return departmentRepository.findById(id);
     }
     
+    @Transactional(readOnly = true)
     public Optional<Department> getDepartmentByCode(@NonNull String code) {
         return departmentRepository.findByCode(code);
     }
     
+    @Transactional(readOnly = true)
     public Optional<Department> getDepartmentByName(@NonNull String name) {
         return departmentRepository.findByName(name);
     }
     
+    // The whole organisation, annotated with staff figures; served from memory
+    @Transactional(readOnly = true)
+    public List<DepartmentTreeNode> getDepartmentTree() {
+        return departmentTreeCache.getTree();
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<DepartmentTreeNode> getDepartmentSubtree(@NonNull Long id) {
+        return departmentTreeCache.getSubtree(id);
+    }
+    
+    @Transactional(readOnly = true)
     public List<Department> getSubDepartments(@NonNull Long parentDepartmentId) {
         return departmentRepository.findByParentDepartmentId(parentDepartmentId);
     }
@@ -53,7 +78,10 @@ public class DepartmentService {
         if (departmentRepository.findByName(department.getName()).isPresent()) {
             throw new IllegalArgumentException("Department with name " + department.getName() + " already exists");
         }
-        return departmentRepository.save(department);
+        Department saved = departmentRepository.save(department);
+        hrStatsCache.invalidate();
+        departmentTreeCache.departmentChanged(saved);
+        return saved;
     }
     
     public Department updateDepartment(@NonNull Long id, Department departmentDetails) {
@@ -73,6 +101,12 @@ public class DepartmentService {
             throw new IllegalArgumentException("Department with code " + departmentDetails.getCode() + " already exists");
         }
         
+        // A department cannot move under itself or one of its own subdepartments
+        Long parentId = departmentDetails.getParentDepartmentId();
+        if (parentId != null && departmentTreeCache.isInSubtree(parentId, id)) {
+            throw new IllegalArgumentException("Department " + id + " cannot be placed under its own subdepartment " + parentId);
+        }
+        
         department.setName(departmentDetails.getName());
         department.setCode(departmentDetails.getCode());
         department.setDescription(departmentDetails.getDescription());
@@ -81,7 +115,10 @@ public class DepartmentService {
         department.setBudget(departmentDetails.getBudget());
         department.setIsActive(departmentDetails.getIsActive());
         
-        return departmentRepository.save(department);
+        Department saved = departmentRepository.save(department);
+        hrStatsCache.invalidate();
+        departmentTreeCache.departmentChanged(saved);
+        return saved;
     }
     
     public void deleteDepartment(@NonNull Long id) {
@@ -91,10 +128,14 @@ public class DepartmentService {
         // Soft delete - deactivate instead of actual deletion
         department.setIsActive(false);
         departmentRepository.save(department);
+        hrStatsCache.invalidate();
+        departmentTreeCache.departmentChanged(department);
     }
     
     public void hardDeleteDepartment(@NonNull Long id) {
         departmentRepository.deleteById(id);
+        hrStatsCache.invalidate();
+        departmentTreeCache.departmentRemoved(id);
     }
 }
 
@@ -1,15 +1,15 @@
 package com.edusync.hr.service;
 
-import com.edusync.hr.entity.Staff.StaffStatus;
+import com.edusync.hr.cache.DepartmentTreeCache;
+import com.edusync.hr.cache.DepartmentTreeCache.Totals;
+import com.edusync.hr.cache.HrStatsCache;
+import com.edusync.hr.dto.HrTotals;
 import com.edusync.hr.repository.StaffRepository;
-import com.edusync.hr.repository.DepartmentRepository;
-import com.edusync.hr.repository.LeaveRequestRepository;
-import com.edusync.hr.repository.PayrollRepository;
+import com.edusync.hr.util.Money;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.HashMap;
@@ -20,98 +20,65 @@ import java.util.Map;
 public class HrStatsService {
     
     private final StaffRepository staffRepository;
-    private final DepartmentRepository departmentRepository;
-    private final LeaveRequestRepository leaveRequestRepository;
-    private final PayrollRepository payrollRepository;
+    private final HrStatsCache hrStatsCache;
+    private final DepartmentTreeCache departmentTreeCache;
     
     @Autowired
     public HrStatsService(
         StaffRepository staffRepository,
-        DepartmentRepository departmentRepository,
-        LeaveRequestRepository leaveRequestRepository,
-        PayrollRepository payrollRepository
+        HrStatsCache hrStatsCache,
+        DepartmentTreeCache departmentTreeCache
     ) {
         this.staffRepository = staffRepository;
-        this.departmentRepository = departmentRepository;
-        this.leaveRequestRepository = leaveRequestRepository;
-        this.payrollRepository = payrollRepository;
+        this.hrStatsCache = hrStatsCache;
+        this.departmentTreeCache = departmentTreeCache;
     }
     
     public Map<String, Object> getHrStats() {
+        return hrStatsCache.get(this::computeHrStats);
+    }
+    
+    private Map<String, Object> computeHrStats() {
         Map<String, Object> stats = new HashMap<>();
         
-        // Staff statistics
-        long totalStaff = staffRepository.count();
-        long activeStaff = staffRepository.countActiveStaff();
-        
-        // Calculate new hires (last 30 days)
-        LocalDate thirtyDaysAgo = LocalDate.now().minusDays(30);
-        long newHires = staffRepository.findByStatus(StaffStatus.ACTIVE)
-            .stream()
-            .filter(staff -> staff.getHireDate().isAfter(thirtyDaysAgo))
-            .count();
-        
-        // Department statistics
-        long departments = departmentRepository.findByIsActiveTrue().size();
+        // New hires count the last 30 days
+        HrTotals totals = staffRepository.aggregateHrTotals(LocalDate.now().minusDays(30));
         
-        // Calculate average salary
-        BigDecimal averageSalary = staffRepository.findByStatus(StaffStatus.ACTIVE)
-            .stream()
-            .filter(staff -> staff.getSalary() != null)
-            .map(staff -> staff.getSalary())
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long activeStaff = orZero(totals.getActiveStaff());
         
-        if (activeStaff > 0) {
-            averageSalary = averageSalary.divide(
-                BigDecimal.valueOf(activeStaff), 
-                2, 
-                RoundingMode.HALF_UP
-            );
-        }
+        // Calculate average salary; missing salaries count as zero
+        Money salaryTotal = totals.getActiveSalaryTotal() != null ? Money.of(totals.getActiveSalaryTotal()) : Money.zero();
+        Money averageSalary = activeStaff > 0 ? salaryTotal.divide(activeStaff, RoundingMode.HALF_UP) : salaryTotal;
         
-        // Pending leave requests
-        long pendingLeaveRequests = leaveRequestRepository.countPendingRequests();
-        
-        // Pending payrolls
-        long pendingPayrolls = payrollRepository.countPendingPayrolls();
-        
-        stats.put("totalStaff", totalStaff);
+        stats.put("totalStaff", orZero(totals.getTotalStaff()));
         stats.put("activeStaff", activeStaff);
-        stats.put("newHires", newHires);
-        stats.put("departments", departments);
+        stats.put("newHires", orZero(totals.getNewHires()));
+        stats.put("departments", orZero(totals.getDepartments()));
         stats.put("averageSalary", averageSalary);
-        stats.put("pendingLeaveRequests", pendingLeaveRequests);
-        stats.put("pendingPayrolls", pendingPayrolls);
+        stats.put("pendingLeaveRequests", orZero(totals.getPendingLeaveRequests()));
+        stats.put("pendingPayrolls", orZero(totals.getPendingPayrolls()));
         
         return stats;
     }
     
+    // Served from the department tree, so per-department reports cost no queries
     public Map<String, Object> getDepartmentStats(Long departmentId) {
         Map<String, Object> stats = new HashMap<>();
         
-        long totalStaff = staffRepository.findByDepartmentId(departmentId).size();
-        long activeStaff = staffRepository.countActiveStaffByDepartment(departmentId);
-        
-        // Calculate average salary for department
-        BigDecimal averageSalary = staffRepository.findByDepartmentIdAndStatus(departmentId, StaffStatus.ACTIVE)
-            .stream()
-            .filter(staff -> staff.getSalary() != null)
-            .map(staff -> staff.getSalary())
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        Totals own = departmentTreeCache.getOwnTotals(departmentId);
+        Totals subtree = departmentTreeCache.getSubtreeTotals(departmentId);
         
-        if (activeStaff > 0) {
-            averageSalary = averageSalary.divide(
-                BigDecimal.valueOf(activeStaff), 
-                2, 
-                RoundingMode.HALF_UP
-            );
-        }
-        
-        stats.put("totalStaff", totalStaff);
-        stats.put("activeStaff", activeStaff);
-        stats.put("averageSalary", averageSalary);
+        stats.put("totalStaff", own.totalStaff());
+        stats.put("activeStaff", own.activeStaff());
+        stats.put("averageSalary", own.getAverageSalary());
+        stats.put("subtreeTotalStaff", subtree.totalStaff());
+        stats.put("subtreeActiveStaff", subtree.activeStaff());
+        stats.put("subtreeAverageSalary", subtree.getAverageSalary());
         
         return stats;
     }
+    
+    private long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
 }
-
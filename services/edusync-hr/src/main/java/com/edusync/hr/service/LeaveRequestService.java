@@ -1,5 +1,6 @@
 package com.edusync.hr.service;
 
+import com.edusync.hr.cache.HrStatsCache;
 import com.edusync.hr.entity.LeaveRequest;
 import com.edusync.hr.entity.LeaveRequest.LeaveStatus;
 import com.edusync.hr.repository.LeaveRequestRepository;
@@ -18,10 +19,12 @@ import java.util.Optional;
 public class LeaveRequestService {
     
     private final LeaveRequestRepository leaveRequestRepository;
+    private final HrStatsCache hrStatsCache;
     
     @Autowired
-    public LeaveRequestService(LeaveRequestRepository leaveRequestRepository) {
+    public LeaveRequestService(LeaveRequestRepository leaveRequestRepository, HrStatsCache hrStatsCache) {
         this.leaveRequestRepository = leaveRequestRepository;
+        this.hrStatsCache = hrStatsCache;
     }
     
     public List<LeaveRequest> getAllLeaveRequests() {
@@ -66,6 +69,7 @@ public class LeaveRequestService {
             );
         }
         
+        hrStatsCache.invalidate();
         return leaveRequestRepository.save(leaveRequest);
     }
     
@@ -87,6 +91,7 @@ public class LeaveRequestService {
         leaveRequest.setStatus(leaveRequestDetails.getStatus());
         leaveRequest.setNotes(leaveRequestDetails.getNotes());
         
+        hrStatsCache.invalidate();
         return leaveRequestRepository.save(leaveRequest);
     }
     
@@ -98,6 +103,7 @@ public class LeaveRequestService {
         leaveRequest.setApprovedBy(approvedBy);
         leaveRequest.setApprovalDate(LocalDate.now());
         
+        hrStatsCache.invalidate();
         return leaveRequestRepository.save(leaveRequest);
     }
     
@@ -110,11 +116,13 @@ public class LeaveRequestService {
         leaveRequest.setApprovalDate(LocalDate.now());
         leaveRequest.setNotes(notes);
         
+        hrStatsCache.invalidate();
         return leaveRequestRepository.save(leaveRequest);
     }
     
     public void deleteLeaveRequest(@NonNull Long id) {
         leaveRequestRepository.deleteById(id);
+        hrStatsCache.invalidate();
     }
 }
 
@@ -1,5 +1,6 @@
 package com.edusync.hr.service;
 
+import com.edusync.hr.cache.HrStatsCache;
 import com.edusync.hr.entity.Payroll;
 import com.edusync.hr.entity.Payroll.PayrollStatus;
 import com.edusync.hr.repository.PayrollRepository;
@@ -18,10 +19,12 @@ import java.util.Optional;
 public class PayrollService {
     
     private final PayrollRepository payrollRepository;
+    private final HrStatsCache hrStatsCache;
     
     @Autowired
-    public PayrollService(PayrollRepository payrollRepository) {
+    public PayrollService(PayrollRepository payrollRepository, HrStatsCache hrStatsCache) {
         this.payrollRepository = payrollRepository;
+        this.hrStatsCache = hrStatsCache;
     }
     
     public List<Payroll> getAllPayrolls() {
@@ -80,6 +83,7 @@ public class PayrollService {
             payroll.setNetSalary(netSalary);
         }
         
+        hrStatsCache.invalidate();
         return payrollRepository.save(payroll);
     }
     
@@ -103,6 +107,7 @@ public class PayrollService {
         payroll.setPaymentMethod(payrollDetails.getPaymentMethod());
         payroll.setStatus(payrollDetails.getStatus());
         
+        hrStatsCache.invalidate();
         return payrollRepository.save(payroll);
     }
     
@@ -111,6 +116,7 @@ public class PayrollService {
             .orElseThrow(() -> new IllegalArgumentException("Payroll not found with id: " + id));
         
         payroll.setStatus(PayrollStatus.PROCESSED);
+        hrStatsCache.invalidate();
         return payrollRepository.save(payroll);
     }
     
@@ -121,11 +127,13 @@ public class PayrollService {
         payroll.setStatus(PayrollStatus.PAID);
         payroll.setPaymentDate(paymentDate);
         
+        hrStatsCache.invalidate();
         return payrollRepository.save(payroll);
     }
     
     public void deletePayroll(@NonNull Long id) {
         payrollRepository.deleteById(id);
+        hrStatsCache.invalidate();
     }
 }
 
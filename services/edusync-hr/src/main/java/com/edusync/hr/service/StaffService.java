@@ -1,5 +1,8 @@
 package com.edusync.hr.service;
 
+import com.edusync.hr.cache.DepartmentTreeCache;
+import com.edusync.hr.cache.DepartmentTreeCache.Member;
+import com.edusync.hr.cache.HrStatsCache;
 import com.edusync.hr.entity.Staff;
 import com.edusync.hr.entity.Staff.StaffStatus;
 import com.edusync.hr.repository.StaffRepository;
@@ -17,48 +20,63 @@ import java.util.Optional;
 public class StaffService {
     
     private final StaffRepository staffRepository;
+    private final HrStatsCache hrStatsCache;
+    private final DepartmentTreeCache departmentTreeCache;
     
     @Autowired
-    public StaffService(StaffRepository staffRepository) {
+    public StaffService(StaffRepository staffRepository, HrStatsCache hrStatsCache,
+                        DepartmentTreeCache departmentTreeCache) {
         this.staffRepository = staffRepository;
+        this.hrStatsCache = hrStatsCache;
+        this.departmentTreeCache = departmentTreeCache;
     }
     
+    @Transactional(readOnly = true)
     public List<Staff> getAllStaff() {
         return staffRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
     public Optional<Staff> getStaffById(@NonNull Long id) {
         return staffRepository.findById(id);
     }
     
+    @Transactional(readOnly = true)
     public Optional<Staff> getStaffByEmployeeId(@NonNull String employeeId) {
         return staffRepository.findByEmployeeId(employeeId);
     }
     
+    @Transactional(readOnly = true)
     public Optional<Staff> getStaffByEmail(@NonNull String email) {
         return staffRepository.findByEmail(email);
     }
     
+    @Transactional(readOnly = true)
     public Optional<Staff> getStaffByUserId(@NonNull Long userId) {
         return staffRepository.findByUserId(userId);
     }
     
+    @Transactional(readOnly = true)
     public List<Staff> getStaffByDepartment(@NonNull Long departmentId) {
         return staffRepository.findByDepartmentId(departmentId);
     }
     
+    @Transactional(readOnly = true)
     public List<Staff> getStaffByStatus(StaffStatus status) {
         return staffRepository.findByStatus(status);
     }
     
+    @Transactional(readOnly = true)
     public List<Staff> getActiveStaff() {
         return staffRepository.findByStatus(StaffStatus.ACTIVE);
     }
     
+    @Transactional(readOnly = true)
     public Long countActiveStaff() {
         return staffRepository.countActiveStaff();
     }
     
+    @Transactional(readOnly = true)
     public Long countActiveStaffByDepartment(@NonNull Long departmentId) {
         return staffRepository.countActiveStaffByDepartment(departmentId);
     }
@@ -75,7 +93,10 @@ public class StaffService {
             throw new IllegalArgumentException("User ID " + staff.getUserId() + " is already linked to another staff member");
         }
         
-        return staffRepository.save(staff);
+        Staff saved = staffRepository.save(staff);
+        hrStatsCache.invalidate();
+        departmentTreeCache.staffChanged(null, Member.of(saved));
+        return saved;
     }
     
     public Staff updateStaff(@NonNull Long id, Staff staffDetails) {
@@ -93,6 +114,7 @@ public class StaffService {
             throw new IllegalArgumentException("Staff with email " + staffDetails.getEmail() + " already exists");
         }
         
+        Member before = Member.of(staff);
         staff.setEmployeeId(staffDetails.getEmployeeId());
         staff.setFirstName(staffDetails.getFirstName());
         staff.setLastName(staffDetails.getLastName());
@@ -109,21 +131,30 @@ public class StaffService {
         staff.setStatus(staffDetails.getStatus());
         staff.setTerminationDate(staffDetails.getTerminationDate());
         
-        return staffRepository.save(staff);
+        Staff saved = staffRepository.save(staff);
+        hrStatsCache.invalidate();
+        departmentTreeCache.staffChanged(before, Member.of(saved));
+        return saved;
     }
     
     public Staff terminateStaff(@NonNull Long id, LocalDate terminationDate) {
         Staff staff = staffRepository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Staff not found with id: " + id));
         
+        Member before = Member.of(staff);
         staff.setStatus(StaffStatus.TERMINATED);
         staff.setTerminationDate(terminationDate);
         
-        return staffRepository.save(staff);
+        Staff saved = staffRepository.save(staff);
+        hrStatsCache.invalidate();
+        departmentTreeCache.staffChanged(before, Member.of(saved));
+        return saved;
     }
     
     public void deleteStaff(@NonNull Long id) {
+        staffRepository.findById(id).ifPresent(staff -> departmentTreeCache.staffChanged(Member.of(staff), null));
         staffRepository.deleteById(id);
+        hrStatsCache.invalidate();
     }
 }
 
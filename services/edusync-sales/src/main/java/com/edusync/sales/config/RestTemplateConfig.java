@@ -1,15 +1,25 @@
 package com.edusync.sales.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 @Configuration
 public class RestTemplateConfig {
     
+    // Short timeouts are safe because the clients retry writes with an Idempotency-Key
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(
+            RestTemplateBuilder builder,
+            @Value("${sales.client.connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${sales.client.read-timeout:PT5S}") Duration readTimeout) {
+        return builder
+            .setConnectTimeout(connectTimeout)
+            .setReadTimeout(readTimeout)
+            .build();
     }
 }
-
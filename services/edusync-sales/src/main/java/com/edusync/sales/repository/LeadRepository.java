@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -48,7 +49,7 @@ public interface LeadRepository extends JpaRepository<Lead, Long> {
     long countScholarshipRequests();
 
     @Query("SELECT SUM(l.estimatedTuitionValue) FROM Lead l WHERE l.status NOT IN ('lost', 'enrolled')")
-    Double sumPotentialRevenue();
+    BigDecimal sumPotentialRevenue();
 
     boolean existsByEmail(String email);
 }
@@ -10,13 +10,13 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 @Service
 public class FinanceServiceClient {
@@ -28,6 +28,9 @@ public class FinanceServiceClient {
     @Value("${finance.service.url:http://localhost:8081}")
     private String financeServiceUrl;
 
+    @Value("${sales.client.retries:2}")
+    private int retries;
+
     @Autowired
     public FinanceServiceClient(RestTemplate restTemplate) {
         this.restTemplate = restTemplate;
@@ -54,8 +57,10 @@ public class FinanceServiceClient {
                     + estimatedTuition + ", Scholarship: " + scholarshipAmount);
             }
 
-            // Generate unique transaction ID
-            String transactionId = "INV-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+            // A lead is invoiced once, so the key and the invoice ID both derive from the lead ID:
+            // a retry, or a second enrol call after a lost response, gets the first invoice back
+            String idempotencyKey = "lead-" + lead.getId() + "-invoice";
+            String transactionId = "INV-LEAD-" + lead.getId();
 
             // Prepare transaction data
             Map<String, Object> transactionData = new HashMap<>();
@@ -89,6 +94,7 @@ public class FinanceServiceClient {
             // Make HTTP request to Finance Service
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.set("Idempotency-Key", idempotencyKey);
             HttpEntity<Map<String, Object>> request = new HttpEntity<>(transactionData, headers);
 
             String url = financeServiceUrl + "/finance/transactions";
@@ -96,7 +102,7 @@ public class FinanceServiceClient {
             logger.info("Transaction data: {}", transactionData);
             
             @SuppressWarnings("rawtypes")
-            ResponseEntity<Map> response = restTemplate.postForEntity(url, request, Map.class);
+            ResponseEntity<Map> response = postWithRetry(url, request);
 
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 logger.info("Invoice created successfully: {}", response.getBody());
@@ -118,5 +124,18 @@ public class FinanceServiceClient {
             throw new RuntimeException(errorMsg, e);
         }
     }
-}
 
+    @SuppressWarnings("rawtypes")
+    private ResponseEntity<Map> postWithRetry(String url, HttpEntity<Map<String, Object>> request) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return restTemplate.postForEntity(url, request, Map.class);
+            } catch (ResourceAccessException e) {
+                if (attempt >= retries) {
+                    throw e;
+                }
+                logger.warn("Retrying invoice {} after: {}", request.getHeaders().getFirst("Idempotency-Key"), e.getMessage());
+            }
+        }
+    }
+}
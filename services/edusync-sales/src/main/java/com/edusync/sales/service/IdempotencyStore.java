@@ -0,0 +1,259 @@
+package com.edusync.sales.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers the response to each request sent with an Idempotency-Key for
+ * {@code sales.idempotency.ttl}. Recent keys are held in a bounded in-memory map; every key
+ * is also claimed in sales_idempotency_keys, which makes the claim hold across instances and
+ * restarts. A duplicate that arrives while the first request is still running waits for it,
+ * on this instance through the in-memory entry and on another one by polling the table.
+ *
+ * Server errors are not remembered: the key is released so a retry runs the request again.
+ * A claim left in flight by an instance that died is taken over after
+ * {@code sales.idempotency.lock-timeout}.
+ */
+@Service
+public class IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private static final long POLL_MILLIS = 50;
+
+    private static final String CLAIM_SQL = """
+        INSERT INTO sales_idempotency_keys (idempotency_key, fingerprint, status, created_at, expires_at)
+        VALUES (?, ?, 'IN_FLIGHT', ?, ?)
+        ON CONFLICT (idempotency_key) DO NOTHING
+        """;
+
+    private static final String TAKE_OVER_SQL = """
+        UPDATE sales_idempotency_keys SET created_at = ?, expires_at = ?
+        WHERE idempotency_key = ? AND status = 'IN_FLIGHT' AND created_at = ?
+        """;
+
+    private static final String COMPLETE_SQL = """
+        UPDATE sales_idempotency_keys
+        SET status = 'COMPLETED', response_status = ?, content_type = ?, response_body = ?
+        WHERE idempotency_key = ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final Duration lockTimeout;
+    private final Map<String, Entry> entries;
+
+    @Autowired
+    public IdempotencyStore(
+            JdbcTemplate jdbcTemplate,
+            @Value("${sales.idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${sales.idempotency.wait-timeout:PT10S}") Duration waitTimeout,
+            @Value("${sales.idempotency.lock-timeout:PT1M}") Duration lockTimeout,
+            @Value("${sales.idempotency.max-entries:10000}") int maxEntries) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.lockTimeout = lockTimeout;
+        // Access order, so the least recently used key goes first; an evicted key is still found in the table
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Claims {@code key} for a request with the given fingerprint, or finds what an earlier
+     * request with the key got. Blocks while another request holds the key, for at most
+     * {@code sales.idempotency.wait-timeout}.
+     */
+    public Claim claim(String key, String fingerprint) throws InterruptedException {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            Entry entry;
+            boolean owner = false;
+            synchronized (entries) {
+                entry = entries.get(key);
+                if (entry == null || entry.isExpired()) {
+                    entry = new Entry(fingerprint, System.currentTimeMillis() + ttl.toMillis());
+                    entries.put(key, entry);
+                    owner = true;
+                }
+            }
+            if (owner) {
+                return claimInDatabase(key, fingerprint, entry, deadline);
+            }
+            if (!entry.done.await(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return new Claim(Outcome.BUSY, key, null, null);
+            }
+            if (entry.response != null) {
+                return entry.fingerprint.equals(fingerprint)
+                    ? new Claim(Outcome.REPLAY, key, null, entry.response)
+                    : new Claim(Outcome.MISMATCH, key, null, null);
+            }
+            // The first request failed and gave the key up; try to claim it again
+        }
+    }
+
+    // Server errors are released instead, so the request can be retried
+    public void complete(Claim claim, int status, String contentType, byte[] body) {
+        if (status >= 500) {
+            release(claim);
+            return;
+        }
+        Response response = new Response(status, contentType, body);
+        jdbcTemplate.update(COMPLETE_SQL, status, contentType, body, claim.key);
+        claim.entry.complete(claim.entry.fingerprint, response);
+    }
+
+    public void release(Claim claim) {
+        try {
+            jdbcTemplate.update("DELETE FROM sales_idempotency_keys WHERE idempotency_key = ? AND status = 'IN_FLIGHT'",
+                claim.key);
+        } finally {
+            abandon(claim.key, claim.entry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${sales.idempotency.cleanup-interval:PT10M}")
+    public void deleteExpired() {
+        int deleted = jdbcTemplate.update("DELETE FROM sales_idempotency_keys WHERE expires_at < ?",
+            Timestamp.valueOf(LocalDateTime.now()));
+        if (deleted > 0) {
+            logger.info("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    private Claim claimInDatabase(String key, String fingerprint, Entry entry, long deadline) throws InterruptedException {
+        try {
+            while (true) {
+                LocalDateTime now = LocalDateTime.now();
+                jdbcTemplate.update("DELETE FROM sales_idempotency_keys WHERE idempotency_key = ? AND expires_at < ?",
+                    key, Timestamp.valueOf(now));
+                if (jdbcTemplate.update(CLAIM_SQL, key, fingerprint, Timestamp.valueOf(now), Timestamp.valueOf(now.plus(ttl))) == 1) {
+                    return new Claim(Outcome.PROCEED, key, entry, null);
+                }
+
+                List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT * FROM sales_idempotency_keys WHERE idempotency_key = ?", key);
+                if (rows.isEmpty()) {
+                    // Released between the insert and the read
+                    continue;
+                }
+                Map<String, Object> row = rows.get(0);
+                String storedFingerprint = (String) row.get("fingerprint");
+                if ("COMPLETED".equals(row.get("status"))) {
+                    Response response = new Response(((Number) row.get("response_status")).intValue(),
+                        (String) row.get("content_type"), (byte[]) row.get("response_body"));
+                    entry.complete(storedFingerprint, response);
+                    return storedFingerprint.equals(fingerprint)
+                        ? new Claim(Outcome.REPLAY, key, null, response)
+                        : new Claim(Outcome.MISMATCH, key, null, null);
+                }
+                if (!storedFingerprint.equals(fingerprint)) {
+                    abandon(key, entry);
+                    return new Claim(Outcome.MISMATCH, key, null, null);
+                }
+
+                // In flight on another instance, or left there by one that died
+                Timestamp createdAt = (Timestamp) row.get("created_at");
+                if (createdAt.toLocalDateTime().isBefore(now.minus(lockTimeout))
+                        && jdbcTemplate.update(TAKE_OVER_SQL, Timestamp.valueOf(now), Timestamp.valueOf(now.plus(ttl)),
+                            key, createdAt) == 1) {
+                    logger.warn("Took over idempotency key {} left in flight since {}", key, createdAt);
+                    return new Claim(Outcome.PROCEED, key, entry, null);
+                }
+                if (System.nanoTime() > deadline) {
+                    abandon(key, entry);
+                    return new Claim(Outcome.BUSY, key, null, null);
+                }
+                Thread.sleep(POLL_MILLIS);
+            }
+        } catch (RuntimeException | InterruptedException e) {
+            abandon(key, entry);
+            throw e;
+        }
+    }
+
+    // Drops the in-memory entry and wakes its waiters, which then try to claim the key themselves
+    private void abandon(String key, Entry entry) {
+        synchronized (entries) {
+            entries.remove(key, entry);
+        }
+        entry.done.countDown();
+    }
+
+    public enum Outcome {
+        // The caller owns the key and must complete or release the claim
+        PROCEED,
+        // An earlier request with the key got this response
+        REPLAY,
+        // The key was used for a different request
+        MISMATCH,
+        // Another request with the key is still running
+        BUSY
+    }
+
+    public record Response(int status, String contentType, byte[] body) {}
+
+    public static final class Claim {
+        private final Outcome outcome;
+        private final String key;
+        private final Entry entry;
+        private final Response response;
+
+        private Claim(Outcome outcome, String key, Entry entry, Response response) {
+            this.outcome = outcome;
+            this.key = key;
+            this.entry = entry;
+            this.response = response;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public Response getResponse() {
+            return response;
+        }
+    }
+
+    private static final class Entry {
+        private final long expiresAt;
+        private final CountDownLatch done = new CountDownLatch(1);
+        // The fingerprint is replaced by the stored one when the response comes from the table
+        private volatile String fingerprint;
+        private volatile Response response;
+
+        private Entry(String fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        private void complete(String fingerprint, Response response) {
+            this.fingerprint = fingerprint;
+            this.response = response;
+            done.countDown();
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.edusync.sales.entity.Lead;
 import com.edusync.sales.entity.Lead.Priority;
 import com.edusync.sales.exception.ResourceNotFoundException;
 import com.edusync.sales.repository.LeadRepository;
+import com.edusync.sales.util.Money;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -261,8 +262,7 @@ public class LeadService {
         return leadRepository.countScholarshipRequests();
     }
 
-    public Double getPotentialRevenue() {
-        Double revenue = leadRepository.sumPotentialRevenue();
-        return revenue != null ? revenue : 0.0;
+    public Money getPotentialRevenue() {
+        return Money.of(leadRepository.sumPotentialRevenue());
     }
 }
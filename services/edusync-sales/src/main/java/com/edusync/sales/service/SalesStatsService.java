@@ -2,6 +2,7 @@ package com.edusync.sales.service;
 
 import com.edusync.sales.repository.LeadRepository;
 import com.edusync.sales.repository.TaskRepository;
+import com.edusync.sales.util.Money;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,7 +30,7 @@ public class SalesStatsService {
         long totalLeads = leadRepository.count();
         long newLeads = leadRepository.countByStatus("inquiry");
         long enrolledCount = leadRepository.countByStatus("enrolled");
-        Double potentialRevenue = leadRepository.sumPotentialRevenue();
+        Money potentialRevenue = Money.of(leadRepository.sumPotentialRevenue());
         long scholarshipRequests = leadRepository.countScholarshipRequests();
         long overdueTasks = taskRepository.countOverdueTasks(LocalDate.now());
 
@@ -40,7 +41,7 @@ public class SalesStatsService {
         stats.put("newLeads", newLeads);
         stats.put("enrolledCount", enrolledCount);
         stats.put("conversionRate", Math.round(conversionRate * 10.0) / 10.0);
-        stats.put("potentialRevenue", potentialRevenue != null ? potentialRevenue : 0.0);
+        stats.put("potentialRevenue", potentialRevenue);
         stats.put("scholarshipRequests", scholarshipRequests);
         stats.put("overdueTasks", overdueTasks);
 
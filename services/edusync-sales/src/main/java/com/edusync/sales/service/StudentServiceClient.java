@@ -10,6 +10,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDate;
@@ -26,6 +27,9 @@ public class StudentServiceClient {
     @Value("${student.service.url:http://localhost:8083}")
     private String studentServiceUrl;
 
+    @Value("${sales.client.retries:2}")
+    private int retries;
+
     @Autowired
     public StudentServiceClient(RestTemplate restTemplate) {
         this.restTemplate = restTemplate;
@@ -78,17 +82,19 @@ public class StudentServiceClient {
                 studentData.put("guardianName", lead.getParentName());
             }
 
-            // Make HTTP request to Student Service
+            // Make HTTP request to Student Service; keyed by lead so a retried enrollment
+            // returns the student created the first time
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.set("Idempotency-Key", "lead-" + lead.getId() + "-student");
             HttpEntity<Map<String, Object>> request = new HttpEntity<>(studentData, headers);
 
-            String url = studentServiceUrl + "/students";
+            String url = studentServiceUrl + "/student/students";
             logger.info("Calling Student Service at: {}", url);
             logger.info("Student data: {}", studentData);
             
             @SuppressWarnings("rawtypes")
-            ResponseEntity<Map> response = restTemplate.postForEntity(url, request, Map.class);
+            ResponseEntity<Map> response = postWithRetry(url, request);
 
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 logger.info("Student created successfully: {}", response.getBody());
@@ -110,5 +116,18 @@ public class StudentServiceClient {
             throw new RuntimeException(errorMsg, e);
         }
     }
-}
 
+    @SuppressWarnings("rawtypes")
+    private ResponseEntity<Map> postWithRetry(String url, HttpEntity<Map<String, Object>> request) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return restTemplate.postForEntity(url, request, Map.class);
+            } catch (ResourceAccessException e) {
+                if (attempt >= retries) {
+                    throw e;
+                }
+                logger.warn("Retrying student creation after: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.edusync.student.config;
+
+import com.edusync.student.service.IdempotencyStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IdempotencyStore idempotencyStore,
+            @Value("${student.idempotency.paths:/student/students}") List<String> paths) {
+        return new FilterRegistrationBean<>(new IdempotencyFilter(idempotencyStore, paths));
+    }
+}
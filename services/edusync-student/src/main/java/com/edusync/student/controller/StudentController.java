@@ -1,5 +1,7 @@
 package com.edusync.student.controller;
 
+import com.edusync.student.dto.StudentBatchRequest;
+import com.edusync.student.dto.StudentSummary;
 import com.edusync.student.entity.Student;
 import com.edusync.student.entity.Student.StudentStatus;
 import com.edusync.student.service.StudentService;
@@ -66,6 +68,16 @@ public class StudentController {
             .orElse(ResponseEntity.notFound().build());
     }
 
+    // Batch lookup by id and/or studentId; returns summaries for the students that exist
+    @PostMapping("/students/batch-get")
+    public ResponseEntity<List<StudentSummary>> getStudentsBatch(@RequestBody StudentBatchRequest request) {
+        try {
+            return ResponseEntity.ok(studentService.getStudentSummaries(request.getIds(), request.getStudentIds()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // Get students by status
     @GetMapping("/students/status/{status}")
     public ResponseEntity<List<Student>> getStudentsByStatus(@PathVariable StudentStatus status) {
@@ -73,6 +85,19 @@ public class StudentController {
         return ResponseEntity.ok(students);
     }
 
+    // Keyset-paged summaries for bulk consumers; afterId is the last id of the previous page
+    @GetMapping("/students/status/{status}/summaries")
+    public ResponseEntity<List<StudentSummary>> getStudentSummariesByStatus(
+            @PathVariable StudentStatus status,
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(defaultValue = "1000") int limit) {
+        try {
+            return ResponseEntity.ok(studentService.getStudentSummariesByStatus(status, afterId, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // Get students by program
     @GetMapping("/students/program/{program}")
     public ResponseEntity<List<Student>> getStudentsByProgram(@PathVariable String program) {
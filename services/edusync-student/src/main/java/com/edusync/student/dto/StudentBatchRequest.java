@@ -0,0 +1,27 @@
+package com.edusync.student.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Students to look up by database id, by studentId code, or both
+public class StudentBatchRequest {
+
+    private List<Long> ids = new ArrayList<>();
+    private List<String> studentIds = new ArrayList<>();
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids != null ? ids : new ArrayList<>();
+    }
+
+    public List<String> getStudentIds() {
+        return studentIds;
+    }
+
+    public void setStudentIds(List<String> studentIds) {
+        this.studentIds = studentIds != null ? studentIds : new ArrayList<>();
+    }
+}
@@ -0,0 +1,55 @@
+package com.edusync.student.dto;
+
+import com.edusync.student.entity.Student.FeeStatus;
+import com.edusync.student.entity.Student.StudentStatus;
+
+// Compact view of a student for other services; built directly by the batch lookup query
+public class StudentSummary {
+
+    private final Long id;
+    private final String studentId;
+    private final String firstName;
+    private final String lastName;
+    private final String program;
+    private final StudentStatus status;
+    private final FeeStatus feeStatus;
+
+    public StudentSummary(Long id, String studentId, String firstName, String lastName,
+                          String program, StudentStatus status, FeeStatus feeStatus) {
+        this.id = id;
+        this.studentId = studentId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.program = program;
+        this.status = status;
+        this.feeStatus = feeStatus;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getProgram() {
+        return program;
+    }
+
+    public StudentStatus getStatus() {
+        return status;
+    }
+
+    public FeeStatus getFeeStatus() {
+        return feeStatus;
+    }
+}
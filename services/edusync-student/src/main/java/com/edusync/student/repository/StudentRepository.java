@@ -1,10 +1,15 @@
 package com.edusync.student.repository;
 
+import com.edusync.student.dto.StudentSummary;
 import com.edusync.student.entity.Student;
 import com.edusync.student.entity.Student.StudentStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,5 +31,18 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     boolean existsByEmail(String email);
     
     long countByStatus(StudentStatus status);
+    
+    @Query("SELECT new com.edusync.student.dto.StudentSummary(s.id, s.studentId, s.firstName, s.lastName, s.program, s.status, s.feeStatus) " +
+           "FROM Student s WHERE s.id IN :ids")
+    List<StudentSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT new com.edusync.student.dto.StudentSummary(s.id, s.studentId, s.firstName, s.lastName, s.program, s.status, s.feeStatus) " +
+           "FROM Student s WHERE s.studentId IN :studentIds")
+    List<StudentSummary> findSummariesByStudentIdIn(@Param("studentIds") Collection<String> studentIds);
+    
+    // Keyset page: the next students with the given status after afterId, in id order
+    @Query("SELECT new com.edusync.student.dto.StudentSummary(s.id, s.studentId, s.firstName, s.lastName, s.program, s.status, s.feeStatus) " +
+           "FROM Student s WHERE s.status = :status AND s.id > :afterId ORDER BY s.id")
+    List<StudentSummary> findSummariesByStatusAfter(@Param("status") StudentStatus status, @Param("afterId") Long afterId, Pageable pageable);
 }
 
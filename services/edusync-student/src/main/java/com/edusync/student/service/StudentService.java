@@ -1,20 +1,29 @@
 package com.edusync.student.service;
 
+import com.edusync.student.dto.StudentSummary;
 import com.edusync.student.entity.Student;
 import com.edusync.student.entity.Student.StudentStatus;
 import com.edusync.student.repository.StudentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
 public class StudentService {
     
+    public static final int MAX_BATCH_SIZE = 1000;
+    
     private final StudentRepository studentRepository;
     
     @Autowired
@@ -34,6 +43,42 @@ public class StudentService {
         return studentRepository.findByStudentId(studentId);
     }
     
+    /**
+     * Looks up students by database id and/or studentId code with at most one IN query each.
+     * Unknown keys are simply absent from the result; a student matched by both keys appears once.
+     */
+    @Transactional(readOnly = true)
+    public List<StudentSummary> getStudentSummaries(List<Long> ids, List<String> studentIds) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        Set<String> distinctStudentIds = new LinkedHashSet<>(studentIds);
+        distinctIds.remove(null);
+        distinctStudentIds.remove(null);
+        if (distinctIds.size() + distinctStudentIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " students can be requested at once");
+        }
+        
+        Map<Long, StudentSummary> found = new LinkedHashMap<>();
+        if (!distinctIds.isEmpty()) {
+            studentRepository.findSummariesByIdIn(distinctIds).forEach(s -> found.put(s.getId(), s));
+        }
+        if (!distinctStudentIds.isEmpty()) {
+            studentRepository.findSummariesByStudentIdIn(distinctStudentIds).forEach(s -> found.putIfAbsent(s.getId(), s));
+        }
+        return new ArrayList<>(found.values());
+    }
+    
+    /**
+     * Pages through students with a status in id order. Pass the last id of the previous page as
+     * afterId (0 for the first page); a page shorter than limit is the last one.
+     */
+    @Transactional(readOnly = true)
+    public List<StudentSummary> getStudentSummariesByStatus(StudentStatus status, long afterId, int limit) {
+        if (limit < 1 || limit > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        return studentRepository.findSummariesByStatusAfter(status, afterId, PageRequest.of(0, limit));
+    }
+    
     public List<Student> getStudentsByStatus(StudentStatus status) {
         return studentRepository.findByStatus(status);
     }